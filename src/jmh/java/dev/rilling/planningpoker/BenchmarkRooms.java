@@ -0,0 +1,63 @@
+package dev.rilling.planningpoker;
+
+import dev.rilling.planningpoker.data.Card;
+import dev.rilling.planningpoker.data.CardSet;
+import dev.rilling.planningpoker.data.Room;
+import dev.rilling.planningpoker.data.RoomMember;
+
+import java.util.List;
+
+/**
+ * Creates rooms for benchmarks, resembling rooms in actual use.
+ */
+public final class BenchmarkRooms {
+
+	private BenchmarkRooms() {
+	}
+
+	/**
+	 * Creates a card set similar to the default one, with cards with values and cards without one.
+	 */
+	public static CardSet createCardSet() {
+		final CardSet cardSet = new CardSet("Benchmark");
+		cardSet.setRelevantDecimalPlaces(1);
+		cardSet.setShowAverageValue(true);
+		cardSet.setShowNearestCard(true);
+		for (double value : new double[]{0, 0.5, 1, 2, 3, 5, 8, 13, 20, 40, 100}) {
+			cardSet.getCards().add(new Card(value % 1 == 0 ? String.valueOf((int) value) : String.valueOf(value), value));
+		}
+		cardSet.getCards().add(new Card("?", null));
+		return cardSet;
+	}
+
+	/**
+	 * Creates a room with members named {@code member-0} to {@code member-(memberCount - 1)}.
+	 * Every tenth member is an observer without vote, every seventh votes {@code ?}, all others vote for a card with value.
+	 * The last member is always a voter without vote, so voting is still open.
+	 */
+	public static Room createRoom(int memberCount) {
+		final CardSet cardSet = createCardSet();
+		final List<Card> valueCards = cardSet.getCards().stream().filter(card -> card.getValue() != null).sorted(Card.NATURAL_COMPARATOR).toList();
+		final Card questionCard = cardSet.getIndex().findCardByName("?").orElseThrow();
+
+		final Room room = new Room("benchmark-room", cardSet);
+		for (int i = 0; i < memberCount; i++) {
+			final RoomMember roomMember = new RoomMember("member-" + i);
+			if (i == memberCount - 1) {
+				roomMember.setRole(RoomMember.Role.VOTER);
+			} else if (i % 10 == 0) {
+				roomMember.setRole(RoomMember.Role.OBSERVER);
+			} else if (i % 7 == 0) {
+				roomMember.setVote(questionCard);
+			} else {
+				roomMember.setVote(valueCards.get(i % valueCards.size()));
+			}
+			room.addMember(roomMember);
+		}
+		return room;
+	}
+
+	public static String getLastUsername(int memberCount) {
+		return "member-" + (memberCount - 1);
+	}
+}
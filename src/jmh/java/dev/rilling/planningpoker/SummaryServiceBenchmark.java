@@ -0,0 +1,33 @@
+package dev.rilling.planningpoker;
+
+import dev.rilling.planningpoker.data.Room;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SummaryServiceBenchmark {
+
+	@Param({"5", "50", "500", "5000"})
+	public int memberCount;
+
+	private final SummaryService summaryService = new SummaryService();
+	private Room room;
+
+	@Setup
+	public void setUp() {
+		room = BenchmarkRooms.createRoom(memberCount);
+		room.setVotingState(Room.VotingState.CLOSED);
+	}
+
+	@Benchmark
+	public Optional<SummaryService.VoteSummary> summarize() {
+		return summaryService.summarize(room);
+	}
+}
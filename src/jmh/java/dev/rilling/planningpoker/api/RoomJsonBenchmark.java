@@ -0,0 +1,58 @@
+package dev.rilling.planningpoker.api;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.rilling.planningpoker.BenchmarkRooms;
+import dev.rilling.planningpoker.data.Room;
+import dev.rilling.planningpoker.data.RoomMember;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoomJsonBenchmark {
+
+	@Param({"5", "50", "500", "5000"})
+	public int memberCount;
+
+	@Param({"OPEN", "CLOSED"})
+	public Room.VotingState votingState;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private Room room;
+	private RoomMember viewingMember;
+	private RoomJsonCache roomJsonCache;
+
+	@Setup
+	public void setUp() {
+		room = BenchmarkRooms.createRoom(memberCount);
+		room.setVotingState(votingState);
+		// Member with a vote, so it has to be spliced in while voting is open.
+		viewingMember = room.findMemberByUser("member-1").orElseThrow();
+		roomJsonCache = new RoomJsonCache(objectMapper, new ConcurrentMapCacheManager(RoomJsonCache.CACHE_NAME));
+	}
+
+	@Benchmark
+	public RoomJson convertToDetailed() {
+		return RoomJson.convertToDetailed(room, roomMember -> true);
+	}
+
+	/**
+	 * Converts and serializes the room for the viewing member, as done without {@link RoomJsonCache}.
+	 */
+	@Benchmark
+	public byte[] serializeDetailed() throws JsonProcessingException {
+		return objectMapper.writeValueAsBytes(RoomJson.convertToDetailed(room, RoomJson.showVotesTo(room, viewingMember)));
+	}
+
+	@Benchmark
+	public byte[] getDetailedCached() {
+		return roomJsonCache.getDetailed(room, viewingMember);
+	}
+}
@@ -0,0 +1,46 @@
+package dev.rilling.planningpoker.api;
+
+import dev.rilling.planningpoker.BenchmarkRooms;
+import dev.rilling.planningpoker.data.Card;
+import dev.rilling.planningpoker.data.Room;
+import dev.rilling.planningpoker.data.RoomMember;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoomServiceBenchmark {
+
+	@Param({"5", "50", "500", "5000"})
+	public int memberCount;
+
+	private RoomService roomService;
+	private Room room;
+	private RoomMember lastVoter;
+	private Card card;
+	// Keeps the published events from being optimized away.
+	private Object lastEvent;
+
+	@Setup
+	public void setUp() {
+		roomService = new RoomService(event -> lastEvent = event);
+		room = BenchmarkRooms.createRoom(memberCount);
+		lastVoter = room.findMemberByUser(BenchmarkRooms.getLastUsername(memberCount)).orElseThrow();
+		card = room.getCardSet().getIndex().findCardByName("5").orElseThrow();
+	}
+
+	/**
+	 * Casts the last missing vote, which closes voting.
+	 */
+	@Benchmark
+	public Room.VotingState setVoteClosingVoting() {
+		room.setVotingState(Room.VotingState.OPEN);
+		roomService.setVote(room, lastVoter, card);
+		return room.getVotingState();
+	}
+}
@@ -0,0 +1,53 @@
+package dev.rilling.planningpoker.data;
+
+import dev.rilling.planningpoker.BenchmarkRooms;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoomBenchmark {
+
+	@Param({"5", "50", "500", "5000"})
+	public int memberCount;
+
+	private Room room;
+	private String lastUsername;
+	private RoomMember lastMember;
+
+	@Setup
+	public void setUp() {
+		room = BenchmarkRooms.createRoom(memberCount);
+		lastUsername = BenchmarkRooms.getLastUsername(memberCount);
+		lastMember = room.findMemberByUser(lastUsername).orElseThrow();
+	}
+
+	@Benchmark
+	public Optional<RoomMember> findMemberByUser() {
+		return room.findMemberByUser(lastUsername);
+	}
+
+	@Benchmark
+	public Optional<RoomMember> findMemberByUserUnknown() {
+		return room.findMemberByUser("unknown");
+	}
+
+	/**
+	 * Copy of a room with the vote tally, as was previously done for every vote.
+	 */
+	@Benchmark
+	public VoteTally copy() {
+		return room.copy().getVoteTally();
+	}
+
+	@Benchmark
+	public VoteTally copyChangingMember() {
+		return room.copyChangingMember(lastMember).getVoteTally();
+	}
+}
@@ -0,0 +1,63 @@
+package dev.rilling.planningpoker;
+
+import dev.rilling.planningpoker.data.Room;
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight recorder event about work on a single room, so latency spikes in recordings can be traced back to the room causing them.
+ * Besides the duration, the room name, its member count and the database time spent on the current thread are recorded.
+ * <p>
+ * Usage: Call {@link #start()} before the work and {@link #finish(Room)} after it. If the work fails, the event is not recorded.
+ * Database time is only measured while handling requests, see {@link RequestStatistics#getDatabaseTime()}.
+ */
+@Category("Planning Poker")
+public abstract class AbstractRoomFlightEvent extends Event {
+
+	// Fields of super classes are only recorded if they are visible to subclasses.
+	@Label("Room Name")
+	protected String roomName;
+
+	@Label("Member Count")
+	protected int memberCount;
+
+	@Label("Database Time")
+	@Timespan
+	protected long databaseTime;
+
+	private transient long databaseNanosAtStart;
+
+	/**
+	 * Starts timing the event, if recording it is enabled.
+	 */
+	public void start() {
+		if (isEnabled()) {
+			databaseNanosAtStart = getCurrentDatabaseNanos();
+			begin();
+		}
+	}
+
+	/**
+	 * Stops timing the event and records it for this room, if it took long enough to pass the threshold of the recording.
+	 */
+	public void finish(Room room) {
+		finish(room.getName(), room.getMembers().size());
+	}
+
+	protected void finish(String roomName, int memberCount) {
+		end();
+		if (shouldCommit()) {
+			this.roomName = roomName;
+			this.memberCount = memberCount;
+			databaseTime = getCurrentDatabaseNanos() - databaseNanosAtStart;
+			commit();
+		}
+	}
+
+	private static long getCurrentDatabaseNanos() {
+		final RequestStatistics requestStatistics = RequestStatistics.current();
+		return requestStatistics != null ? requestStatistics.getDatabaseTime().toNanos() : 0;
+	}
+}
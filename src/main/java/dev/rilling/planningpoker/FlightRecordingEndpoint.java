@@ -0,0 +1,147 @@
+package dev.rilling.planningpoker;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Starts, stops and dumps flight recordings on demand, without attaching an agent to the running application.
+ * Recordings include the {@link AbstractRoomFlightEvent}s, so latency spikes can be traced back to rooms.
+ * <p>
+ * Only one recording is managed by this endpoint, but dumps contain the data of all recordings, including ones started using
+ * {@code -XX:StartFlightRecording}.
+ */
+@Component
+@WebEndpoint(id = "flightrecording")
+class FlightRecordingEndpoint {
+
+	static final String RECORDING_NAME = "planning-poker";
+
+	private static final String DEFAULT_CONFIGURATION_NAME = "default";
+	// Keeps always-on recordings from filling up the disk.
+	private static final Duration DEFAULT_MAX_AGE = Duration.ofHours(1);
+
+	@Nullable
+	private Recording recording;
+
+	/**
+	 * Starts a recording, if none is running yet.
+	 *
+	 * @param configuration Name of the JFR configuration to use, e.g. {@code default} with little overhead or {@code profile}.
+	 * @param maxAge        How long recorded data is kept.
+	 */
+	@WriteOperation
+	public synchronized WebEndpointResponse<RecordingDescriptor> start(@Nullable String configuration, @Nullable Duration maxAge) {
+		if (recording != null) {
+			return new WebEndpointResponse<>(RecordingDescriptor.describe(recording), HttpStatus.CONFLICT.value());
+		}
+
+		final Configuration jfrConfiguration;
+		try {
+			jfrConfiguration = Configuration.getConfiguration(configuration != null ? configuration : DEFAULT_CONFIGURATION_NAME);
+		} catch (IOException | ParseException e) {
+			return new WebEndpointResponse<>(WebEndpointResponse.STATUS_BAD_REQUEST);
+		}
+		final Recording newRecording = new Recording(jfrConfiguration);
+		newRecording.setName(RECORDING_NAME);
+		newRecording.setToDisk(true);
+		newRecording.setMaxAge(maxAge != null ? maxAge : DEFAULT_MAX_AGE);
+		newRecording.start();
+		recording = newRecording;
+		return new WebEndpointResponse<>(RecordingDescriptor.describe(newRecording));
+	}
+
+	/**
+	 * Stops the recording started by {@link #start(String, Duration)}, discarding its data.
+	 */
+	@DeleteOperation
+	public synchronized WebEndpointResponse<RecordingDescriptor> stop() {
+		if (recording == null) {
+			return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+		}
+
+		recording.stop();
+		final RecordingDescriptor recordingDescriptor = RecordingDescriptor.describe(recording);
+		recording.close();
+		recording = null;
+		return new WebEndpointResponse<>(recordingDescriptor);
+	}
+
+	/**
+	 * Dumps the data of all running recordings as JFR file, which can be opened using e.g. JDK Mission Control.
+	 */
+	@ReadOperation(produces = "application/octet-stream")
+	public WebEndpointResponse<Resource> dump() throws IOException {
+		try (Recording snapshot = FlightRecorder.getFlightRecorder().takeSnapshot()) {
+			if (snapshot.getSize() == 0) {
+				return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+			}
+
+			final Path file = Files.createTempFile(RECORDING_NAME + "-", ".jfr");
+			snapshot.dump(file);
+			return new WebEndpointResponse<>(new TemporaryFileResource(file));
+		}
+	}
+
+	/**
+	 * @param name      The name of the recording.
+	 * @param state     The state of the recording, e.g. {@code RUNNING}.
+	 * @param startTime When the recording was started, if it was.
+	 * @param maxAge    How long recorded data is kept.
+	 */
+	record RecordingDescriptor(String name, String state, @Nullable Instant startTime, @Nullable Duration maxAge) {
+
+		static RecordingDescriptor describe(Recording recording) {
+			return new RecordingDescriptor(recording.getName(), recording.getState().name(), recording.getStartTime(), recording.getMaxAge());
+		}
+	}
+
+	/**
+	 * File that is deleted once it was read.
+	 */
+	private static final class TemporaryFileResource extends FileSystemResource {
+
+		TemporaryFileResource(Path file) {
+			super(file);
+		}
+
+		@Override
+		public InputStream getInputStream() throws IOException {
+			return new FilterInputStream(super.getInputStream()) {
+				@Override
+				public void close() throws IOException {
+					try {
+						super.close();
+					} finally {
+						Files.deleteIfExists(getFile().toPath());
+					}
+				}
+			};
+		}
+
+		// Files would otherwise be transferred directly, without the input stream being closed.
+		@Override
+		public boolean isFile() {
+			return false;
+		}
+	}
+}
@@ -0,0 +1,16 @@
+package dev.rilling.planningpoker;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+class MetricsApplicationConfig {
+
+	// Allows timing methods using @Timed, which is otherwise only supported for controllers.
+	@Bean
+	TimedAspect timedAspect(MeterRegistry meterRegistry) {
+		return new TimedAspect(meterRegistry);
+	}
+}
@@ -2,8 +2,12 @@ package dev.rilling.planningpoker;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.retry.annotation.EnableRetry;
 
 @SpringBootApplication
+@EnableCaching
+@EnableRetry
 public class PlanningpokerApplication {
 	public static void main(String[] args) {
 		SpringApplication.run(PlanningpokerApplication.class, args);
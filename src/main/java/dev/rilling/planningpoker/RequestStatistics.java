@@ -0,0 +1,100 @@
+package dev.rilling.planningpoker;
+
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.util.StringJoiner;
+
+/**
+ * Counts the database work done while handling a single request on the current thread, see {@link RequestStatisticsFilter}.
+ * Statements are counted by {@link RequestStatisticsStatementInspector}, entities and collections by the listeners of
+ * {@link RequestStatisticsIntegrator}, and the database time by {@link RequestStatisticsSessionListener}.
+ */
+public final class RequestStatistics {
+
+	/**
+	 * Name of the request attribute the statistics of the request are available as, once it was handled.
+	 */
+	public static final String ATTRIBUTE_NAME = RequestStatistics.class.getName();
+
+	private static final ThreadLocal<RequestStatistics> CURRENT = new ThreadLocal<>();
+
+	private int statementCount;
+	private int entityLoadCount;
+	private int collectionFetchCount;
+	private long databaseNanos;
+
+	private RequestStatistics() {
+	}
+
+	/**
+	 * Starts counting for the current thread, until {@link #stop()} is called.
+	 */
+	static RequestStatistics start() {
+		final RequestStatistics requestStatistics = new RequestStatistics();
+		CURRENT.set(requestStatistics);
+		return requestStatistics;
+	}
+
+	static void stop() {
+		CURRENT.remove();
+	}
+
+	@Nullable
+	static RequestStatistics current() {
+		return CURRENT.get();
+	}
+
+	void onStatementPrepared() {
+		statementCount++;
+	}
+
+	void onEntityLoaded() {
+		entityLoadCount++;
+	}
+
+	void onCollectionFetched() {
+		collectionFetchCount++;
+	}
+
+	void onDatabaseWork(long nanos) {
+		databaseNanos += nanos;
+	}
+
+	/**
+	 * @return the number of prepared JDBC statements.
+	 */
+	public int getStatementCount() {
+		return statementCount;
+	}
+
+	/**
+	 * @return the number of entities loaded, either from the database or the second-level cache.
+	 */
+	public int getEntityLoadCount() {
+		return entityLoadCount;
+	}
+
+	/**
+	 * @return the number of collections initialized lazily, either from the database or the second-level cache.
+	 */
+	public int getCollectionFetchCount() {
+		return collectionFetchCount;
+	}
+
+	/**
+	 * @return the time spent preparing and executing JDBC statements.
+	 */
+	public Duration getDatabaseTime() {
+		return Duration.ofNanos(databaseNanos);
+	}
+
+	@Override
+	public String toString() {
+		return new StringJoiner(", ", RequestStatistics.class.getSimpleName() + "[", "]").add("statementCount=" + statementCount)
+				.add("entityLoadCount=" + entityLoadCount)
+				.add("collectionFetchCount=" + collectionFetchCount)
+				.add("databaseTime=" + getDatabaseTime())
+				.toString();
+	}
+}
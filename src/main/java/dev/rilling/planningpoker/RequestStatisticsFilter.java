@@ -0,0 +1,51 @@
+package dev.rilling.planningpoker;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Collects {@link RequestStatistics} for every request and logs requests that prepared more statements than the configured budget,
+ * so data access patterns like N+1 selects are noticed early.
+ * <p>
+ * Only work done on the request thread is counted, e.g. not the completion of long-polling requests.
+ */
+@Component
+class RequestStatisticsFilter extends OncePerRequestFilter {
+	private static final Logger logger = LoggerFactory.getLogger(RequestStatisticsFilter.class);
+
+	private final int statementBudget;
+
+	RequestStatisticsFilter(@Value("${planning-poker.request-statement-budget}") int statementBudget) {
+		this.statementBudget = statementBudget;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		final RequestStatistics requestStatistics = RequestStatistics.start();
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			RequestStatistics.stop();
+			request.setAttribute(RequestStatistics.ATTRIBUTE_NAME, requestStatistics);
+			if (requestStatistics.getStatementCount() > statementBudget) {
+				logger.warn("Request '{} {}' exceeded the statement budget of {}: {}.",
+						request.getMethod(),
+						request.getRequestURI(),
+						statementBudget,
+						requestStatistics);
+			} else {
+				logger.trace("Request '{} {}' completed: {}.", request.getMethod(), request.getRequestURI(), requestStatistics);
+			}
+		}
+	}
+}
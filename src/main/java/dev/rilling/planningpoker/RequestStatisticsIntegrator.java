@@ -0,0 +1,39 @@
+package dev.rilling.planningpoker;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+
+/**
+ * Registers Hibernate event listeners that count loaded entities and initialized collections towards the {@link RequestStatistics}
+ * of the current thread. Discovered by Hibernate using {@code META-INF/services}.
+ */
+public class RequestStatisticsIntegrator implements Integrator {
+
+	@Override
+	public void integrate(Metadata metadata, BootstrapContext bootstrapContext, SessionFactoryImplementor sessionFactory) {
+		final EventListenerRegistry eventListenerRegistry = sessionFactory.getServiceRegistry().requireService(EventListenerRegistry.class);
+		eventListenerRegistry.appendListeners(EventType.POST_LOAD, (PostLoadEventListener) event -> {
+			final RequestStatistics requestStatistics = RequestStatistics.current();
+			if (requestStatistics != null) {
+				requestStatistics.onEntityLoaded();
+			}
+		});
+		eventListenerRegistry.appendListeners(EventType.INIT_COLLECTION, (InitializeCollectionEventListener) event -> {
+			final RequestStatistics requestStatistics = RequestStatistics.current();
+			if (requestStatistics != null) {
+				requestStatistics.onCollectionFetched();
+			}
+		});
+	}
+
+	@Override
+	public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+	}
+}
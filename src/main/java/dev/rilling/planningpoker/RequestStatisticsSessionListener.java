@@ -0,0 +1,53 @@
+package dev.rilling.planningpoker;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Measures the time Hibernate sessions spend preparing and executing JDBC statements, counting towards the {@link RequestStatistics}
+ * of the current thread. Configured using {@code hibernate.session.events.auto}, which creates a listener per session.
+ */
+public class RequestStatisticsSessionListener implements SessionEventListener {
+
+	private long startNanos;
+
+	@Override
+	public void jdbcPrepareStatementStart() {
+		startWork();
+	}
+
+	@Override
+	public void jdbcPrepareStatementEnd() {
+		endWork();
+	}
+
+	@Override
+	public void jdbcExecuteStatementStart() {
+		startWork();
+	}
+
+	@Override
+	public void jdbcExecuteStatementEnd() {
+		endWork();
+	}
+
+	@Override
+	public void jdbcExecuteBatchStart() {
+		startWork();
+	}
+
+	@Override
+	public void jdbcExecuteBatchEnd() {
+		endWork();
+	}
+
+	private void startWork() {
+		startNanos = System.nanoTime();
+	}
+
+	private void endWork() {
+		final RequestStatistics requestStatistics = RequestStatistics.current();
+		if (requestStatistics != null) {
+			requestStatistics.onDatabaseWork(System.nanoTime() - startNanos);
+		}
+	}
+}
@@ -0,0 +1,19 @@
+package dev.rilling.planningpoker;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the JDBC statements Hibernate prepares towards the {@link RequestStatistics} of the current thread, without changing them.
+ * Configured using {@code hibernate.session_factory.statement_inspector}.
+ */
+public class RequestStatisticsStatementInspector implements StatementInspector {
+
+	@Override
+	public String inspect(String sql) {
+		final RequestStatistics requestStatistics = RequestStatistics.current();
+		if (requestStatistics != null) {
+			requestStatistics.onStatementPrepared();
+		}
+		return sql;
+	}
+}
@@ -1,18 +1,74 @@
 package dev.rilling.planningpoker;
 
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.autoconfigure.web.server.ManagementPortType;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.metrics.export.prometheus.PrometheusScrapeEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.jdbc.core.JdbcOperations;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.oauth2.client.JdbcOAuth2AuthorizedClientService;
 import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
+import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 
 import static org.springframework.security.config.Customizer.withDefaults;
 
 @Configuration
 class SecurityApplicationConfig {
 
+	private static final String MANAGEMENT_ROLE = "MANAGEMENT";
+
+	// Actuator endpoints are served on the management port, which is expected to only be reachable internally, e.g. by Prometheus.
+	// Only health and metrics can be read without credentials, flight recordings need the management user.
+	// No session is used there, so there is nothing for CSRF protection to protect.
+	@Bean
+	@Order(1)
+	SecurityFilterChain managementFilterChain(HttpSecurity http, Environment environment) throws Exception {
+		if (ManagementPortType.get(environment) == ManagementPortType.SAME) {
+			throw new IllegalStateException("The management port must differ from the server port, as it is not meant to be reachable publicly.");
+		}
+
+		final String managementPassword = environment.getProperty("planning-poker.management.password", "");
+		if (!managementPassword.isEmpty()) {
+			http.userDetailsService(new InMemoryUserDetailsManager(User.withUsername(
+							environment.getProperty("planning-poker.management.username", "management"))
+					.password(managementPassword)
+					.roles(MANAGEMENT_ROLE)
+					.build()));
+		}
+
+		final RequestMatcher readRequest = request -> HttpMethod.GET.matches(request.getMethod());
+		// Errors only set the status, as dispatching to the error page would pass the application filter chain and redirect to its login.
+		final AuthenticationEntryPoint unauthorized = new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED);
+		return http.securityMatcher(EndpointRequest.toAnyEndpoint())
+				.authorizeHttpRequests(authorize -> authorize.requestMatchers(
+								new AndRequestMatcher(EndpointRequest.to(HealthEndpoint.class, PrometheusScrapeEndpoint.class), readRequest))
+						.permitAll()
+						.requestMatchers(EndpointRequest.to(FlightRecordingEndpoint.class))
+						.hasRole(MANAGEMENT_ROLE)
+						.anyRequest()
+						.denyAll())
+				.httpBasic(httpBasic -> httpBasic.authenticationEntryPoint(unauthorized))
+				.exceptionHandling(exceptionHandling -> exceptionHandling.authenticationEntryPoint(unauthorized)
+						.accessDeniedHandler((request, response, accessDeniedException) -> response.setStatus(HttpStatus.FORBIDDEN.value())))
+				.sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+				.csrf(AbstractHttpConfigurer::disable)
+				.build();
+	}
+
 	@Bean
 	SecurityFilterChain filterChain(HttpSecurity http, JdbcOAuth2AuthorizedClientService jdbcOAuth2AuthorizedClientService) throws Exception {
 		return http.authorizeHttpRequests(authorize -> authorize.anyRequest().authenticated())
@@ -0,0 +1,11 @@
+package dev.rilling.planningpoker;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("dev.rilling.planningpoker.Summary")
+@Label("Vote Summary")
+@Description("Summarizing the votes of a room, see SummaryService")
+class SummaryFlightEvent extends AbstractRoomFlightEvent {
+}
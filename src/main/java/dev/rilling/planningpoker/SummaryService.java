@@ -2,78 +2,59 @@ package dev.rilling.planningpoker;
 
 import dev.rilling.planningpoker.data.Card;
 import dev.rilling.planningpoker.data.CardSet;
+import dev.rilling.planningpoker.data.CardSetIndex;
 import dev.rilling.planningpoker.data.Room;
 import dev.rilling.planningpoker.data.RoomMember;
+import dev.rilling.planningpoker.data.VoteTally;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
 public class SummaryService {
 
-	/**
-	 * Comparator for the order that cards should be picked as the summary result.
-	 * A set of cards will end up as {@code [<high basic numeric card>, <high non-basic numeric card>, <low basic numeric card>]}.
-	 * <p>
-	 * Should only be used on collections where every card has a value.
-	 *
-	 * @see Card#NATURAL_COMPARATOR for the preferred <b>display</b> order.
-	 */
-	private static final Comparator<Card> PREFERRED_SUMMARY_COMPARATOR = Comparator.comparing(Card::getValue)
-			.thenComparing(Card::isBasicNumeric)
-			.reversed()
-			.thenComparing(Card::getName);
-
 	/**
 	 * Calculates a rooms voting statistic.
 	 *
 	 * @param room Room to check.
 	 * @return Summary, or empty if not applicable (e.g., because no votes with value were made).
 	 */
+	@Timed(value = "planning-poker.summary", description = "Time to summarize the votes of a room", histogram = true)
 	public Optional<VoteSummary> summarize(Room room) {
+		final SummaryFlightEvent flightEvent = new SummaryFlightEvent();
+		flightEvent.start();
+		final Optional<VoteSummary> voteSummary = calculateSummary(room);
+		flightEvent.finish(room);
+		return voteSummary;
+	}
+
+	private Optional<VoteSummary> calculateSummary(Room room) {
 		if (room.getVotingState() == Room.VotingState.OPEN) {
 			return Optional.empty();
 		}
 
-		// Keep only members with votes that have values to it.
-		// Subsequent IDE warnings regarding null-pointers are not valid due to this.
-		final List<Card> votesWithValues = room.getMembers()
-				.stream()
-				.map(RoomMember::getVote)
-				.filter(Objects::nonNull)
-				.filter(vote -> vote.getValue() != null)
-				.sorted(PREFERRED_SUMMARY_COMPARATOR) // Sort to prefer basic numeric when calculating highest/lowest in case of value being the same.
-				.toList();
-
-		if (votesWithValues.isEmpty()) {
+		final VoteTally voteTally = room.getVoteTally();
+		final int valueCount = voteTally.getValueCount();
+		// Only votes with values count, so there might be nothing to summarize.
+		if (valueCount == 0) {
 			return Optional.empty();
 		}
 
-		double total = 0;
-		Card highestCard = null;
-		Card lowestCard = null;
-		for (Card card : votesWithValues) {
-			total += card.getValue();
-
-			if (highestCard == null || card.getValue() > highestCard.getValue()) {
-				highestCard = card;
-			}
-			if (lowestCard == null || card.getValue() < lowestCard.getValue()) {
-				lowestCard = card;
-			}
-		}
-		final double averageValue = total / votesWithValues.size();
+		final double averageValue = voteTally.getValueSum() / valueCount;
+		// Subsequent IDE warnings regarding null-pointers are not valid as there is at least one vote with value.
+		final Card highestCard = voteTally.findHighestVote();
+		final Card lowestCard = voteTally.findLowestVote();
 
 		VoteExtreme highest = null;
 		VoteExtreme lowest = null;
 		// No need to show highest and lowest if they are the same
 		if (lowestCard != highestCard) {
-			highest = new VoteExtreme(highestCard, findMembersByCard(room.getMembers(), highestCard));
-			lowest = new VoteExtreme(lowestCard, findMembersByCard(room.getMembers(), lowestCard));
+			highest = new VoteExtreme(highestCard, List.copyOf(voteTally.getMembersByVote(highestCard)));
+			lowest = new VoteExtreme(lowestCard, List.copyOf(voteTally.getMembersByVote(lowestCard)));
 		}
 
 		final CardSet cardSet = room.getCardSet();
@@ -82,39 +63,78 @@ public class SummaryService {
 				roundToNDecimalPlaces(averageValue, cardSet.getRelevantDecimalPlaces()) :
 				null;
 
-		final Card nearestCard = cardSet.isShowNearestCard() ? findNearestCard(cardSet.getCards(), averageValue) : null;
+		final CardSetIndex cardSetIndex = cardSet.getIndex();
+
+		final Card nearestCard = cardSet.isShowNearestCard() ? cardSetIndex.findNearestCard(averageValue) : null;
 
-		final int offset = getOffset(cardSet.getCards(), highestCard, lowestCard);
+		final int offset = cardSetIndex.getValuePosition(highestCard.getValue()) - cardSetIndex.getValuePosition(lowestCard.getValue());
 
 		return Optional.of(new VoteSummary(averageValueFormatted, nearestCard, highest, lowest, offset));
 	}
 
-	private static Set<RoomMember> findMembersByCard(Collection<RoomMember> members, Card card) {
-		return members.stream().filter(roomMember -> card.equals(roomMember.getVote())).collect(Collectors.toUnmodifiableSet());
-	}
+	/**
+	 * Calculates extended statistics of the votes of a room, which are not part of the regular summary.
+	 *
+	 * @param room Room to check.
+	 * @return Statistics, or empty if not applicable (e.g., because no votes with value were made).
+	 */
+	public Optional<VoteStatistics> calculateStatistics(Room room) {
+		if (room.getVotingState() == Room.VotingState.OPEN) {
+			return Optional.empty();
+		}
 
-	private double roundToNDecimalPlaces(double value, int n) {
-		return BigDecimal.valueOf(value).setScale(n, RoundingMode.HALF_UP).doubleValue();
-	}
+		final VoteTally voteTally = room.getVoteTally();
+		final double[] values = voteTally.getAscendingValues();
+		if (values.length == 0) {
+			return Optional.empty();
+		}
+
+		// Single pass using Welford's algorithm, which is numerically stable compared to summing up squares.
+		double mean = 0;
+		double squaredDiffSum = 0;
+		for (int i = 0; i < values.length; i++) {
+			final double diff = values[i] - mean;
+			mean += diff / (i + 1);
+			squaredDiffSum += diff * (values[i] - mean);
+		}
+		final double standardDeviation = Math.sqrt(squaredDiffSum / values.length);
+
+		final int middle = values.length / 2;
+		final double median = values.length % 2 == 1 ? values[middle] : (values[middle - 1] + values[middle]) / 2;
 
-	private static @Nullable Card findNearestCard(Set<Card> cards, double averageValue) {
-		Card nearestCard = null;
-		double nearestCardDiff = Double.POSITIVE_INFINITY;
+		final double consensus = calculateConsensus(values, mean, room.getCardSet().getIndex().getValueRange());
 
-		// Due to the ordering, cards with the same difference will be 'rounded' up
-		for (Card card : cards.stream().filter(c -> c.getValue() != null).sorted(PREFERRED_SUMMARY_COMPARATOR).toList()) {
-			double diff = Math.abs(card.getValue() - averageValue);
-			if (diff < nearestCardDiff) {
-				nearestCardDiff = diff;
-				nearestCard = card;
+		final List<VoteCount> histogram = voteTally.getVoteCounts()
+				.entrySet()
+				.stream()
+				.map(entry -> new VoteCount(entry.getKey(), entry.getValue()))
+				.sorted(Comparator.comparing(VoteCount::card, Card.NATURAL_COMPARATOR))
+				.toList();
+
+		return Optional.of(new VoteStatistics(median, standardDeviation, consensus, histogram));
+	}
+
+	/**
+	 * Consensus measure by Tastle and Wierman, which takes into account how far apart votes are relative to the range of the card set.
+	 */
+	private static double calculateConsensus(double[] values, double mean, double valueRange) {
+		if (valueRange == 0) {
+			return 1;
+		}
+		double sum = 0;
+		for (double value : values) {
+			final double agreement = 1 - Math.abs(value - mean) / valueRange;
+			if (agreement <= 0) {
+				// Only possible for votes outside the card set, e.g. when it was changed.
+				return 0;
 			}
+			sum += Math.log(agreement) / Math.log(2);
 		}
-		return nearestCard;
+		return Math.max(0, 1 + sum / values.length);
 	}
 
-	private static int getOffset(Set<Card> cards, Card highestCard, Card lowestCard) {
-		final List<Double> ascendingDistinctValues = cards.stream().map(Card::getValue).filter(Objects::nonNull).distinct().sorted().toList();
-		return ascendingDistinctValues.indexOf(highestCard.getValue()) - ascendingDistinctValues.indexOf(lowestCard.getValue());
+	private double roundToNDecimalPlaces(double value, int n) {
+		return BigDecimal.valueOf(value).setScale(n, RoundingMode.HALF_UP).doubleValue();
 	}
 
 	/**
@@ -130,8 +150,24 @@ public class SummaryService {
 
 	/**
 	 * @param card    The card that was voted on.
-	 * @param members The members that voted for this card.
+	 * @param members The members that voted for this card, ordered by {@link RoomMember#ALPHABETIC_COMPARATOR}.
+	 */
+	public record VoteExtreme(Card card, List<RoomMember> members) {
+	}
+
+	/**
+	 * @param median            The median vote value.
+	 * @param standardDeviation The population standard deviation of the vote values.
+	 * @param consensus         How much the votes agree, from 0 for votes at opposite ends of the card set to 1 for identical votes.
+	 * @param histogram         The number of votes per card, including cards without value.
+	 */
+	public record VoteStatistics(double median, double standardDeviation, double consensus, List<VoteCount> histogram) {
+	}
+
+	/**
+	 * @param card  The card that was voted on.
+	 * @param count The number of votes for this card.
 	 */
-	public record VoteExtreme(Card card, Set<RoomMember> members) {
+	public record VoteCount(Card card, int count) {
 	}
 }
@@ -3,26 +3,72 @@ package dev.rilling.planningpoker.api;
 import dev.rilling.planningpoker.data.Room;
 import dev.rilling.planningpoker.data.RoomMember;
 import dev.rilling.planningpoker.data.RoomRepository;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Optional;
 
 // TODO: use spring security for member check
 public abstract class AbstractRoomAwareController {
 
+	/**
+	 * Allows clients to cache room responses, as long as they revalidate them using the ETag.
+	 */
+	protected static final CacheControl ROOM_CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
 	protected final RoomRepository roomRepository;
+	protected final RoomCache roomCache;
 
-	protected AbstractRoomAwareController(RoomRepository roomRepository) {
+	protected AbstractRoomAwareController(RoomRepository roomRepository, RoomCache roomCache) {
 		this.roomRepository = roomRepository;
+		this.roomCache = roomCache;
 	}
 
 	/**
-	 * Resolves room for this name, throwing if not found.
+	 * Resolves room for this name, throwing if not found. Recorded as {@link RoomLookupFlightEvent} when flight recording is enabled.
+	 * <p>
+	 * Contract: The room must not be mutated, use {@link #requireRoomForUpdate(String)} for that.
 	 */
 	// TODO: maybe use DataBinder instead of manual invocation?
 	protected Room requireRoom(String roomName) {
+		final RoomLookupFlightEvent flightEvent = new RoomLookupFlightEvent();
+		flightEvent.start();
+		final Optional<Room> room = roomCache.findByName(roomName);
+		flightEvent.finish(roomName, room.orElse(null));
+		return room.orElseThrow(RoomNotFoundException::new);
+	}
+
+	/**
+	 * Resolves room for this name from the database, throwing if not found.
+	 */
+	protected Room requireRoomForUpdate(String roomName) {
 		return roomRepository.findByName(roomName).orElseThrow(RoomNotFoundException::new);
 	}
 
+	/**
+	 * Checks if the client already knows the current version of the room.
+	 * The room version is used as the ETag of the response.
+	 * <p>
+	 * Contract: The membership of the acting user must have been checked before, so non-members cannot learn the room version.
+	 *
+	 * @return if the response is not modified, in which case the caller should not write a response body.
+	 */
+	protected boolean checkRoomNotModified(Room room, WebRequest webRequest) {
+		return webRequest.checkNotModified(String.valueOf(room.getVersion()));
+	}
+
+	/**
+	 * Handles concurrent changes of a room that could not be resolved by {@link RetryOnConflict}.
+	 */
+	@ExceptionHandler(ConcurrencyFailureException.class)
+	@ResponseStatus(value = HttpStatus.CONFLICT, reason = "The room was changed concurrently, please try again.")
+	protected void handleConcurrentChange() {
+	}
+
 	@ResponseStatus(value = HttpStatus.NOT_FOUND, reason = "No room with this name was found.")
 	static class RoomNotFoundException extends RuntimeException {
 	}
@@ -1,27 +1,34 @@
 package dev.rilling.planningpoker.api;
 
-import dev.rilling.planningpoker.data.CardSet;
-import dev.rilling.planningpoker.data.CardSetRepository;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.RestController;
-
-import java.util.List;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 class CardSetController {
 
-	private final CardSetRepository cardSetRepository;
+	private final CatalogCache catalogCache;
 
-	CardSetController(CardSetRepository cardSetRepository) {
-		this.cardSetRepository = cardSetRepository;
+	CardSetController(CatalogCache catalogCache) {
+		this.catalogCache = catalogCache;
 	}
 
+	/**
+	 * Gets all card sets as list of {@link CardSetJson}, see {@link CatalogCache#getCardSets()}.
+	 */
 	@GetMapping(value = "/api/card-sets", produces = MediaType.APPLICATION_JSON_VALUE)
-	@ResponseBody
-	public List<CardSetJson> getCardSets() {
-		return cardSetRepository.findAll().stream().sorted(CardSet.ALPHABETIC_COMPARATOR).map(CardSetJson::convert).toList();
+	public ResponseEntity<byte[]> getCardSets(WebRequest webRequest) {
+		final CatalogCache.Catalog cardSets = catalogCache.getCardSets();
+		if (webRequest.checkNotModified(cardSets.eTag())) {
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(CatalogCache.CATALOG_CACHE_CONTROL).build();
+		}
+		return ResponseEntity.ok()
+				.cacheControl(CatalogCache.CATALOG_CACHE_CONTROL)
+				.contentType(MediaType.APPLICATION_JSON)
+				.body(cardSets.json());
 	}
 
 }
@@ -0,0 +1,94 @@
+package dev.rilling.planningpoker.api;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.rilling.planningpoker.data.CardSet;
+import dev.rilling.planningpoker.data.CardSetRepository;
+import dev.rilling.planningpoker.data.Extension;
+import dev.rilling.planningpoker.data.ExtensionRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.CacheControl;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Keeps the card sets and enabled extensions serialized in memory, as card sets only change through migrations and extensions only on
+ * startup. Each catalog has an ETag derived from its content, so clients can revalidate it without receiving it again.
+ */
+@Component
+class CatalogCache {
+
+	static final CacheControl CATALOG_CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
+	private final CardSetRepository cardSetRepository;
+	private final ExtensionRepository extensionRepository;
+	private final ObjectMapper objectMapper;
+
+	private volatile Catalog cardSets;
+	private volatile Catalog extensions;
+
+	CatalogCache(CardSetRepository cardSetRepository, ExtensionRepository extensionRepository, ObjectMapper objectMapper) {
+		this.cardSetRepository = cardSetRepository;
+		this.extensionRepository = extensionRepository;
+		this.objectMapper = objectMapper;
+	}
+
+	/**
+	 * Gets all card sets as list of {@link CardSetJson}, ordered by {@link CardSet#ALPHABETIC_COMPARATOR}.
+	 */
+	public Catalog getCardSets() {
+		Catalog currentCardSets = cardSets;
+		if (currentCardSets == null) {
+			currentCardSets = createCatalog(cardSetRepository.findAll()
+					.stream()
+					.sorted(CardSet.ALPHABETIC_COMPARATOR)
+					.map(CardSetJson::convert)
+					.toList());
+			cardSets = currentCardSets;
+		}
+		return currentCardSets;
+	}
+
+	/**
+	 * Gets the keys of all enabled extensions, ordered by {@link Extension#ALPHABETIC_COMPARATOR}.
+	 */
+	public Catalog getExtensions() {
+		Catalog currentExtensions = extensions;
+		if (currentExtensions == null) {
+			currentExtensions = createCatalog(extensionRepository.findAllByEnabled(true)
+					.stream()
+					.sorted(Extension.ALPHABETIC_COMPARATOR)
+					.map(Extension::getKey)
+					.toList());
+			extensions = currentExtensions;
+		}
+		return currentExtensions;
+	}
+
+	// Extensions are enabled once the application started, which requests served before may not have seen yet.
+	@EventListener
+	public void onReady(ApplicationReadyEvent event) {
+		extensions = null;
+	}
+
+	private Catalog createCatalog(List<?> entries) {
+		final byte[] json;
+		try {
+			json = objectMapper.writeValueAsBytes(entries);
+		} catch (JsonProcessingException e) {
+			throw new UncheckedIOException("Could not serialize catalog.", e);
+		}
+		return new Catalog(json, DigestUtils.md5DigestAsHex(json));
+	}
+
+	/**
+	 * @param json The serialized catalog, which is shared and must not be mutated.
+	 * @param eTag The ETag of the catalog, derived from {@link #json}.
+	 */
+	record Catalog(byte[] json, String eTag) {
+	}
+}
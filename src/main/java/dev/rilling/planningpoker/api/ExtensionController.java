@@ -1,29 +1,36 @@
 package dev.rilling.planningpoker.api;
 
-import dev.rilling.planningpoker.data.Extension;
-import dev.rilling.planningpoker.data.ExtensionRepository;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.RestController;
-
-import java.util.List;
+import org.springframework.web.context.request.WebRequest;
 
 /**
  * Access to globally available extensions.
  */
 @RestController
 class ExtensionController {
-	private final ExtensionRepository extensionRepository;
+	private final CatalogCache catalogCache;
 
-	ExtensionController(ExtensionRepository extensionRepository) {
-		this.extensionRepository = extensionRepository;
+	ExtensionController(CatalogCache catalogCache) {
+		this.catalogCache = catalogCache;
 	}
 
+	/**
+	 * Gets the keys of all enabled extensions, see {@link CatalogCache#getExtensions()}.
+	 */
 	@GetMapping(value = "/api/extensions", produces = MediaType.APPLICATION_JSON_VALUE)
-	@ResponseBody
-	public List<String> getExtensions() {
-		return extensionRepository.findAllByEnabled(true).stream().sorted(Extension.ALPHABETIC_COMPARATOR).map(Extension::getKey).toList();
+	public ResponseEntity<byte[]> getExtensions(WebRequest webRequest) {
+		final CatalogCache.Catalog extensions = catalogCache.getExtensions();
+		if (webRequest.checkNotModified(extensions.eTag())) {
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(CatalogCache.CATALOG_CACHE_CONTROL).build();
+		}
+		return ResponseEntity.ok()
+				.cacheControl(CatalogCache.CATALOG_CACHE_CONTROL)
+				.contentType(MediaType.APPLICATION_JSON)
+				.body(extensions.json());
 	}
 
 }
@@ -0,0 +1,25 @@
+package dev.rilling.planningpoker.api;
+
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
+
+import java.lang.annotation.*;
+
+/**
+ * Retries a transactional mutation of a room if the room was changed concurrently, which is detected using optimistic locking,
+ * or if the database gave up waiting for a lock held by a concurrent change.
+ * Each attempt runs in a new transaction, so the room has to be loaded within the annotated method.
+ * <p>
+ * If all attempts fail, the request is answered with {@code 409 Conflict}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Retryable(retryFor = ConcurrencyFailureException.class, maxAttempts = RetryOnConflict.MAX_ATTEMPTS,
+		// Random backoff, so members that conflicted once do not conflict again when retrying at the same time.
+		backoff = @Backoff(delay = 10, maxDelay = 200, multiplier = 2, random = true))
+public @interface RetryOnConflict {
+
+	int MAX_ATTEMPTS = 10;
+}
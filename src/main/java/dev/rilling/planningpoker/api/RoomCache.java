@@ -0,0 +1,83 @@
+package dev.rilling.planningpoker.api;
+
+import dev.rilling.planningpoker.data.Room;
+import dev.rilling.planningpoker.data.RoomRepository;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Keeps recently used rooms in memory, so reading them does not require loading them from the database.
+ * Size and expiry are configured using the {@code spring.cache} properties of the cache named {@link #CACHE_NAME}.
+ * <p>
+ * Cached rooms are shared between requests and must not be mutated. Mutations are done on a room freshly loaded using
+ * {@link RoomRepository}, which replaces the cached room once the mutation was committed.
+ */
+@Component
+public class RoomCache {
+
+	static final String CACHE_NAME = "rooms";
+
+	private final RoomRepository roomRepository;
+	private final Cache cache;
+	private final Cache transactionAwareCache;
+
+	RoomCache(RoomRepository roomRepository, CacheManager cacheManager) {
+		this.roomRepository = roomRepository;
+		cache = Objects.requireNonNull(cacheManager.getCache(CACHE_NAME), "Room cache is not configured.");
+		transactionAwareCache = new TransactionAwareCacheDecorator(cache);
+	}
+
+	/**
+	 * Finds the room by name, loading it if it is not cached.
+	 * <p>
+	 * Contract: The room must not be mutated.
+	 */
+	public Optional<Room> findByName(String roomName) {
+		final Room cachedRoom = cache.get(roomName, Room.class);
+		if (cachedRoom != null) {
+			return Optional.of(cachedRoom);
+		}
+
+		final Optional<Room> room = roomRepository.findByName(roomName);
+		room.ifPresent(this::putIfNewer);
+		return room;
+	}
+
+	/**
+	 * Removes the room from the cache, for changes not done through {@link RoomService}.
+	 * Within a transaction, this is done once it was committed, so the room cannot be cached again before the change is visible.
+	 */
+	public void evict(String roomName) {
+		transactionAwareCache.evict(roomName);
+	}
+
+	// Synchronized, so a room loaded before a change was committed cannot replace the changed room.
+	private synchronized void putIfNewer(Room room) {
+		final Room cachedRoom = cache.get(room.getName(), Room.class);
+		if (cachedRoom == null || cachedRoom.getVersion() < room.getVersion()) {
+			cache.put(room.getName(), room);
+		}
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onRoomCreated(RoomCreatedEvent event) {
+		// A room with the same name may have been deleted before, whose version must not be compared against.
+		cache.put(event.room().getName(), event.room());
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onRoomChanged(RoomChangedEvent event) {
+		putIfNewer(event.room());
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onRoomDeleted(RoomDeletedEvent event) {
+		cache.evict(event.room().getName());
+	}
+}
@@ -0,0 +1,75 @@
+package dev.rilling.planningpoker.api;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Model for a single change of a room, allowing clients to update their known room state without receiving the full room.
+ */
+@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "type")
+@JsonSubTypes({ @JsonSubTypes.Type(value = RoomChange.TopicChanged.class, name = "topic-changed"),
+		@JsonSubTypes.Type(value = RoomChange.CardSetChanged.class, name = "card-set-changed"),
+		@JsonSubTypes.Type(value = RoomChange.ExtensionsChanged.class, name = "extensions-changed"),
+		@JsonSubTypes.Type(value = RoomChange.MemberJoined.class, name = "member-joined"),
+		@JsonSubTypes.Type(value = RoomChange.MemberLeft.class, name = "member-left"),
+		@JsonSubTypes.Type(value = RoomChange.RoleChanged.class, name = "role-changed"),
+		@JsonSubTypes.Type(value = RoomChange.MemberVoted.class, name = "member-voted"),
+		@JsonSubTypes.Type(value = RoomChange.VotesCleared.class, name = "votes-cleared"),
+		@JsonSubTypes.Type(value = RoomChange.VotingClosed.class, name = "voting-closed") })
+public sealed interface RoomChange {
+
+	/**
+	 * Adapts this change to what the member with this username may see.
+	 */
+	default RoomChange forViewer(String username) {
+		return this;
+	}
+
+	record TopicChanged(@JsonProperty("topic") String topic) implements RoomChange {
+	}
+
+	record CardSetChanged(@JsonProperty("cardSetName") String cardSetName) implements RoomChange {
+	}
+
+	record ExtensionsChanged(@JsonProperty("extensions") List<String> extensions) implements RoomChange {
+	}
+
+	record MemberJoined(@JsonProperty("member") RoomMemberJson member) implements RoomChange {
+	}
+
+	record MemberLeft(@JsonProperty("username") String username) implements RoomChange {
+	}
+
+	record RoleChanged(@JsonProperty("username") String username, @JsonProperty("role") String role) implements RoomChange {
+	}
+
+	/**
+	 * Vote of a member, which is only shown to others once voting is closed.
+	 */
+	record MemberVoted(@JsonProperty("username") String username, @Nullable @JsonProperty("vote") CardJson vote,
+					   @JsonIgnore boolean votingClosed) implements RoomChange {
+
+		@Override
+		public RoomChange forViewer(String username) {
+			if (vote == null || votingClosed || this.username.equals(username)) {
+				return this;
+			}
+			return new MemberVoted(this.username, RoomMemberJson.HIDDEN_CARD, false);
+		}
+	}
+
+	record VotesCleared() implements RoomChange {
+	}
+
+	/**
+	 * Reveals all votes, keyed by username.
+	 */
+	record VotingClosed(@JsonProperty("votes") Map<String, CardJson> votes) implements RoomChange {
+	}
+}
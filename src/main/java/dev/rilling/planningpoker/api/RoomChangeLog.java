@@ -0,0 +1,76 @@
+package dev.rilling.planningpoker.api;
+
+import dev.rilling.planningpoker.data.Room;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Keeps the most recent committed changes of each room, so clients that are slightly behind can catch up without receiving the full room.
+ */
+@Component
+class RoomChangeLog {
+
+	// Clients further behind than this receive the full room, which at that point is not much more to send anyway.
+	static final int MAX_VERSIONS_PER_ROOM = 64;
+
+	private final ConcurrentMap<String, Deque<RoomChangesJson>> changesByRoomName = new ConcurrentHashMap<>(16);
+
+	/**
+	 * Finds the changes needed to get from the given version to the current version of the room.
+	 *
+	 * @return the changes in order, or empty if they are no longer known and the full room has to be used.
+	 */
+	public Optional<List<RoomChangesJson>> findChangesSince(Room room, long since) {
+		final long missingVersions = room.getVersion() - since;
+		if (missingVersions == 0) {
+			return Optional.of(List.of());
+		}
+		if (missingVersions < 0 || missingVersions > MAX_VERSIONS_PER_ROOM) {
+			return Optional.empty();
+		}
+
+		final Deque<RoomChangesJson> log = changesByRoomName.get(room.getName());
+		if (log == null) {
+			return Optional.empty();
+		}
+		final List<RoomChangesJson> changes;
+		synchronized (log) {
+			// Changes newer than the room may already be logged, they are sent to subscribers separately.
+			changes = log.stream().filter(roomChanges -> roomChanges.version() > since && roomChanges.version() <= room.getVersion()).toList();
+		}
+		if (changes.size() != missingVersions) {
+			return Optional.empty();
+		}
+		return Optional.of(changes);
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onRoomChanged(RoomChangedEvent event) {
+		final Room room = event.room();
+		final RoomChangesJson roomChanges = new RoomChangesJson(event.version(), event.changes());
+
+		final Deque<RoomChangesJson> log = changesByRoomName.computeIfAbsent(room.getName(), ignored -> new ArrayDeque<>(MAX_VERSIONS_PER_ROOM));
+		synchronized (log) {
+			if (!log.isEmpty() && log.getLast().version() != roomChanges.version() - 1) {
+				// Versions are not contiguous, e.g. after concurrent updates. Start anew as the previous changes cannot be trusted.
+				log.clear();
+			}
+			if (log.size() == MAX_VERSIONS_PER_ROOM) {
+				log.removeFirst();
+			}
+			log.addLast(roomChanges);
+		}
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onRoomDeleted(RoomDeletedEvent event) {
+		changesByRoomName.remove(event.room().getName());
+	}
+}
@@ -0,0 +1,17 @@
+package dev.rilling.planningpoker.api;
+
+import dev.rilling.planningpoker.data.Room;
+
+import java.util.List;
+
+/**
+ * Published by {@link RoomService} whenever a room was mutated.
+ * <p>
+ * Listeners should use {@link org.springframework.transaction.event.TransactionalEventListener} so they only observe committed state.
+ *
+ * @param room    The room in its mutated state. It may have been mutated further in the same transaction when listeners observe it.
+ * @param version The room version resulting from these changes, captured when publishing as the room may change further.
+ * @param changes The changes done, in order. Applying them to the previous room version results in this version.
+ */
+public record RoomChangedEvent(Room room, long version, List<RoomChange> changes) {
+}
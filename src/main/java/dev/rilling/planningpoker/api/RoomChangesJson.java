@@ -0,0 +1,18 @@
+package dev.rilling.planningpoker.api;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * Model for the changes that lead to a room version.
+ */
+public record RoomChangesJson(@JsonProperty("version") long version, @JsonProperty("changes") List<RoomChange> changes) {
+
+	/**
+	 * Adapts these changes to what the member with this username may see.
+	 */
+	public RoomChangesJson forViewer(String username) {
+		return new RoomChangesJson(version, changes.stream().map(change -> change.forViewer(username)).toList());
+	}
+}
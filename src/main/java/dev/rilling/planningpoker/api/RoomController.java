@@ -4,40 +4,104 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import dev.rilling.planningpoker.data.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.lang.Nullable;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.core.oidc.user.OidcUser;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.util.UriComponentsBuilder;
 
-import java.util.List;
-import java.util.Set;
+import java.util.*;
 import java.util.stream.Collectors;
 
 @RestController
 class RoomController extends AbstractRoomAwareController {
 	private static final Logger logger = LoggerFactory.getLogger(RoomController.class);
 
+	static final int DEFAULT_ROOM_PAGE_SIZE = 100;
+	static final int MAX_ROOM_PAGE_SIZE = 500;
+
 	private final CardSetRepository cardSetRepository;
 	private final ExtensionRepository extensionRepository;
 	private final RoomService roomService;
-
-	RoomController(RoomRepository roomRepository, CardSetRepository cardSetRepository, ExtensionRepository extensionRepository,
-			RoomService roomService) {
-		super(roomRepository);
+	private final RoomEventService roomEventService;
+	private final RoomListEventService roomListEventService;
+	private final RoomLongPollService roomLongPollService;
+	private final RoomJsonCache roomJsonCache;
+	private final ApplicationEventPublisher applicationEventPublisher;
+
+	RoomController(RoomRepository roomRepository, RoomCache roomCache, CardSetRepository cardSetRepository,
+			ExtensionRepository extensionRepository, RoomService roomService, RoomEventService roomEventService, RoomListEventService roomListEventService,
+			RoomLongPollService roomLongPollService, RoomJsonCache roomJsonCache, ApplicationEventPublisher applicationEventPublisher) {
+		super(roomRepository, roomCache);
 		this.cardSetRepository = cardSetRepository;
 		this.extensionRepository = extensionRepository;
 		this.roomService = roomService;
+		this.roomEventService = roomEventService;
+		this.roomListEventService = roomListEventService;
+		this.roomLongPollService = roomLongPollService;
+		this.roomJsonCache = roomJsonCache;
+		this.applicationEventPublisher = applicationEventPublisher;
 	}
 
+	/**
+	 * Lists rooms in alphabetic order, one page at a time.
+	 * If there are more rooms, the {@code Link} header contains the URL of the next page with relation {@code next}.
+	 *
+	 * @param prefix Only list rooms whose name starts with this.
+	 * @param after  Only list rooms whose name is after this, i.e. the last room name of the previous page.
+	 * @param limit  Maximum number of rooms per page.
+	 */
 	@GetMapping(value = "/api/rooms", produces = MediaType.APPLICATION_JSON_VALUE)
-	@ResponseBody
-	public List<RoomJson> getRooms() {
-		return roomRepository.findAll().stream().sorted(Room.ALPHABETIC_COMPARATOR).map(RoomJson::convertToBasic).toList();
+	public ResponseEntity<List<RoomListItemJson>> getRooms(@RequestParam(value = "prefix", defaultValue = "") String prefix,
+			@RequestParam(value = "after", required = false) @Nullable String after,
+			@RequestParam(value = "limit", defaultValue = "" + DEFAULT_ROOM_PAGE_SIZE) int limit) {
+		if (limit < 1 || limit > MAX_ROOM_PAGE_SIZE) {
+			throw new InvalidPageSizeException();
+		}
+
+		// Load one more room than requested, to know if there is a next page.
+		final List<RoomListItem> roomListItems = roomRepository.findListItems(prefix, after, limit + 1);
+		final boolean hasNextPage = roomListItems.size() > limit;
+		final List<RoomListItem> page = hasNextPage ? roomListItems.subList(0, limit) : roomListItems;
+
+		final List<RoomExtensionKey> extensionKeys = page.isEmpty() ?
+				List.of() :
+				roomRepository.findEnabledExtensionKeys(page.stream().map(RoomListItem::id).toList());
+		final List<RoomListItemJson> body = RoomListItemJson.convertAll(page, extensionKeys);
+
+		final ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+		if (hasNextPage) {
+			final String nextPageUri = UriComponentsBuilder.fromPath("/api/rooms")
+					.queryParam("prefix", "{prefix}")
+					.queryParam("after", "{after}")
+					.queryParam("limit", limit)
+					.encode()
+					.buildAndExpand(prefix, page.getLast().name())
+					.toUriString();
+			response.header(HttpHeaders.LINK, "<%s>; rel=\"next\"".formatted(nextPageUri));
+		}
+		return response.body(body);
+	}
+
+	/**
+	 * Streams the list of rooms, using the same format as {@link #getRooms(String, String, int)}, followed by individual room creations, updates and deletions.
+	 */
+	@GetMapping(value = "/api/rooms/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public SseEmitter getRoomsEvents() {
+		return roomListEventService.subscribe();
 	}
 
 	@PostMapping(value = "/api/rooms/{room-name}", consumes = MediaType.APPLICATION_JSON_VALUE)
+	@Transactional
 	public void createRoom(@PathVariable("room-name") String roomName, @RequestBody RoomCreationOptionsJson roomOptions,
 			@AuthenticationPrincipal OidcUser user) {
 		if (roomRepository.findByName(roomName).isPresent()) {
@@ -48,42 +112,87 @@ class RoomController extends AbstractRoomAwareController {
 
 		final Room room = new Room(roomName, cardSet);
 		roomRepository.save(room);
+		applicationEventPublisher.publishEvent(new RoomCreatedEvent(room));
 		logger.info("Created room '{}' by user '{}'.", room, user.getName());
 	}
 
 	record RoomCreationOptionsJson(@JsonProperty(value = "cardSetName", required = true) String cardSetName) {
 	}
 
+	/**
+	 * Gets the room as {@link RoomJson}, already serialized using {@link RoomJsonCache}.
+	 */
 	@GetMapping(value = "/api/rooms/{room-name}/", produces = MediaType.APPLICATION_JSON_VALUE)
-	@ResponseBody
-	public RoomJson getRoom(@PathVariable("room-name") String roomName, @AuthenticationPrincipal OidcUser user) {
+	public ResponseEntity<byte[]> getRoom(@PathVariable("room-name") String roomName, @AuthenticationPrincipal OidcUser user,
+			WebRequest webRequest) {
 		final Room room = requireRoom(roomName);
 		final RoomMember roomMember = requireActingUserMember(room, user.getName());
 
-		// Only show the own vote while voting is not complete
-		return RoomJson.convertToDetailed(room, rm -> room.getVotingState() == Room.VotingState.CLOSED || rm.equals(roomMember));
+		if (checkRoomNotModified(room, webRequest)) {
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(ROOM_CACHE_CONTROL).build();
+		}
+
+		return ResponseEntity.ok()
+				.cacheControl(ROOM_CACHE_CONTROL)
+				.contentType(MediaType.APPLICATION_JSON)
+				.body(roomJsonCache.getDetailed(room, roomMember));
+	}
+
+	/**
+	 * Waits until the room version is newer than {@code since}, then responds the same way as {@link #getRoom(String, OidcUser, WebRequest)}.
+	 * If nothing changes in the meantime, {@link HttpStatus#NOT_MODIFIED} is returned and the client is expected to ask again.
+	 */
+	@GetMapping(value = "/api/rooms/{room-name}/", params = "since", produces = MediaType.APPLICATION_JSON_VALUE)
+	public DeferredResult<ResponseEntity<byte[]>> waitForRoomChange(@PathVariable("room-name") String roomName,
+			@RequestParam("since") long since, @AuthenticationPrincipal OidcUser user) {
+		final Room room = requireRoom(roomName);
+		final RoomMember roomMember = requireActingUserMember(room, user.getName());
+
+		return roomLongPollService.waitForChange(room, roomMember, since);
+	}
+
+	/**
+	 * Streams the room state, using the same format as {@link #getRoom(String, OidcUser, WebRequest)}, followed by {@link RoomChangesJson} whenever it changes.
+	 * Clients reconnecting with the last event ID only receive the changes they missed, if those are still known.
+	 */
+	@GetMapping(value = "/api/rooms/{room-name}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public SseEmitter getRoomEvents(@PathVariable("room-name") String roomName, @AuthenticationPrincipal OidcUser user,
+			@Nullable @RequestHeader(value = "Last-Event-ID", required = false) Long lastVersion) {
+		final Room room = requireRoom(roomName);
+		final RoomMember roomMember = requireActingUserMember(room, user.getName());
+
+		return roomEventService.subscribe(room, roomMember, lastVersion);
 	}
 
 	@DeleteMapping(value = "/api/rooms/{room-name}")
+	@Transactional
+	@RetryOnConflict
 	public void deleteRoom(@PathVariable("room-name") String roomName, @AuthenticationPrincipal OidcUser user) {
-		final Room room = requireRoom(roomName);
+		final Room room = requireRoomForUpdate(roomName);
 
 		roomRepository.delete(room);
+		applicationEventPublisher.publishEvent(new RoomDeletedEvent(room));
 		logger.info("Deleted room '{}' by user '{}'.", room, user.getName());
 	}
 
 	@PatchMapping(value = "/api/rooms/{room-name}", consumes = MediaType.APPLICATION_JSON_VALUE)
+	@Transactional
+	@RetryOnConflict
 	public void editRoom(@PathVariable("room-name") String roomName, @RequestBody RoomEditOptionsJson changes,
 			@AuthenticationPrincipal OidcUser user) {
-		final Room room = requireRoom(roomName);
+		final Room room = requireRoomForUpdate(roomName);
 
 		if (changes.topic != null) {
 			roomService.editTopic(room, changes.topic);
 			logger.info("Edited room '{}' topic by user '{}'.", room, user.getName());
 		}
 		if (changes.cardSetName != null) {
-			roomService.editCardSet(room, cardSetRepository.findByName(changes.cardSetName).orElseThrow(CardSetNotFoundException::new));
-			logger.info("Edited room '{}' card set by user '{}'.", room, user.getName());
+			final CardSet cardSet = cardSetRepository.findByName(changes.cardSetName).orElseThrow(CardSetNotFoundException::new);
+			// Changing the card set clears all votes, so unchanged card sets are skipped.
+			if (!cardSet.equals(room.getCardSet())) {
+				roomService.editCardSet(room, cardSet);
+				logger.info("Edited room '{}' card set by user '{}'.", room, user.getName());
+			}
 		}
 		if (changes.extensionKeys != null) {
 			final Set<Extension> newExtensions = changes.extensionKeys.stream()
@@ -101,6 +210,10 @@ class RoomController extends AbstractRoomAwareController {
 
 	}
 
+	@ResponseStatus(value = HttpStatus.BAD_REQUEST, reason = "Page size must be between 1 and " + MAX_ROOM_PAGE_SIZE + ".")
+	private static class InvalidPageSizeException extends RuntimeException {
+	}
+
 	@ResponseStatus(value = HttpStatus.BAD_REQUEST, reason = "No such card-set.")
 	private static class CardSetNotFoundException extends RuntimeException {
 	}
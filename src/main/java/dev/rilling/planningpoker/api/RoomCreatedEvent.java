@@ -0,0 +1,11 @@
+package dev.rilling.planningpoker.api;
+
+import dev.rilling.planningpoker.data.Room;
+
+/**
+ * Published when a room was created.
+ *
+ * @param room The created room.
+ */
+public record RoomCreatedEvent(Room room) {
+}
@@ -0,0 +1,11 @@
+package dev.rilling.planningpoker.api;
+
+import dev.rilling.planningpoker.data.Room;
+
+/**
+ * Published when a room was deleted.
+ *
+ * @param room The deleted room.
+ */
+public record RoomDeletedEvent(Room room) {
+}
@@ -0,0 +1,182 @@
+package dev.rilling.planningpoker.api;
+
+import dev.rilling.planningpoker.data.Room;
+import dev.rilling.planningpoker.data.RoomMember;
+import dev.rilling.planningpoker.data.RoomRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Pushes room state to subscribed members using server-sent events.
+ * <p>
+ * After the full room, only the changes to it are sent. The room version is used as event ID,
+ * so reconnecting clients only receive the changes they missed.
+ * Changes may be received more than once or, if they are sent concurrently, out of order. Clients ignore changes they already know,
+ * and subscribe anew to receive the full room if they missed changes.
+ */
+@Service
+class RoomEventService {
+	private static final Logger logger = LoggerFactory.getLogger(RoomEventService.class);
+
+	static final String ROOM_EVENT_NAME = "room";
+	static final String ROOM_CHANGES_EVENT_NAME = "room-changes";
+
+	// Clients reconnect on their own after this, which also cleans up subscriptions of clients that silently went away.
+	private static final Duration EMITTER_TIMEOUT = Duration.ofMinutes(15);
+
+	private final RoomRepository roomRepository;
+	private final RoomChangeLog roomChangeLog;
+	private final RoomJsonCache roomJsonCache;
+
+	private final ConcurrentMap<String, Set<Subscription>> subscriptionsByRoomName = new ConcurrentHashMap<>(16);
+
+	RoomEventService(RoomRepository roomRepository, RoomChangeLog roomChangeLog, RoomJsonCache roomJsonCache) {
+		this.roomRepository = roomRepository;
+		this.roomChangeLog = roomChangeLog;
+		this.roomJsonCache = roomJsonCache;
+	}
+
+	/**
+	 * Subscribes a member to changes of the room. The current room state is sent immediately,
+	 * unless the client already knows a version recent enough to only send the changes since then.
+	 * <p>
+	 * Contract: Room member must be part of the room.
+	 *
+	 * @param lastVersion The last room version known to the client, if any.
+	 */
+	public SseEmitter subscribe(Room room, RoomMember roomMember, @Nullable Long lastVersion) {
+		final SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT.toMillis());
+		final Subscription subscription = new Subscription(roomMember.getUsername(), emitter);
+
+		// Added while computing, as the set may otherwise be removed by the last unsubscribe in the meantime.
+		subscriptionsByRoomName.compute(room.getName(), (ignored, subscriptions) -> {
+			final Set<Subscription> currentSubscriptions = subscriptions != null ? subscriptions : ConcurrentHashMap.newKeySet();
+			currentSubscriptions.add(subscription);
+			return currentSubscriptions;
+		});
+		final Runnable unsubscribe = () -> unsubscribe(room.getName(), subscription);
+		emitter.onCompletion(unsubscribe);
+		emitter.onTimeout(unsubscribe);
+		emitter.onError(ignored -> unsubscribe.run());
+
+		if (lastVersion != null) {
+			sendChangesSince(room, lastVersion, subscription);
+		} else {
+			sendRoom(room, subscription);
+		}
+
+		// A change may have been committed between loading the room and subscribing, which would otherwise never be sent.
+		if (roomRepository.findVersionByName(room.getName()).filter(version -> version > room.getVersion()).isPresent()) {
+			roomRepository.findByName(room.getName()).ifPresent(changedRoom -> sendChangesSince(changedRoom, room.getVersion(), subscription));
+		}
+		return emitter;
+	}
+
+	private void sendChangesSince(Room room, long since, Subscription subscription) {
+		final Optional<List<RoomChangesJson>> missedChanges = roomChangeLog.findChangesSince(room, since);
+		if (missedChanges.isPresent()) {
+			for (RoomChangesJson roomChanges : missedChanges.get()) {
+				sendChanges(room, roomChanges, subscription);
+			}
+		} else {
+			sendRoom(room, subscription);
+		}
+	}
+
+	/**
+	 * Gets the number of rooms with at least one subscribed member.
+	 */
+	public int getRoomCount() {
+		return subscriptionsByRoomName.size();
+	}
+
+	/**
+	 * Gets the number of open event streams across all rooms.
+	 */
+	public int getSubscriptionCount() {
+		return subscriptionsByRoomName.values().stream().mapToInt(Set::size).sum();
+	}
+
+	private void unsubscribe(String roomName, Subscription subscription) {
+		subscriptionsByRoomName.computeIfPresent(roomName, (ignored, subscriptions) -> {
+			subscriptions.remove(subscription);
+			return subscriptions.isEmpty() ? null : subscriptions;
+		});
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onRoomChanged(RoomChangedEvent event) {
+		final Room room = event.room();
+		final Set<Subscription> subscriptions = subscriptionsByRoomName.get(room.getName());
+		if (subscriptions == null) {
+			return;
+		}
+		final RoomChangesJson roomChanges = new RoomChangesJson(event.version(), event.changes());
+		for (Subscription subscription : subscriptions) {
+			sendChanges(room, roomChanges, subscription);
+		}
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onRoomDeleted(RoomDeletedEvent event) {
+		final Set<Subscription> subscriptions = subscriptionsByRoomName.get(event.room().getName());
+		if (subscriptions == null) {
+			return;
+		}
+		for (Subscription subscription : subscriptions) {
+			subscription.emitter().complete();
+		}
+	}
+
+	private void sendRoom(Room room, Subscription subscription) {
+		findMember(room, subscription).ifPresent(roomMember -> send(room,
+				room.getVersion(),
+				subscription,
+				ROOM_EVENT_NAME,
+				roomJsonCache.getDetailed(room, roomMember)));
+	}
+
+	private void sendChanges(Room room, RoomChangesJson roomChanges, Subscription subscription) {
+		// The version of the changes rather than of the room, as older changes are sent when catching up.
+		findMember(room, subscription).ifPresent(ignored -> send(room,
+				roomChanges.version(),
+				subscription,
+				ROOM_CHANGES_EVENT_NAME,
+				roomChanges.forViewer(subscription.username())));
+	}
+
+	private Optional<RoomMember> findMember(Room room, Subscription subscription) {
+		final Optional<RoomMember> roomMember = room.findMemberByUser(subscription.username());
+		if (roomMember.isEmpty()) {
+			// Member left or was kicked, so they may no longer see the room.
+			logger.debug("Closing event stream of '{}' in '{}' as they are no longer a member.", subscription.username(), room);
+			subscription.emitter().complete();
+		}
+		return roomMember;
+	}
+
+	private void send(Room room, long version, Subscription subscription, String eventName, Object data) {
+		try {
+			subscription.emitter().send(SseEmitter.event().id(String.valueOf(version)).name(eventName).data(data, MediaType.APPLICATION_JSON));
+		} catch (IOException | IllegalStateException e) {
+			// Client went away, the emitter callbacks take care of cleaning up.
+			logger.debug("Could not send event to '{}' in '{}'.", subscription.username(), room, e);
+		}
+	}
+
+	private record Subscription(String username, SseEmitter emitter) {
+	}
+}
@@ -5,6 +5,7 @@ import dev.rilling.planningpoker.data.Room;
 import dev.rilling.planningpoker.data.RoomExtensionConfig;
 import dev.rilling.planningpoker.data.RoomMember;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 import java.util.function.Function;
@@ -25,17 +26,30 @@ public record RoomJson(@JsonProperty("name") String name, @JsonProperty("topic")
 		return convert(room, roomMember -> RoomMemberJson.convertToDetailed(roomMember, showVotes.test(roomMember)));
 	}
 
+	/**
+	 * Creates the predicate deciding which votes a member may see.
+	 * Only the own vote is shown while voting is not complete.
+	 */
+	public static Predicate<RoomMember> showVotesTo(Room room, RoomMember viewingMember) {
+		return roomMember -> room.getVotingState() == Room.VotingState.CLOSED || roomMember.equals(viewingMember);
+	}
+
 	private static RoomJson convert(Room room, Function<RoomMember, RoomMemberJson> roomMemberMapper) {
+		final List<RoomMember> sortedMembers = room.getSortedMembers();
+		final List<RoomMemberJson> members = new ArrayList<>(sortedMembers.size());
+		for (RoomMember roomMember : sortedMembers) {
+			members.add(roomMemberMapper.apply(roomMember));
+		}
 		return new RoomJson(
 				room.getName(),
 				room.getTopic(),
 				room.getCardSet().getName(),
-				room.getMembers().stream().sorted(RoomMember.ALPHABETIC_COMPARATOR).map(roomMemberMapper).toList(),
+				members,
 				room.getVotingState() == Room.VotingState.CLOSED,
 				convertExtensionConfigs(room.getExtensionConfigs()));
 	}
 
-	private static List<String> convertExtensionConfigs(Set<RoomExtensionConfig> extensionConfigs) {
+	static List<String> convertExtensionConfigs(Set<RoomExtensionConfig> extensionConfigs) {
 		return extensionConfigs.stream()
 				.filter(roomExtensionConfig -> roomExtensionConfig.getExtension().isEnabled())
 				.sorted(RoomExtensionConfig.ALPHABETIC_COMPARATOR)
@@ -0,0 +1,139 @@
+package dev.rilling.planningpoker.api;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.rilling.planningpoker.data.Room;
+import dev.rilling.planningpoker.data.RoomMember;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Keeps the serialized {@link RoomJson} of recently viewed rooms, so all members viewing the same room version share it instead of
+ * each converting and serializing the room.
+ * Size and expiry are configured using the {@code spring.cache} properties of the cache named {@link #CACHE_NAME}.
+ * <p>
+ * Once voting is closed, all members see the same room. While voting is open, members only see their own vote, so the room is
+ * serialized with all votes hidden and only the own vote of the viewing member is spliced in.
+ */
+@Component
+class RoomJsonCache {
+
+	static final String CACHE_NAME = "room-json";
+
+	private static final byte[] MEMBERS_MARKER = "\"members\":[]".getBytes(StandardCharsets.UTF_8);
+
+	private final ObjectMapper objectMapper;
+	private final Cache cache;
+
+	RoomJsonCache(ObjectMapper objectMapper, CacheManager cacheManager) {
+		this.objectMapper = objectMapper;
+		cache = Objects.requireNonNull(cacheManager.getCache(CACHE_NAME), "Room JSON cache is not configured.");
+	}
+
+	/**
+	 * Gets the room serialized the same way as {@link RoomJson#convertToDetailed(Room, java.util.function.Predicate)} with
+	 * {@link RoomJson#showVotesTo(Room, RoomMember)}.
+	 * <p>
+	 * Contract: Room member must be part of the room. The returned bytes may be shared and must not be mutated.
+	 */
+	public byte[] getDetailed(Room room, RoomMember viewingMember) {
+		final SerializedRoom serializedRoom = getSerializedRoom(room);
+		if (room.getVotingState() == Room.VotingState.CLOSED || viewingMember.getVote() == null) {
+			return serializedRoom.json();
+		}
+
+		final int index = Collections.binarySearch(room.getSortedMembers(), viewingMember, RoomMember.ALPHABETIC_COMPARATOR);
+		final byte[] ownMember = serialize(RoomMemberJson.convertToDetailed(viewingMember, true));
+		final int start = serializedRoom.memberStarts()[index];
+		final int end = serializedRoom.memberEnds()[index];
+		final byte[] json = serializedRoom.json();
+
+		final byte[] splicedJson = new byte[json.length - (end - start) + ownMember.length];
+		System.arraycopy(json, 0, splicedJson, 0, start);
+		System.arraycopy(ownMember, 0, splicedJson, start, ownMember.length);
+		System.arraycopy(json, end, splicedJson, start + ownMember.length, json.length - end);
+		return splicedJson;
+	}
+
+	private SerializedRoom getSerializedRoom(Room room) {
+		final SerializedRoom cachedSerializedRoom = cache.get(room.getName(), SerializedRoom.class);
+		// Cached rooms are replaced on change rather than mutated, so the instance identifies the version that was serialized.
+		if (cachedSerializedRoom != null && cachedSerializedRoom.room() == room) {
+			return cachedSerializedRoom;
+		}
+
+		final SerializedRoom serializedRoom = serializeRoom(room);
+		cache.put(room.getName(), serializedRoom);
+		return serializedRoom;
+	}
+
+	private SerializedRoom serializeRoom(Room room) {
+		final boolean showVotes = room.getVotingState() == Room.VotingState.CLOSED;
+		final List<RoomMember> sortedMembers = room.getSortedMembers();
+
+		final byte[] emptyRoom = serialize(new RoomJson(room.getName(),
+				room.getTopic(),
+				room.getCardSet().getName(),
+				List.of(),
+				showVotes,
+				RoomJson.convertExtensionConfigs(room.getExtensionConfigs())));
+		// Strings are escaped, so the marker can only be the members property itself.
+		final int membersStart = indexOf(emptyRoom, MEMBERS_MARKER) + MEMBERS_MARKER.length - 1;
+
+		final ByteArrayOutputStream json = new ByteArrayOutputStream(emptyRoom.length + sortedMembers.size() * 64);
+		final int[] memberStarts = new int[sortedMembers.size()];
+		final int[] memberEnds = new int[sortedMembers.size()];
+		json.write(emptyRoom, 0, membersStart);
+		for (int i = 0; i < sortedMembers.size(); i++) {
+			if (i > 0) {
+				json.write(',');
+			}
+			memberStarts[i] = json.size();
+			json.writeBytes(serialize(RoomMemberJson.convertToDetailed(sortedMembers.get(i), showVotes)));
+			memberEnds[i] = json.size();
+		}
+		json.write(emptyRoom, membersStart, emptyRoom.length - membersStart);
+		return new SerializedRoom(room, json.toByteArray(), memberStarts, memberEnds);
+	}
+
+	private byte[] serialize(Object value) {
+		try {
+			return objectMapper.writeValueAsBytes(value);
+		} catch (JsonProcessingException e) {
+			throw new UncheckedIOException("Could not serialize room.", e);
+		}
+	}
+
+	private static int indexOf(byte[] array, byte[] target) {
+		for (int i = 0; i <= array.length - target.length; i++) {
+			if (Arrays.equals(array, i, i + target.length, target, 0, target.length)) {
+				return i;
+			}
+		}
+		throw new IllegalStateException("Could not find members in serialized room.");
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onRoomDeleted(RoomDeletedEvent event) {
+		cache.evict(event.room().getName());
+	}
+
+	/**
+	 * @param room         The room that was serialized.
+	 * @param json         The serialized room, with all votes hidden unless voting is closed.
+	 * @param memberStarts The start of each member in {@link #json}, in the order of {@link Room#getSortedMembers()}.
+	 * @param memberEnds   The end of each member in {@link #json}, in the order of {@link Room#getSortedMembers()}.
+	 */
+	private record SerializedRoom(Room room, byte[] json, int[] memberStarts, int[] memberEnds) {
+	}
+}
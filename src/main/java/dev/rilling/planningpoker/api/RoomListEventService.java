@@ -0,0 +1,156 @@
+package dev.rilling.planningpoker.api;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import dev.rilling.planningpoker.data.RoomRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pushes the room list using server-sent events.
+ * <p>
+ * Subscribers receive a snapshot of all rooms first, followed by changes only.
+ * The rooms are kept in memory, so only the first subscription has to load them.
+ * <p>
+ * Only changes of what the room list shows are sent, e.g. not votes.
+ * <p>
+ * Changes are sent after releasing the lock, so a slow client does not block other changes from being processed.
+ */
+@Service
+class RoomListEventService {
+	private static final Logger logger = LoggerFactory.getLogger(RoomListEventService.class);
+
+	static final String ROOMS_EVENT_NAME = "rooms";
+	static final String ROOM_CREATED_EVENT_NAME = "room-created";
+	static final String ROOM_UPDATED_EVENT_NAME = "room-updated";
+	static final String ROOM_DELETED_EVENT_NAME = "room-deleted";
+
+	// Clients reconnect on their own after this, which also cleans up subscriptions of clients that silently went away.
+	private static final Duration EMITTER_TIMEOUT = Duration.ofMinutes(15);
+
+	private final RoomRepository roomRepository;
+
+	private final Set<SseEmitter> emitters = ConcurrentHashMap.newKeySet();
+
+	// Guarded by `this`, to ensure subscribers see every change after their snapshot.
+	@Nullable
+	private SortedMap<String, RoomListItemJson> roomsByName = null;
+
+	RoomListEventService(RoomRepository roomRepository) {
+		this.roomRepository = roomRepository;
+	}
+
+	/**
+	 * Subscribes to changes of the room list. The current room list is sent immediately.
+	 * <p>
+	 * As the emitter is not returned to the client yet, sending the room list here only queues it, without any I/O under the lock.
+	 */
+	public synchronized SseEmitter subscribe() {
+		final SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT.toMillis());
+		emitters.add(emitter);
+		emitter.onCompletion(() -> emitters.remove(emitter));
+		emitter.onTimeout(() -> emitters.remove(emitter));
+		emitter.onError(ignored -> emitters.remove(emitter));
+
+		send(emitter, ROOMS_EVENT_NAME, new ArrayList<>(getRoomsByName().values()));
+		return emitter;
+	}
+
+	private SortedMap<String, RoomListItemJson> getRoomsByName() {
+		if (roomsByName == null) {
+			roomsByName = new TreeMap<>();
+			for (RoomListItemJson roomListItemJson : RoomListItemJson.convertAll(roomRepository.findAllListItems(),
+					roomRepository.findAllEnabledExtensionKeys())) {
+				roomsByName.put(roomListItemJson.name(), roomListItemJson);
+			}
+		}
+		return roomsByName;
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onRoomCreated(RoomCreatedEvent event) {
+		final RoomListItemJson roomListItemJson = RoomListItemJson.convert(event.room());
+		final List<SseEmitter> recipients;
+		synchronized (this) {
+			if (roomsByName == null) {
+				// Nobody subscribed yet, the room will be loaded with the others once somebody does.
+				return;
+			}
+			roomsByName.put(roomListItemJson.name(), roomListItemJson);
+			recipients = List.copyOf(emitters);
+		}
+		sendAll(recipients, ROOM_CREATED_EVENT_NAME, roomListItemJson);
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onRoomChanged(RoomChangedEvent event) {
+		// Most changes, e.g. votes, are not visible in the room list, so they are skipped without locking.
+		if (event.changes().stream().noneMatch(RoomListEventService::isListed)) {
+			return;
+		}
+		final RoomListItemJson roomListItemJson = RoomListItemJson.convert(event.room());
+		final List<SseEmitter> recipients;
+		synchronized (this) {
+			if (roomsByName == null) {
+				return;
+			}
+			// E.g. clearing votes of a room that is still open does not change the list item.
+			if (roomListItemJson.equals(roomsByName.put(roomListItemJson.name(), roomListItemJson))) {
+				return;
+			}
+			recipients = List.copyOf(emitters);
+		}
+		sendAll(recipients, ROOM_UPDATED_EVENT_NAME, roomListItemJson);
+	}
+
+	private static boolean isListed(RoomChange change) {
+		return change instanceof RoomChange.TopicChanged || change instanceof RoomChange.CardSetChanged ||
+				change instanceof RoomChange.ExtensionsChanged || change instanceof RoomChange.VotingClosed ||
+				change instanceof RoomChange.VotesCleared;
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onRoomDeleted(RoomDeletedEvent event) {
+		final String roomName = event.room().getName();
+		final List<SseEmitter> recipients;
+		synchronized (this) {
+			if (roomsByName == null) {
+				return;
+			}
+			roomsByName.remove(roomName);
+			recipients = List.copyOf(emitters);
+		}
+		sendAll(recipients, ROOM_DELETED_EVENT_NAME, new RoomDeletionJson(roomName));
+	}
+
+	private void sendAll(List<SseEmitter> recipients, String eventName, Object data) {
+		for (SseEmitter emitter : recipients) {
+			send(emitter, eventName, data);
+		}
+	}
+
+	private void send(SseEmitter emitter, String eventName, Object data) {
+		try {
+			emitter.send(SseEmitter.event().name(eventName).data(data, MediaType.APPLICATION_JSON));
+		} catch (IOException | IllegalStateException e) {
+			// Client went away, the emitter callbacks take care of cleaning up.
+			logger.debug("Could not send '{}' event.", eventName, e);
+		}
+	}
+
+	record RoomDeletionJson(@JsonProperty("name") String name) {
+	}
+}
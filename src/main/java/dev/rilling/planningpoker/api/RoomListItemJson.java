@@ -0,0 +1,54 @@
+package dev.rilling.planningpoker.api;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import dev.rilling.planningpoker.data.Room;
+import dev.rilling.planningpoker.data.RoomExtensionKey;
+import dev.rilling.planningpoker.data.RoomListItem;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Model for {@link RoomListItem}, which is the same as {@link RoomJson} without members.
+ */
+public record RoomListItemJson(@JsonProperty("name") String name, @JsonProperty("topic") String topic,
+							   @JsonProperty("cardSetName") String cardSetName, @JsonProperty("votingClosed") boolean votingClosed,
+							   @JsonProperty("extensions") List<String> extensions) {
+
+	/**
+	 * @param extensions Keys of the enabled extensions active in the room, in alphabetic order.
+	 */
+	public static RoomListItemJson convert(RoomListItem roomListItem, List<String> extensions) {
+		return new RoomListItemJson(roomListItem.name(),
+				roomListItem.topic(),
+				roomListItem.cardSetName(),
+				roomListItem.votingState() == Room.VotingState.CLOSED,
+				extensions);
+	}
+
+	/**
+	 * Converts the list items, each with its extensions taken from the extension keys.
+	 *
+	 * @param extensionKeys Keys of the enabled extensions active in the rooms, in alphabetic order.
+	 */
+	public static List<RoomListItemJson> convertAll(List<RoomListItem> roomListItems, List<RoomExtensionKey> extensionKeys) {
+		final Map<UUID, List<String>> extensionKeysByRoomId = extensionKeys.stream()
+				.collect(Collectors.groupingBy(RoomExtensionKey::roomId, Collectors.mapping(RoomExtensionKey::extensionKey, Collectors.toList())));
+		return roomListItems.stream()
+				.map(roomListItem -> convert(roomListItem, extensionKeysByRoomId.getOrDefault(roomListItem.id(), List.of())))
+				.toList();
+	}
+
+	/**
+	 * Converts a loaded room, without the members that are not part of the room list.
+	 */
+	public static RoomListItemJson convert(Room room) {
+		return new RoomListItemJson(room.getName(),
+				room.getTopic(),
+				room.getCardSet().getName(),
+				room.getVotingState() == Room.VotingState.CLOSED,
+				RoomJson.convertExtensionConfigs(room.getExtensionConfigs()));
+	}
+}
@@ -0,0 +1,134 @@
+package dev.rilling.planningpoker.api;
+
+import dev.rilling.planningpoker.data.Room;
+import dev.rilling.planningpoker.data.RoomMember;
+import dev.rilling.planningpoker.data.RoomRepository;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Parks requests until the room they are waiting on changes, for clients that cannot use server-sent events.
+ * Parked requests are handled asynchronously, so they do not block a request thread while waiting.
+ */
+@Service
+class RoomLongPollService {
+
+	// Below the idle timeout of common proxies, as those are the reason long-polling is used.
+	private static final Duration WAIT_TIMEOUT = Duration.ofSeconds(30);
+
+	private final RoomRepository roomRepository;
+	private final RoomJsonCache roomJsonCache;
+
+	private final ConcurrentMap<String, Set<Waiter>> waitersByRoomName = new ConcurrentHashMap<>(16);
+
+	RoomLongPollService(RoomRepository roomRepository, RoomJsonCache roomJsonCache) {
+		this.roomRepository = roomRepository;
+		this.roomJsonCache = roomJsonCache;
+	}
+
+	/**
+	 * Waits until the version of the room is newer than the given version.
+	 * Completes immediately if this is already the case, or with {@link HttpStatus#NOT_MODIFIED} if nothing changed before the timeout.
+	 * <p>
+	 * Contract: Room member must be part of the room.
+	 */
+	public DeferredResult<ResponseEntity<byte[]>> waitForChange(Room room, RoomMember roomMember, long since) {
+		final DeferredResult<ResponseEntity<byte[]>> result = new DeferredResult<>(WAIT_TIMEOUT.toMillis(),
+				() -> ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(AbstractRoomAwareController.ROOM_CACHE_CONTROL).build());
+		final Waiter waiter = new Waiter(roomMember.getUsername(), since, result);
+
+		if (room.getVersion() > since) {
+			complete(room, waiter);
+			return result;
+		}
+
+		// Added while computing, as the set may otherwise be removed by the last unregister in the meantime.
+		waitersByRoomName.compute(room.getName(), (ignored, waiters) -> {
+			final Set<Waiter> currentWaiters = waiters != null ? waiters : ConcurrentHashMap.newKeySet();
+			currentWaiters.add(waiter);
+			return currentWaiters;
+		});
+		result.onCompletion(() -> unregister(room.getName(), waiter));
+
+		// A change may have been committed between loading the room and registering, which we would otherwise miss.
+		if (roomRepository.findVersionByName(room.getName()).filter(version -> version > room.getVersion()).isPresent()) {
+			roomRepository.findByName(room.getName()).ifPresent(changedRoom -> complete(changedRoom, waiter));
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the number of rooms with at least one waiting request.
+	 */
+	public int getRoomCount() {
+		return waitersByRoomName.size();
+	}
+
+	/**
+	 * Gets the number of waiting requests across all rooms.
+	 */
+	public int getWaiterCount() {
+		return waitersByRoomName.values().stream().mapToInt(Set::size).sum();
+	}
+
+	private void unregister(String roomName, Waiter waiter) {
+		waitersByRoomName.computeIfPresent(roomName, (ignored, waiters) -> {
+			waiters.remove(waiter);
+			return waiters.isEmpty() ? null : waiters;
+		});
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onRoomChanged(RoomChangedEvent event) {
+		final Room room = event.room();
+		final Set<Waiter> waiters = waitersByRoomName.get(room.getName());
+		if (waiters == null) {
+			return;
+		}
+		for (Waiter waiter : waiters) {
+			if (event.version() > waiter.since()) {
+				complete(room, waiter);
+			}
+		}
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onRoomDeleted(RoomDeletedEvent event) {
+		final Set<Waiter> waiters = waitersByRoomName.get(event.room().getName());
+		if (waiters == null) {
+			return;
+		}
+		for (Waiter waiter : waiters) {
+			waiter.result().setErrorResult(new AbstractRoomAwareController.RoomNotFoundException());
+		}
+	}
+
+	private void complete(Room room, Waiter waiter) {
+		final Optional<RoomMember> roomMember = room.findMemberByUser(waiter.username());
+		if (roomMember.isEmpty()) {
+			// Member left or was kicked, so they may no longer see the room.
+			waiter.result().setErrorResult(new AbstractRoomAwareController.NotAMemberException());
+			return;
+		}
+
+		waiter.result()
+				.setResult(ResponseEntity.ok()
+						.eTag(String.valueOf(room.getVersion()))
+						.cacheControl(AbstractRoomAwareController.ROOM_CACHE_CONTROL)
+						.contentType(MediaType.APPLICATION_JSON)
+						.body(roomJsonCache.getDetailed(room, roomMember.get())));
+	}
+
+	private record Waiter(String username, long since, DeferredResult<ResponseEntity<byte[]>> result) {
+	}
+}
@@ -0,0 +1,29 @@
+package dev.rilling.planningpoker.api;
+
+import dev.rilling.planningpoker.AbstractRoomFlightEvent;
+import dev.rilling.planningpoker.data.Room;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import org.springframework.lang.Nullable;
+
+@Name("dev.rilling.planningpoker.RoomLookup")
+@Label("Room Lookup")
+@Description("Resolving the room of a request, see AbstractRoomAwareController")
+class RoomLookupFlightEvent extends AbstractRoomFlightEvent {
+
+	@Label("Found")
+	private boolean found;
+
+	/**
+	 * Stops timing the event and records it for the room with this name, which may not have been found.
+	 */
+	void finish(String roomName, @Nullable Room room) {
+		found = room != null;
+		if (room != null) {
+			finish(room);
+		} else {
+			finish(roomName, 0);
+		}
+	}
+}
@@ -8,6 +8,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.core.oidc.user.OidcUser;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -16,14 +17,16 @@ class RoomMemberController extends AbstractRoomAwareController {
 
 	private final RoomService roomService;
 
-	protected RoomMemberController(RoomRepository roomRepository, RoomService roomService) {
-		super(roomRepository);
+	protected RoomMemberController(RoomRepository roomRepository, RoomCache roomCache, RoomService roomService) {
+		super(roomRepository, roomCache);
 		this.roomService = roomService;
 	}
 
 	@PostMapping(value = "/api/rooms/{room-name}/members")
+	@Transactional
+	@RetryOnConflict
 	public void joinRoom(@PathVariable("room-name") String roomName, @AuthenticationPrincipal OidcUser user) {
-		final Room room = requireRoom(roomName);
+		final Room room = requireRoomForUpdate(roomName);
 		if (room.findMemberByUser(user.getName()).isPresent()) {
 			logger.debug("User '{}' is already in room '{}'.", user.getName(), room);
 			return;
@@ -35,8 +38,10 @@ class RoomMemberController extends AbstractRoomAwareController {
 	}
 
 	@DeleteMapping(value = "/api/rooms/{room-name}/members")
+	@Transactional
+	@RetryOnConflict
 	public void leaveRoom(@PathVariable("room-name") String roomName, @AuthenticationPrincipal OidcUser user) {
-		final Room room = requireRoom(roomName);
+		final Room room = requireRoomForUpdate(roomName);
 		room.findMemberByUser(user.getName()).ifPresentOrElse(roomMember -> {
 			roomService.removeMember(room, roomMember);
 			roomRepository.save(room);
@@ -46,9 +51,11 @@ class RoomMemberController extends AbstractRoomAwareController {
 
 	@PatchMapping(value = "/api/rooms/{room-name}/members/{member-username}")
 	@ResponseBody
+	@Transactional
+	@RetryOnConflict
 	public void editMember(@PathVariable("room-name") String roomName, @PathVariable("member-username") String memberUsername,
 			@RequestParam("action") EditAction action, @AuthenticationPrincipal OidcUser user) {
-		final Room room = requireRoom(roomName);
+		final Room room = requireRoomForUpdate(roomName);
 		final RoomMember actingMember = requireActingUserMember(room, user.getName());
 
 		final RoomMember targetMember = room.findMemberByUser(memberUsername).orElseThrow(MemberNotFoundException::new);
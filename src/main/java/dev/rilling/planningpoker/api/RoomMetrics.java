@@ -0,0 +1,74 @@
+package dev.rilling.planningpoker.api;
+
+import dev.rilling.planningpoker.data.RoomRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Publishes metrics about rooms, voting and push connections.
+ * <p>
+ * Votes and closed votings are counted from the changes of committed {@link RoomChangedEvent}s, so changes that are rolled back
+ * or retried are only counted once they succeed.
+ */
+@Component
+class RoomMetrics {
+
+	static final String VOTES_METER_NAME = "planning-poker.votes";
+	static final String VOTINGS_CLOSED_METER_NAME = "planning-poker.votings.closed";
+	static final String ROOMS_METER_NAME = "planning-poker.rooms";
+	static final String MEMBERS_METER_NAME = "planning-poker.members";
+	static final String ACTIVE_ROOMS_METER_NAME = "planning-poker.rooms.active";
+	static final String PUSH_CONNECTIONS_METER_NAME = "planning-poker.push.connections";
+
+	private static final String PUSH_TYPE_TAG = "type";
+	private static final String EVENT_STREAM_PUSH_TYPE = "event-stream";
+	private static final String LONG_POLL_PUSH_TYPE = "long-poll";
+
+	private final Counter votes;
+	private final Counter votingsClosed;
+
+	RoomMetrics(MeterRegistry meterRegistry, RoomRepository roomRepository, RoomEventService roomEventService,
+			RoomLongPollService roomLongPollService) {
+		votes = Counter.builder(VOTES_METER_NAME).description("Votes cast by members").register(meterRegistry);
+		votingsClosed = Counter.builder(VOTINGS_CLOSED_METER_NAME)
+				.description("Votings closed because all voters voted")
+				.register(meterRegistry);
+
+		// Counted on every scrape rather than tracked, as rooms are changed by many code paths.
+		Gauge.builder(ROOMS_METER_NAME, roomRepository, RoomRepository::count).description("Existing rooms").register(meterRegistry);
+		Gauge.builder(MEMBERS_METER_NAME, roomRepository, RoomRepository::countMembers)
+				.description("Members across all rooms")
+				.register(meterRegistry);
+
+		Gauge.builder(ACTIVE_ROOMS_METER_NAME, roomEventService, RoomEventService::getRoomCount)
+				.description("Rooms with at least one connected member")
+				.tag(PUSH_TYPE_TAG, EVENT_STREAM_PUSH_TYPE)
+				.register(meterRegistry);
+		Gauge.builder(ACTIVE_ROOMS_METER_NAME, roomLongPollService, RoomLongPollService::getRoomCount)
+				.description("Rooms with at least one connected member")
+				.tag(PUSH_TYPE_TAG, LONG_POLL_PUSH_TYPE)
+				.register(meterRegistry);
+		Gauge.builder(PUSH_CONNECTIONS_METER_NAME, roomEventService, RoomEventService::getSubscriptionCount)
+				.description("Open connections waiting for room changes")
+				.tag(PUSH_TYPE_TAG, EVENT_STREAM_PUSH_TYPE)
+				.register(meterRegistry);
+		Gauge.builder(PUSH_CONNECTIONS_METER_NAME, roomLongPollService, RoomLongPollService::getWaiterCount)
+				.description("Open connections waiting for room changes")
+				.tag(PUSH_TYPE_TAG, LONG_POLL_PUSH_TYPE)
+				.register(meterRegistry);
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onRoomChanged(RoomChangedEvent event) {
+		for (RoomChange change : event.changes()) {
+			if (change instanceof RoomChange.MemberVoted memberVoted && memberVoted.vote() != null) {
+				votes.increment();
+			} else if (change instanceof RoomChange.VotingClosed) {
+				votingsClosed.increment();
+			}
+		}
+	}
+}
@@ -0,0 +1,28 @@
+package dev.rilling.planningpoker.api;
+
+import dev.rilling.planningpoker.AbstractRoomFlightEvent;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("dev.rilling.planningpoker.RoomMutation")
+@Label("Room Mutation")
+@Description("Change of a room, see RoomService")
+class RoomMutationFlightEvent extends AbstractRoomFlightEvent {
+
+	@Label("Operation")
+	private final String operation;
+
+	private RoomMutationFlightEvent(String operation) {
+		this.operation = operation;
+	}
+
+	/**
+	 * Creates and starts an event for this operation of {@link RoomService}.
+	 */
+	static RoomMutationFlightEvent start(String operation) {
+		final RoomMutationFlightEvent event = new RoomMutationFlightEvent(operation);
+		event.start();
+		return event;
+	}
+}
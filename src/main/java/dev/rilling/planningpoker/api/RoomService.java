@@ -2,29 +2,44 @@ package dev.rilling.planningpoker.api;
 
 
 import dev.rilling.planningpoker.data.*;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.*;
 import java.util.stream.Collectors;
 
 /**
  * Encapsulates mutations of rooms and members.
+ * <p>
+ * Every mutation increments the room version and publishes a {@link RoomChangedEvent} describing what changed.
+ * Mutations are recorded as {@link RoomMutationFlightEvent} when flight recording is enabled.
  */
 @Service
 public class RoomService {
 
+	private final ApplicationEventPublisher applicationEventPublisher;
+
+	RoomService(ApplicationEventPublisher applicationEventPublisher) {
+		this.applicationEventPublisher = applicationEventPublisher;
+	}
+
 	public void editTopic(Room room, String newTopic) {
+		final RoomMutationFlightEvent flightEvent = RoomMutationFlightEvent.start("edit-topic");
 		room.setTopic(newTopic);
+
+		markChanged(room, List.of(new RoomChange.TopicChanged(newTopic)), flightEvent);
 	}
 
 	public void editCardSet(Room room, CardSet newCardSet) {
+		final RoomMutationFlightEvent flightEvent = RoomMutationFlightEvent.start("edit-card-set");
 		room.setCardSet(newCardSet);
+		resetVoting(room);
 
-		clearVotes(room);
+		markChanged(room, List.of(new RoomChange.CardSetChanged(newCardSet.getName()), new RoomChange.VotesCleared()), flightEvent);
 	}
 
 	public void editExtensions(Room room, Set<Extension> newExtensions) {
+		final RoomMutationFlightEvent flightEvent = RoomMutationFlightEvent.start("edit-extensions");
 		final Set<Extension> previousExtensions = room.getExtensionConfigs()
 				.stream()
 				.map(RoomExtensionConfig::getExtension)
@@ -45,58 +60,112 @@ public class RoomService {
 			// Extension removed.
 			room.getExtensionConfigs().removeIf(roomExtensionConfig -> roomExtensionConfig.getExtension().equals(previousExtension));
 		}
+
+		markChanged(room, List.of(new RoomChange.ExtensionsChanged(RoomJson.convertExtensionConfigs(room.getExtensionConfigs()))), flightEvent);
 	}
 
 	public void addMember(Room room, RoomMember roomMember) {
-		room.getMembers().add(roomMember);
+		final RoomMutationFlightEvent flightEvent = RoomMutationFlightEvent.start("add-member");
+		// Tally is built lazily, so it has to be retrieved before any change.
+		final VoteTally voteTally = room.getVoteTally();
+		room.addMember(roomMember);
+		voteTally.add(roomMember);
+
+		markChanged(room, List.of(new RoomChange.MemberJoined(RoomMemberJson.convertToDetailed(roomMember, true))), flightEvent);
 	}
 
 	/**
 	 * Contract: Room member must be part of the room.
 	 */
 	public void removeMember(Room room, RoomMember roomMember) {
-		room.getMembers().remove(roomMember);
-
-		closeVotingIfNeeded(room);
+		final RoomMutationFlightEvent flightEvent = RoomMutationFlightEvent.start("remove-member");
+		final VoteTally voteTally = room.getVoteTally();
+		room.removeMember(roomMember);
+		voteTally.remove(roomMember);
+
+		final List<RoomChange> changes = new ArrayList<>(2);
+		changes.add(new RoomChange.MemberLeft(roomMember.getUsername()));
+		closeVotingIfNeeded(room).ifPresent(changes::add);
+		markChanged(room, changes, flightEvent);
 	}
 
 	/**
 	 * Contract: Room member must be part of the room.
 	 */
 	public void setRole(Room room, RoomMember roomMember, RoomMember.Role role) {
+		final RoomMutationFlightEvent flightEvent = RoomMutationFlightEvent.start("set-role");
+		final VoteTally voteTally = room.getVoteTally();
+		voteTally.remove(roomMember);
 		roomMember.setRole(role);
 
-		if (role == RoomMember.Role.OBSERVER) {
+		final List<RoomChange> changes = new ArrayList<>(3);
+		changes.add(new RoomChange.RoleChanged(roomMember.getUsername(), role.name()));
+		if (role == RoomMember.Role.OBSERVER && roomMember.getVote() != null) {
 			roomMember.setVote(null);
+			changes.add(new RoomChange.MemberVoted(roomMember.getUsername(), null, false));
 		}
+		voteTally.add(roomMember);
 
-		closeVotingIfNeeded(room);
+		closeVotingIfNeeded(room).ifPresent(changes::add);
+		markChanged(room, changes, flightEvent);
 	}
 
 	/**
 	 * Contract: Room member must be part of the room. Card must be part of room card set.
 	 */
 	public void setVote(Room room, RoomMember roomMember, Card card) {
+		final RoomMutationFlightEvent flightEvent = RoomMutationFlightEvent.start("set-vote");
+		final VoteTally voteTally = room.getVoteTally();
+		voteTally.remove(roomMember);
 		roomMember.setVote(card);
+		voteTally.add(roomMember);
 
-		closeVotingIfNeeded(room);
+		final Optional<RoomChange> votingClosed = closeVotingIfNeeded(room);
+		// If voting was just closed, all votes are revealed by that change anyway.
+		final RoomChange memberVoted = new RoomChange.MemberVoted(roomMember.getUsername(), CardJson.convert(card),
+				votingClosed.isEmpty() && room.getVotingState() == Room.VotingState.CLOSED);
+		markChanged(room, votingClosed.map(change -> List.of(memberVoted, change)).orElseGet(() -> List.of(memberVoted)), flightEvent);
 	}
 
 	public void clearVotes(Room room) {
+		final RoomMutationFlightEvent flightEvent = RoomMutationFlightEvent.start("clear-votes");
+		resetVoting(room);
+
+		markChanged(room, List.of(new RoomChange.VotesCleared()), flightEvent);
+	}
+
+	private void resetVoting(Room room) {
+		final VoteTally voteTally = room.getVoteTally();
 		room.getMembers().forEach(rm -> rm.setVote(null));
+		voteTally.clearVotes();
 
 		room.setVotingState(Room.VotingState.OPEN);
 	}
 
-	private void closeVotingIfNeeded(Room room) {
-		final Set<RoomMember> voters = room.getMembers()
-				.stream()
-				.filter(rm -> rm.getRole() == RoomMember.Role.VOTER)
-				.collect(Collectors.toSet());
+	/**
+	 * @return the change revealing all votes, if voting was closed by this.
+	 */
+	private Optional<RoomChange> closeVotingIfNeeded(Room room) {
 		// No need to close the vote if no voters remain
-		if (!voters.isEmpty() && voters.stream().allMatch(roomMember -> roomMember.getVote() != null)) {
-			room.setVotingState(Room.VotingState.CLOSED);
+		if (!room.getVoteTally().isComplete()) {
+			return Optional.empty();
 		}
+		final boolean wasOpen = room.getVotingState() == Room.VotingState.OPEN;
+		room.setVotingState(Room.VotingState.CLOSED);
+		if (!wasOpen) {
+			return Optional.empty();
+		}
+		final Map<String, CardJson> votes = room.getMembers()
+				.stream()
+				.filter(roomMember -> roomMember.getVote() != null)
+				.collect(Collectors.toUnmodifiableMap(RoomMember::getUsername, roomMember -> CardJson.convert(roomMember.getVote())));
+		return Optional.of(new RoomChange.VotingClosed(votes));
+	}
+
+	private void markChanged(Room room, List<RoomChange> changes, RoomMutationFlightEvent flightEvent) {
+		room.setVersion(room.getVersion() + 1);
+		flightEvent.finish(room);
+		applicationEventPublisher.publishEvent(new RoomChangedEvent(room, room.getVersion(), changes));
 	}
 
 }
@@ -0,0 +1,96 @@
+package dev.rilling.planningpoker.api;
+
+import dev.rilling.planningpoker.data.Card;
+import dev.rilling.planningpoker.data.Room;
+import dev.rilling.planningpoker.data.RoomMember;
+import dev.rilling.planningpoker.data.RoomRepository;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+/**
+ * Writes votes using targeted statements instead of saving the whole room, so the cost of voting does not grow with the size of the room.
+ * <p>
+ * Changes only lock the room row, which serializes votes in the same room so closing voting is decided exactly once.
+ * The changed room is derived from the cached room if that is still current, so usually no room has to be loaded at all.
+ */
+@Service
+class RoomVoteService {
+
+	private final RoomRepository roomRepository;
+	private final RoomService roomService;
+
+	RoomVoteService(RoomRepository roomRepository, RoomService roomService) {
+		this.roomRepository = roomRepository;
+		this.roomService = roomService;
+	}
+
+	/**
+	 * Sets the vote of the member, closing voting if all voters voted.
+	 * <p>
+	 * Contract: Must be called within a transaction. Room member must be a voter of the room. Card must be part of room card set.
+	 *
+	 * @param room The room as read from the {@link RoomCache}, which is not mutated.
+	 * @return if the vote was set, or false if voting is closed.
+	 * @throws OptimisticLockingFailureException if the room was changed in a way that does not allow this vote anymore.
+	 */
+	public boolean setVote(Room room, RoomMember roomMember, Card card) {
+		final Optional<Long> currentVersion = roomRepository.lockRoomIfVotingOpen(room.getName());
+		if (currentVersion.isEmpty()) {
+			return false;
+		}
+		final Room currentRoom = getCurrentRoom(room, currentVersion.get());
+		final RoomMember currentMember = currentRoom.findMemberByUser(roomMember.getUsername())
+				.filter(member -> member.getRole() == RoomMember.Role.VOTER)
+				.orElseThrow(() -> conflict(room));
+		// Only the voting member is copied, and the vote tally is carried over instead of being rebuilt.
+		final Room changedRoom = currentRoom.copyChangingMember(currentMember);
+		final RoomMember changedMember = changedRoom.findMemberByUser(roomMember.getUsername()).orElseThrow();
+		final Card currentCard = changedRoom.getCardSet().getIndex().findCardByName(card.getName()).orElseThrow(() -> conflict(room));
+		roomService.setVote(changedRoom, changedMember, currentCard);
+
+		// Unlike the room copy, the database is not trusted to be unchanged, so the outcome is checked against it.
+		if (roomRepository.updateVote(room.getName(), roomMember.getUsername(), card.getName()) != 1) {
+			throw conflict(room);
+		}
+		final boolean votingClosed = roomRepository.closeVotingIfComplete(room.getName()) == 1;
+		if (votingClosed != (changedRoom.getVotingState() == Room.VotingState.CLOSED)) {
+			throw conflict(room);
+		}
+		roomRepository.updateVersion(room.getName(), changedRoom.getVersion());
+		return true;
+	}
+
+	/**
+	 * Clears the votes of all members and reopens voting, using one statement for all members.
+	 * <p>
+	 * Contract: Must be called within a transaction.
+	 *
+	 * @param room The room as read from the {@link RoomCache}, which is not mutated.
+	 * @throws OptimisticLockingFailureException if the room was deleted.
+	 */
+	public void clearVotes(Room room) {
+		final long currentVersion = roomRepository.lockRoom(room.getName()).orElseThrow(() -> conflict(room));
+		final Room changedRoom = getCurrentRoom(room, currentVersion).copy();
+		roomService.clearVotes(changedRoom);
+
+		roomRepository.clearVotes(room.getName());
+		roomRepository.openVoting(room.getName(), changedRoom.getVersion());
+	}
+
+	/**
+	 * Contract: The room must be locked.
+	 */
+	private Room getCurrentRoom(Room room, long currentVersion) {
+		// While the room is locked, a cached room with the current version is known to match the database.
+		if (currentVersion == room.getVersion()) {
+			return room;
+		}
+		return roomRepository.findByName(room.getName()).orElseThrow(() -> conflict(room));
+	}
+
+	private static OptimisticLockingFailureException conflict(Room room) {
+		return new OptimisticLockingFailureException("Room '%s' was changed concurrently.".formatted(room.getName()));
+	}
+}
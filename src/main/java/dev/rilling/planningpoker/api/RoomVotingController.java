@@ -10,68 +10,76 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.lang.Nullable;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.core.oidc.user.OidcUser;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 class RoomVotingController extends AbstractRoomAwareController {
 	private static final Logger logger = LoggerFactory.getLogger(RoomVotingController.class);
 
 	private final SummaryService summaryService;
-	private final RoomService roomService;
+	private final RoomVoteService roomVoteService;
 
-	RoomVotingController(RoomRepository roomRepository, SummaryService summaryService, RoomService roomService) {
-		super(roomRepository);
+	RoomVotingController(RoomRepository roomRepository, RoomCache roomCache, SummaryService summaryService, RoomVoteService roomVoteService) {
+		super(roomRepository, roomCache);
 		this.summaryService = summaryService;
-		this.roomService = roomService;
+		this.roomVoteService = roomVoteService;
 	}
 
 	@PostMapping(value = "/api/rooms/{room-name}/votes")
+	@Transactional
+	@RetryOnConflict
 	public void createVote(@PathVariable("room-name") String roomName, @RequestParam("card-name") String cardName,
 			@AuthenticationPrincipal OidcUser user) {
+		// Votes are frequent, so they are checked against the cached room and written without loading the room, see RoomVoteService.
 		final Room room = requireRoom(roomName);
 		final RoomMember roomMember = requireActingUserMember(room, user.getName());
 		if (roomMember.getRole() == RoomMember.Role.OBSERVER) {
 			throw new ObserverException();
 		}
 
-		if (room.getVotingState() == Room.VotingState.CLOSED) {
+		final Card card = room.getCardSet().getIndex().findCardByName(cardName).orElseThrow(CardNotFoundException::new);
+
+		// The cached voting state may be outdated, so the locked room decides if voting is still open.
+		if (!roomVoteService.setVote(room, roomMember, card)) {
 			// May happen when clicking fast, so don't throw an error.
 			logger.warn("Ignoring user '{}' voting in '{}' as voting is completed.", user.getName(), room);
 			return;
 		}
-
-		final Card card = room.getCardSet()
-				.getCards()
-				.stream()
-				.filter(c -> c.getName().equals(cardName))
-				.findFirst()
-				.orElseThrow(CardNotFoundException::new);
-
-		roomService.setVote(room, roomMember, card);
-		roomRepository.save(room);
 		logger.debug("User '{}' voted with '{}' in '{}'.", user.getName(), card, room);
 	}
 
 	@DeleteMapping(value = "/api/rooms/{room-name}/votes")
+	@Transactional
+	@RetryOnConflict
 	public void clearVotes(@PathVariable("room-name") String roomName, @AuthenticationPrincipal OidcUser user) {
 		final Room room = requireRoom(roomName);
 		requireActingUserMember(room, user.getName());
 
-		roomService.clearVotes(room);
-		roomRepository.save(room);
+		roomVoteService.clearVotes(room);
 		logger.debug("User '{}' cleared votes in '{}'.", user.getName(), room);
 	}
 
 	@GetMapping(value = "/api/rooms/{room-name}/votes/summary", produces = MediaType.APPLICATION_JSON_VALUE)
-	@ResponseBody
-	public SummaryResultJson getSummary(@PathVariable("room-name") String roomName, @AuthenticationPrincipal OidcUser user) {
+	public ResponseEntity<SummaryResultJson> getSummary(@PathVariable("room-name") String roomName, @AuthenticationPrincipal OidcUser user,
+			@RequestParam(value = "statistics", defaultValue = "false") boolean includeStatistics, WebRequest webRequest) {
 		final Room room = requireRoom(roomName);
 		requireActingUserMember(room, user.getName());
 
-		return new SummaryResultJson(summaryService.summarize(room).map(VoteSummaryJson::convert).orElse(null));
+		if (checkRoomNotModified(room, webRequest)) {
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(ROOM_CACHE_CONTROL).build();
+		}
+
+		final VoteSummaryJson voteSummaryJson = summaryService.summarize(room)
+				.map(voteSummary -> VoteSummaryJson.convert(voteSummary,
+						includeStatistics ? summaryService.calculateStatistics(room).orElse(null) : null))
+				.orElse(null);
+		return ResponseEntity.ok().cacheControl(ROOM_CACHE_CONTROL).body(new SummaryResultJson(voteSummaryJson));
 	}
 
 	private record SummaryResultJson(@JsonProperty("votes") @Nullable VoteSummaryJson voteSummaryJson) {
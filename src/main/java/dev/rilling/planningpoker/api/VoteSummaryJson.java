@@ -1,8 +1,8 @@
 package dev.rilling.planningpoker.api;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import dev.rilling.planningpoker.SummaryService;
-import dev.rilling.planningpoker.data.RoomMember;
 import org.springframework.lang.Nullable;
 
 import java.util.List;
@@ -10,15 +10,24 @@ import java.util.List;
 public record VoteSummaryJson(@JsonProperty("average") @Nullable Double average, @JsonProperty("offset") double offset,
 							  @JsonProperty("nearestCard") @Nullable CardJson nearestCard,
 							  @JsonProperty("highest") @Nullable VoteExtremeJson highest,
-							  @JsonProperty("lowest") @Nullable VoteExtremeJson lowest) {
+							  @JsonProperty("lowest") @Nullable VoteExtremeJson lowest,
+							  @JsonProperty("statistics") @JsonInclude(JsonInclude.Include.NON_NULL) @Nullable VoteStatisticsJson statistics) {
 
 	public static VoteSummaryJson convert(SummaryService.VoteSummary voteSummary) {
+		return convert(voteSummary, null);
+	}
+
+	/**
+	 * @param voteStatistics Extended statistics to include, if requested.
+	 */
+	public static VoteSummaryJson convert(SummaryService.VoteSummary voteSummary, @Nullable SummaryService.VoteStatistics voteStatistics) {
 		return new VoteSummaryJson(
 				voteSummary.average(),
 				voteSummary.offset(),
 				voteSummary.nearestCard() != null ? CardJson.convert(voteSummary.nearestCard()) : null,
 				voteSummary.highest() != null ? VoteExtremeJson.convert(voteSummary.highest()) : null,
-				voteSummary.lowest() != null ? VoteExtremeJson.convert(voteSummary.lowest()) : null);
+				voteSummary.lowest() != null ? VoteExtremeJson.convert(voteSummary.lowest()) : null,
+				voteStatistics != null ? VoteStatisticsJson.convert(voteStatistics) : null);
 	}
 
 	record VoteExtremeJson(@JsonProperty("card") CardJson card, @JsonProperty("members") List<RoomMemberJson> members) {
@@ -26,7 +35,26 @@ public record VoteSummaryJson(@JsonProperty("average") @Nullable Double average,
 		static VoteExtremeJson convert(SummaryService.VoteExtreme voteExtreme) {
 			return new VoteExtremeJson(
 					CardJson.convert(voteExtreme.card()),
-					voteExtreme.members().stream().sorted(RoomMember.ALPHABETIC_COMPARATOR).map(RoomMemberJson::convertToBasic).toList());
+					voteExtreme.members().stream().map(RoomMemberJson::convertToBasic).toList());
+		}
+	}
+
+	record VoteStatisticsJson(@JsonProperty("median") double median, @JsonProperty("standardDeviation") double standardDeviation,
+							  @JsonProperty("consensus") double consensus, @JsonProperty("histogram") List<VoteCountJson> histogram) {
+
+		static VoteStatisticsJson convert(SummaryService.VoteStatistics voteStatistics) {
+			return new VoteStatisticsJson(
+					voteStatistics.median(),
+					voteStatistics.standardDeviation(),
+					voteStatistics.consensus(),
+					voteStatistics.histogram().stream().map(VoteCountJson::convert).toList());
+		}
+	}
+
+	record VoteCountJson(@JsonProperty("card") CardJson card, @JsonProperty("count") int count) {
+
+		static VoteCountJson convert(SummaryService.VoteCount voteCount) {
+			return new VoteCountJson(CardJson.convert(voteCount.card()), voteCount.count());
 		}
 	}
 }
@@ -2,6 +2,8 @@ package dev.rilling.planningpoker.api.extension.aha;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import dev.rilling.planningpoker.api.AbstractRoomAwareController;
+import dev.rilling.planningpoker.api.RetryOnConflict;
+import dev.rilling.planningpoker.api.RoomCache;
 import dev.rilling.planningpoker.data.Room;
 import dev.rilling.planningpoker.data.RoomExtensionConfig;
 import dev.rilling.planningpoker.data.RoomRepository;
@@ -14,6 +16,7 @@ import org.springframework.http.MediaType;
 import org.springframework.lang.Nullable;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.core.oidc.user.OidcUser;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -25,8 +28,8 @@ class AhaController extends AbstractRoomAwareController {
 
 	private final AhaConfigJson ahaConfigJson;
 
-	AhaController(RoomRepository roomRepository, Environment environment) {
-		super(roomRepository);
+	AhaController(RoomRepository roomRepository, RoomCache roomCache, Environment environment) {
+		super(roomRepository, roomCache);
 		ahaConfigJson = new AhaConfigJson(
 				environment.getRequiredProperty("planning-poker.extension.aha.account-domain"),
 				environment.getRequiredProperty("planning-poker.extension.aha.client-id"),
@@ -54,9 +57,11 @@ class AhaController extends AbstractRoomAwareController {
 	}
 
 	@PatchMapping(value = "/api/rooms/{room-name}/extensions/aha", consumes = MediaType.APPLICATION_JSON_VALUE)
+	@Transactional
+	@RetryOnConflict
 	public void editRoomConfig(@PathVariable("room-name") String roomName, @AuthenticationPrincipal OidcUser user,
 			@RequestBody AhaRoomConfigJson changes) {
-		final Room room = requireRoom(roomName);
+		final Room room = requireRoomForUpdate(roomName);
 		requireActingUserMember(room, user.getName());
 
 		final RoomExtensionConfig extensionConfig = getAhaExtensionConfig(room);
@@ -64,6 +69,8 @@ class AhaController extends AbstractRoomAwareController {
 		if (changes.scoreFactName() != null) {
 			extensionConfig.getAttributes().put(ATTR_SCORE_FACT_NAME, changes.scoreFactName());
 			roomRepository.save(room);
+			// Not a change of the room state itself, so the room version is not affected.
+			roomCache.evict(roomName);
 			logger.info("Set scoreFactName to '{}' in '{}'.", changes.scoreFactName(), room);
 		}
 	}
@@ -1,8 +1,11 @@
 package dev.rilling.planningpoker.data;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Table;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.lang.Nullable;
 
 import java.util.Comparator;
@@ -13,6 +16,8 @@ import java.util.StringJoiner;
  */
 @Entity
 @Table(name = "card")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "cards")
 public class Card extends BaseEntity {
 	public static final Comparator<Card> NATURAL_COMPARATOR = Comparator.comparing(Card::isBasicNumeric)
 			.reversed()
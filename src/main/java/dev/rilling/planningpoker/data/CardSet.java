@@ -1,6 +1,8 @@
 package dev.rilling.planningpoker.data;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.Comparator;
 import java.util.HashSet;
@@ -9,9 +11,13 @@ import java.util.StringJoiner;
 
 /**
  * Collection of {@link Card}s.
+ * <p>
+ * Card sets and their cards are kept in the second-level cache, as they only change through migrations.
  */
 @Entity
 @Table(name = "card_set")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "card-sets")
 public class CardSet extends BaseEntity {
 	public static final Comparator<CardSet> ALPHABETIC_COMPARATOR = Comparator.comparing(CardSet::getName);
 
@@ -20,6 +26,7 @@ public class CardSet extends BaseEntity {
 
 	@OneToMany(fetch = FetchType.EAGER, cascade = CascadeType.ALL, orphanRemoval = true)
 	@JoinColumn(name = "card_set_id", nullable = false)
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "card-set-cards")
 	private Set<Card> cards = new HashSet<>(16);
 
 	@Column(name = "relevant_decimal_places", nullable = false)
@@ -31,6 +38,9 @@ public class CardSet extends BaseEntity {
 	@Column(name = "show_nearest_card", nullable = false)
 	private boolean showNearestCard;
 
+	@Transient
+	private volatile CardSetIndex index;
+
 	protected CardSet() {
 	}
 
@@ -67,6 +77,18 @@ public class CardSet extends BaseEntity {
 		this.cards = cards;
 	}
 
+	/**
+	 * Gets the index of the cards, which is only built again if the cards changed.
+	 */
+	public CardSetIndex getIndex() {
+		CardSetIndex currentIndex = index;
+		if (currentIndex == null || !currentIndex.isCurrent(cards)) {
+			currentIndex = new CardSetIndex(cards);
+			index = currentIndex;
+		}
+		return currentIndex;
+	}
+
 	public int getRelevantDecimalPlaces() {
 		return relevantDecimalPlaces;
 	}
@@ -0,0 +1,110 @@
+package dev.rilling.planningpoker.data;
+
+import org.springframework.lang.Nullable;
+
+import java.util.*;
+
+/**
+ * Immutable lookup structures for the cards of a {@link CardSet}, so they do not have to be searched or sorted on every use.
+ *
+ * @see CardSet#getIndex()
+ */
+public final class CardSetIndex {
+
+	/**
+	 * Order in which cards with the same value are preferred, e.g. when picking the nearest card.
+	 * Basic numeric cards are preferred over non-basic ones.
+	 */
+	private static final Comparator<Card> SAME_VALUE_PREFERENCE_COMPARATOR = Comparator.comparing(Card::isBasicNumeric)
+			.reversed()
+			.thenComparing(Card::getName);
+
+	private final Collection<Card> sourceCards;
+	private final int sourceSize;
+
+	private final Map<String, Card> cardsByName;
+	private final double[] ascendingDistinctValues;
+	private final Card[] preferredCardsByValue;
+
+	CardSetIndex(Collection<Card> cards) {
+		sourceCards = cards;
+		sourceSize = cards.size();
+
+		cardsByName = new HashMap<>(cards.size() * 2);
+		final SortedMap<Double, Card> preferredCardsByValueMap = new TreeMap<>();
+		for (Card card : cards) {
+			cardsByName.putIfAbsent(card.getName(), card);
+			if (card.getValue() != null) {
+				preferredCardsByValueMap.merge(card.getValue(),
+						card,
+						(existing, other) -> SAME_VALUE_PREFERENCE_COMPARATOR.compare(existing, other) <= 0 ? existing : other);
+			}
+		}
+
+		ascendingDistinctValues = new double[preferredCardsByValueMap.size()];
+		preferredCardsByValue = new Card[preferredCardsByValueMap.size()];
+		int i = 0;
+		for (Map.Entry<Double, Card> entry : preferredCardsByValueMap.entrySet()) {
+			ascendingDistinctValues[i] = entry.getKey();
+			preferredCardsByValue[i] = entry.getValue();
+			i++;
+		}
+	}
+
+	/**
+	 * @return if this index was built for the current cards and can still be used.
+	 */
+	boolean isCurrent(Collection<Card> cards) {
+		return sourceCards == cards && sourceSize == cards.size();
+	}
+
+	public Optional<Card> findCardByName(String name) {
+		return Optional.ofNullable(cardsByName.get(name));
+	}
+
+	/**
+	 * @return the position of this value in the ascending distinct values of the cards, or a negative value if no card has it.
+	 */
+	public int getValuePosition(double value) {
+		final int position = Arrays.binarySearch(ascendingDistinctValues, value);
+		return position >= 0 ? position : -1;
+	}
+
+	/**
+	 * @return the difference between the highest and the lowest card value, or zero if there are fewer than two values.
+	 */
+	public double getValueRange() {
+		if (ascendingDistinctValues.length < 2) {
+			return 0;
+		}
+		return ascendingDistinctValues[ascendingDistinctValues.length - 1] - ascendingDistinctValues[0];
+	}
+
+	/**
+	 * Finds the card with the value closest to the given one.
+	 * If two values are equally close, the higher one is picked. If several cards have that value, basic numeric cards are preferred.
+	 *
+	 * @return the nearest card, or null if no card has a value.
+	 */
+	public @Nullable Card findNearestCard(double value) {
+		if (ascendingDistinctValues.length == 0) {
+			return null;
+		}
+
+		final int position = Arrays.binarySearch(ascendingDistinctValues, value);
+		if (position >= 0) {
+			return preferredCardsByValue[position];
+		}
+		final int higherPosition = -position - 1;
+		if (higherPosition == 0) {
+			return preferredCardsByValue[0];
+		}
+		if (higherPosition == ascendingDistinctValues.length) {
+			return preferredCardsByValue[ascendingDistinctValues.length - 1];
+		}
+		final int lowerPosition = higherPosition - 1;
+		final double higherDiff = ascendingDistinctValues[higherPosition] - value;
+		final double lowerDiff = value - ascendingDistinctValues[lowerPosition];
+		return higherDiff <= lowerDiff ? preferredCardsByValue[higherPosition] : preferredCardsByValue[lowerPosition];
+	}
+}
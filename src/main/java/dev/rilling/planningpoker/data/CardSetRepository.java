@@ -1,6 +1,9 @@
 package dev.rilling.planningpoker.data;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -9,5 +12,9 @@ import java.util.UUID;
 @Repository
 public interface CardSetRepository extends JpaRepository<CardSet, UUID> {
 
+	/**
+	 * Results are kept in the query cache, so looking up a card set by name does not need any statement once it was cached.
+	 */
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
 	Optional<CardSet> findByName(String name);
 }
@@ -1,17 +1,24 @@
 package dev.rilling.planningpoker.data;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Table;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.Comparator;
 import java.util.StringJoiner;
 
 /**
  * Data of an extension.
+ * <p>
+ * Extensions are kept in the second-level cache, as they only change on startup.
  */
 @Entity
 @Table(name = "extension")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "extensions")
 public class Extension extends BaseEntity {
 	public static final Comparator<Extension> ALPHABETIC_COMPARATOR = Comparator.comparing(Extension::getKey);
 
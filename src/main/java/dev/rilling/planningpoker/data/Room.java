@@ -21,6 +21,20 @@ public class Room extends BaseEntity {
 	@Column(name = "topic")
 	private String topic;
 
+	/**
+	 * Incremented on every change of the room, see {@link RoomService}.
+	 */
+	@Column(name = "room_version", nullable = false)
+	private long version;
+
+	/**
+	 * Used to detect concurrent changes, managed by the persistence layer.
+	 * Unlike {@link #version}, this is not visible to clients.
+	 */
+	@Version
+	@Column(name = "lock_version", nullable = false)
+	private long lockVersion;
+
 	@ManyToOne(fetch = FetchType.EAGER, optional = false)
 	@JoinColumn(name = "card_set_id", nullable = false)
 	private CardSet cardSet;
@@ -37,6 +51,15 @@ public class Room extends BaseEntity {
 	@JoinColumn(name = "room_id", nullable = false)
 	private Set<RoomExtensionConfig> extensionConfigs = new HashSet<>(4);
 
+	@Transient
+	private volatile VoteTally voteTally;
+
+	@Transient
+	private volatile Map<String, RoomMember> membersByUsername;
+
+	@Transient
+	private volatile List<RoomMember> sortedMembers;
+
 	public enum VotingState {
 		OPEN, CLOSED
 	}
@@ -67,12 +90,61 @@ public class Room extends BaseEntity {
 		this.cardSet = cardSet;
 	}
 
+	/**
+	 * Gets an unmodifiable view of the members. Members have to be added using {@link #addMember(RoomMember)} and removed using
+	 * {@link #removeMember(RoomMember)}, which keep the derived member caches up to date.
+	 */
 	public Set<RoomMember> getMembers() {
-		return members;
+		return Collections.unmodifiableSet(members);
+	}
+
+	public void addMember(RoomMember member) {
+		// Index is built lazily, so it has to be retrieved before any change.
+		final Map<String, RoomMember> index = getMembersByUsername();
+		members.add(member);
+		index.put(member.getUsername(), member);
+		sortedMembers = null;
+	}
+
+	public void removeMember(RoomMember member) {
+		final Map<String, RoomMember> index = getMembersByUsername();
+		members.remove(member);
+		index.remove(member.getUsername());
+		sortedMembers = null;
 	}
 
 	protected void setMembers(Set<RoomMember> members) {
 		this.members = members;
+		voteTally = null;
+		membersByUsername = null;
+		sortedMembers = null;
+	}
+
+	/**
+	 * Gets the members ordered by {@link RoomMember#ALPHABETIC_COMPARATOR}, which is built on first use and then kept until
+	 * {@link #addMember(RoomMember)} or {@link #removeMember(RoomMember)} is called.
+	 */
+	public List<RoomMember> getSortedMembers() {
+		List<RoomMember> currentSortedMembers = sortedMembers;
+		if (currentSortedMembers == null) {
+			final RoomMember[] sorted = members.toArray(new RoomMember[0]);
+			Arrays.sort(sorted, RoomMember.ALPHABETIC_COMPARATOR);
+			currentSortedMembers = List.of(sorted);
+			sortedMembers = currentSortedMembers;
+		}
+		return currentSortedMembers;
+	}
+
+	/**
+	 * Gets the tally of the votes of the members, which is built on first use and then kept up to date by {@link RoomService}.
+	 */
+	public VoteTally getVoteTally() {
+		VoteTally currentVoteTally = voteTally;
+		if (currentVoteTally == null) {
+			currentVoteTally = new VoteTally(members);
+			voteTally = currentVoteTally;
+		}
+		return currentVoteTally;
 	}
 
 	public String getTopic() {
@@ -83,6 +155,14 @@ public class Room extends BaseEntity {
 		this.topic = topic;
 	}
 
+	public long getVersion() {
+		return version;
+	}
+
+	public void setVersion(long version) {
+		this.version = version;
+	}
+
 	public VotingState getVotingState() {
 		return votingState;
 	}
@@ -92,7 +172,23 @@ public class Room extends BaseEntity {
 	}
 
 	public Optional<RoomMember> findMemberByUser(String username) {
-		return members.stream().filter(roomMember -> roomMember.getUsername().equals(username)).findFirst();
+		return Optional.ofNullable(getMembersByUsername().get(username));
+	}
+
+	/**
+	 * Gets the members by username, which is built on first use, e.g. after loading, and then kept up to date by
+	 * {@link #addMember(RoomMember)} and {@link #removeMember(RoomMember)}.
+	 */
+	private Map<String, RoomMember> getMembersByUsername() {
+		Map<String, RoomMember> currentMembersByUsername = membersByUsername;
+		if (currentMembersByUsername == null) {
+			currentMembersByUsername = new HashMap<>(Math.max(16, members.size() * 2));
+			for (RoomMember member : members) {
+				currentMembersByUsername.put(member.getUsername(), member);
+			}
+			membersByUsername = currentMembersByUsername;
+		}
+		return currentMembersByUsername;
 	}
 
 	public Set<RoomExtensionConfig> getExtensionConfigs() {
@@ -103,6 +199,63 @@ public class Room extends BaseEntity {
 		this.extensionConfigs = extensions;
 	}
 
+	/**
+	 * Creates a detached copy of this room, whose members can be changed without affecting this room, e.g. to derive a changed room
+	 * from a cached one.
+	 * The card set and extension configs are shared, so they must not be changed through the copy.
+	 */
+	public Room copy() {
+		final Room copy = copyWithoutMembers();
+		copy.members = new HashSet<>(Math.max(16, members.size() * 2));
+		for (RoomMember member : members) {
+			copy.members.add(member.copy());
+		}
+		return copy;
+	}
+
+	/**
+	 * Creates a detached copy of this room in which only this member is copied, e.g. to derive a room with a changed vote from a
+	 * cached one. Unlike {@link #copy()}, other members are shared and the vote tally is carried over, so it does not have to be
+	 * rebuilt.
+	 * <p>
+	 * Contract: Member must be part of this room. Only the copied member may be changed through the copy, and this room must not be
+	 * changed anymore.
+	 *
+	 * @return the copy, in which the copied member can be found using {@link #findMemberByUser(String)}.
+	 */
+	public Room copyChangingMember(RoomMember member) {
+		// Derived data is built before copying, so it can be carried over.
+		final VoteTally currentVoteTally = getVoteTally();
+		final Map<String, RoomMember> currentMembersByUsername = getMembersByUsername();
+		final List<RoomMember> currentSortedMembers = sortedMembers;
+
+		final Room copy = copyWithoutMembers();
+		final RoomMember memberCopy = member.copy();
+		copy.members = new HashSet<>(members);
+		copy.members.remove(member);
+		copy.members.add(memberCopy);
+		copy.membersByUsername = new HashMap<>(currentMembersByUsername);
+		copy.membersByUsername.put(memberCopy.getUsername(), memberCopy);
+		if (currentSortedMembers != null) {
+			final RoomMember[] sorted = currentSortedMembers.toArray(new RoomMember[0]);
+			sorted[Collections.binarySearch(currentSortedMembers, member, RoomMember.ALPHABETIC_COMPARATOR)] = memberCopy;
+			copy.sortedMembers = List.of(sorted);
+		}
+		copy.voteTally = currentVoteTally.copy();
+		return copy;
+	}
+
+	private Room copyWithoutMembers() {
+		final Room copy = new Room(name, cardSet);
+		copy.setId(getId());
+		copy.topic = topic;
+		copy.version = version;
+		copy.lockVersion = lockVersion;
+		copy.votingState = votingState;
+		copy.extensionConfigs = extensionConfigs;
+		return copy;
+	}
+
 	@Override
 	public String toString() {
 		return new StringJoiner(", ", Room.class.getSimpleName() + "[", "]").add("name='" + name + "'")
@@ -110,6 +263,7 @@ public class Room extends BaseEntity {
 				.add("cardSet='" + cardSet.getName() + "'")
 				.add("members=" + members.size())
 				.add("votingState='" + votingState + "'")
+				.add("version=" + version)
 				.add("extensionConfigs=" + extensionConfigs.size())
 				.toString();
 	}
@@ -1,6 +1,8 @@
 package dev.rilling.planningpoker.data;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 
 import java.util.Comparator;
 import java.util.HashMap;
@@ -19,7 +21,9 @@ public class RoomExtensionConfig extends BaseEntity {
 	public static final Comparator<RoomExtensionConfig> ALPHABETIC_COMPARATOR = Comparator.comparing(RoomExtensionConfig::getExtension,
 			Extension.ALPHABETIC_COMPARATOR);
 
+	// Selected instead of joined, so it can be taken from the second-level cache.
 	@ManyToOne(fetch = FetchType.EAGER)
+	@Fetch(FetchMode.SELECT)
 	@JoinColumn(name = "extension_id", nullable = false)
 	private Extension extension;
 
@@ -0,0 +1,12 @@
+package dev.rilling.planningpoker.data;
+
+import java.util.UUID;
+
+/**
+ * Projection of an extension active in a room.
+ *
+ * @see RoomRepository#findEnabledExtensionKeys(java.util.Collection)
+ * @see RoomRepository#findAllEnabledExtensionKeys()
+ */
+public record RoomExtensionKey(UUID roomId, String extensionKey) {
+}
@@ -0,0 +1,12 @@
+package dev.rilling.planningpoker.data;
+
+import java.util.UUID;
+
+/**
+ * Projection of a {@link Room} for the room list, which does not need members or card details.
+ *
+ * @see RoomRepository#findListItems(String, String, int)
+ * @see RoomRepository#findAllListItems()
+ */
+public record RoomListItem(UUID id, String name, String topic, String cardSetName, Room.VotingState votingState) {
+}
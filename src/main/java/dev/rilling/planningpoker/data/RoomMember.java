@@ -2,6 +2,8 @@ package dev.rilling.planningpoker.data;
 
 import dev.rilling.planningpoker.api.RoomService;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 import org.springframework.lang.Nullable;
 
 import java.util.Comparator;
@@ -30,7 +32,9 @@ public class RoomMember extends BaseEntity {
 	@Column(name = "user_role", nullable = false)
 	private Role role;
 
+	// Selected instead of joined, so it can be taken from the second-level cache.
 	@ManyToOne(fetch = FetchType.EAGER)
+	@Fetch(FetchMode.SELECT)
 	@JoinColumn(name = "vote_id")
 	@Nullable
 	private Card vote;
@@ -71,6 +75,14 @@ public class RoomMember extends BaseEntity {
 		this.vote = vote;
 	}
 
+	RoomMember copy() {
+		final RoomMember copy = new RoomMember(username);
+		copy.setId(getId());
+		copy.role = role;
+		copy.vote = vote;
+		return copy;
+	}
+
 	@Override
 	public String toString() {
 		return new StringJoiner(", ", RoomMember.class.getSimpleName() + "[", "]").add("username='" + username + "'")
@@ -1,13 +1,181 @@
 package dev.rilling.planningpoker.data;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface RoomRepository extends JpaRepository<Room, UUID> {
 
+	// Native changes would otherwise be treated as changing every table, evicting all second-level cache regions.
+	String ROOM_TABLE = "room";
+	String ROOM_MEMBER_TABLE = "room_member";
+
+	/**
+	 * Loads the room with its members in one statement, and its extension configs with their attributes in another one.
+	 * Card sets, votes and extensions are taken from the second-level cache, so the number of statements does not depend on the number
+	 * of members.
+	 */
+	// Loaded as graph, so attributes not part of it are still fetched eagerly.
+	@EntityGraph(attributePaths = "members", type = EntityGraph.EntityGraphType.LOAD)
 	Optional<Room> findByName(String name);
+
+	/**
+	 * Loads only the version of the room, see {@link Room#getVersion()}.
+	 */
+	@Query("SELECT r.version FROM Room r WHERE r.name = :name")
+	Optional<Long> findVersionByName(@Param("name") String name);
+
+	/**
+	 * Locks the room until the end of the transaction, see {@link #clearVotes(String)}.
+	 * Only the room row is locked, members and cards stay available to others.
+	 *
+	 * @return the current version of the room, or empty if there is no such room.
+	 */
+	@Query(value = "SELECT room_version FROM room WHERE room_name = :roomName FOR UPDATE", nativeQuery = true)
+	Optional<Long> lockRoom(@Param("roomName") String roomName);
+
+	/**
+	 * Locks the room until the end of the transaction if voting is open, see {@link #updateVote(String, String, String)}.
+	 * Only the room row is locked, members and cards stay available to others.
+	 *
+	 * @return the current version of the room, or empty if voting is not open.
+	 */
+	@Query(value = "SELECT room_version FROM room WHERE room_name = :roomName AND voting_state = 'OPEN' FOR UPDATE", nativeQuery = true)
+	Optional<Long> lockRoomIfVotingOpen(@Param("roomName") String roomName);
+
+	/**
+	 * Sets the vote of a voter without loading or saving the room.
+	 * The room version has to be changed separately using {@link #updateVersion(String, long)}.
+	 *
+	 * @return the number of members whose vote was set.
+	 */
+	@Modifying
+	@Query(value = """
+			UPDATE room_member m
+			SET m.vote_id = (SELECT c.id FROM card c JOIN room r ON r.card_set_id = c.card_set_id WHERE r.room_name = :roomName AND c.card_name = :cardName)
+			WHERE m.room_id = (SELECT r.id FROM room r WHERE r.room_name = :roomName) AND m.username = :username AND m.user_role = 'VOTER'""",
+			nativeQuery = true)
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = ROOM_MEMBER_TABLE))
+	int updateVote(@Param("roomName") String roomName, @Param("username") String username, @Param("cardName") String cardName);
+
+	/**
+	 * Closes voting if there are voters and all of them voted, checking both in the same statement.
+	 *
+	 * @return the number of rooms where voting was closed by this.
+	 */
+	@Modifying
+	@Query(value = """
+			UPDATE room r
+			SET r.voting_state = 'CLOSED'
+			WHERE r.room_name = :roomName AND r.voting_state = 'OPEN'
+				AND EXISTS (SELECT 1 FROM room_member m WHERE m.room_id = r.id AND m.user_role = 'VOTER')
+				AND NOT EXISTS (SELECT 1 FROM room_member m WHERE m.room_id = r.id AND m.user_role = 'VOTER' AND m.vote_id IS NULL)""",
+			nativeQuery = true)
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = ROOM_TABLE))
+	int closeVotingIfComplete(@Param("roomName") String roomName);
+
+	/**
+	 * Clears the votes of all members of the room in one statement, without loading or saving the room.
+	 * Voting has to be reopened separately using {@link #openVoting(String, long)}.
+	 *
+	 * @return the number of members whose vote was cleared.
+	 */
+	@Modifying
+	@Query(value = """
+			UPDATE room_member m
+			SET m.vote_id = NULL
+			WHERE m.room_id = (SELECT r.id FROM room r WHERE r.room_name = :roomName) AND m.vote_id IS NOT NULL""", nativeQuery = true)
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = ROOM_MEMBER_TABLE))
+	int clearVotes(@Param("roomName") String roomName);
+
+	/**
+	 * Opens voting and sets the version of the room like {@link #updateVersion(String, long)}.
+	 *
+	 * @return the number of rooms updated.
+	 */
+	@Modifying
+	@Query(value = "UPDATE room SET voting_state = 'OPEN', room_version = :version, lock_version = lock_version + 1 WHERE room_name = :roomName",
+			nativeQuery = true)
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = ROOM_TABLE))
+	int openVoting(@Param("roomName") String roomName, @Param("version") long version);
+
+	/**
+	 * Sets the version of the room, see {@link Room#getVersion()}, and increments its lock version so concurrent changes of the loaded room
+	 * fail as if the room was saved.
+	 *
+	 * @return the number of rooms updated.
+	 */
+	@Modifying
+	@Query(value = "UPDATE room SET room_version = :version, lock_version = lock_version + 1 WHERE room_name = :roomName", nativeQuery = true)
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = ROOM_TABLE))
+	int updateVersion(@Param("roomName") String roomName, @Param("version") long version);
+
+	/**
+	 * Counts the members of all rooms.
+	 */
+	@Query("SELECT COUNT(m) FROM RoomMember m")
+	long countMembers();
+
+	/**
+	 * Lists rooms ordered by name, reading only the columns needed for the room list.
+	 * The name is used as keyset, so only the rooms of the requested page are read regardless of the number of rooms.
+	 *
+	 * @param prefix Prefix the room names must start with, may be empty.
+	 * @param after  Name of the last room of the previous page, or null for the first page.
+	 * @param limit  Maximum number of rooms to return.
+	 */
+	default List<RoomListItem> findListItems(String prefix, @Nullable String after, int limit) {
+		final String namePattern = prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+		return findListItemsByNamePattern(namePattern, after, Limit.of(limit));
+	}
+
+	@Query("""
+			SELECT new dev.rilling.planningpoker.data.RoomListItem(r.id, r.name, r.topic, c.name, r.votingState)
+			FROM Room r JOIN r.cardSet c
+			WHERE r.name LIKE :namePattern ESCAPE '\\' AND (:after IS NULL OR r.name > :after)
+			ORDER BY r.name""")
+	List<RoomListItem> findListItemsByNamePattern(@Param("namePattern") String namePattern, @Param("after") @Nullable String after, Limit limit);
+
+	/**
+	 * Lists all rooms ordered by name, like {@link #findListItems(String, String, int)} without paging.
+	 */
+	@Query("""
+			SELECT new dev.rilling.planningpoker.data.RoomListItem(r.id, r.name, r.topic, c.name, r.votingState)
+			FROM Room r JOIN r.cardSet c
+			ORDER BY r.name""")
+	List<RoomListItem> findAllListItems();
+
+	/**
+	 * Loads the keys of the globally enabled extensions active in any room, in alphabetic order.
+	 */
+	@Query("""
+			SELECT new dev.rilling.planningpoker.data.RoomExtensionKey(r.id, e.key)
+			FROM Room r JOIN r.extensionConfigs rec JOIN rec.extension e
+			WHERE e.enabled = TRUE
+			ORDER BY e.key""")
+	List<RoomExtensionKey> findAllEnabledExtensionKeys();
+
+	/**
+	 * Loads the keys of the globally enabled extensions active in these rooms, in alphabetic order.
+	 */
+	@Query("""
+			SELECT new dev.rilling.planningpoker.data.RoomExtensionKey(r.id, e.key)
+			FROM Room r JOIN r.extensionConfigs rec JOIN rec.extension e
+			WHERE r.id IN :roomIds AND e.enabled = TRUE
+			ORDER BY e.key""")
+	List<RoomExtensionKey> findEnabledExtensionKeys(@Param("roomIds") Collection<UUID> roomIds);
 }
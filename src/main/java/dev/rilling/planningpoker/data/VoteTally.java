@@ -0,0 +1,210 @@
+package dev.rilling.planningpoker.data;
+
+import dev.rilling.planningpoker.api.RoomService;
+import org.springframework.lang.Nullable;
+
+import java.util.*;
+
+/**
+ * Running tally of the votes in a {@link Room}, so votes do not have to be collected from all members on every change or summary.
+ * Lookups only depend on the number of distinct cards voted, not on the number of members.
+ * <p>
+ * Kept up to date by {@link RoomService}, which removes the contribution of a member before changing it and adds it again afterward.
+ * Copies share the members per vote with the tally they were copied from, until they change them.
+ *
+ * @see Room#getVoteTally()
+ */
+public final class VoteTally {
+
+	/**
+	 * Order in which cards with the same value are preferred as highest or lowest vote.
+	 */
+	private static final Comparator<Card> SAME_VALUE_PREFERENCE_COMPARATOR = Comparator.comparing(Card::isBasicNumeric)
+			.reversed()
+			.thenComparing(Card::getName);
+
+	private int voterCount;
+	private int votedCount;
+	private final Map<Card, SortedSet<RoomMember>> membersByVote;
+	// Votes whose members are shared with the tally this was copied from, which are copied before being changed.
+	private final Set<Card> sharedVotes;
+
+	VoteTally(Collection<RoomMember> members) {
+		membersByVote = new HashMap<>(16);
+		sharedVotes = new HashSet<>(0);
+		members.forEach(this::add);
+	}
+
+	private VoteTally(VoteTally original) {
+		voterCount = original.voterCount;
+		votedCount = original.votedCount;
+		membersByVote = new HashMap<>(original.membersByVote);
+		sharedVotes = new HashSet<>(original.membersByVote.keySet());
+	}
+
+	/**
+	 * Creates a copy that can be changed without affecting this tally, whose cost does not depend on the number of members.
+	 * <p>
+	 * Contract: This tally must not be changed anymore, as the copy shares its members per vote.
+	 */
+	VoteTally copy() {
+		return new VoteTally(this);
+	}
+
+	/**
+	 * Adds the current role and vote of the member.
+	 */
+	public void add(RoomMember roomMember) {
+		if (roomMember.getRole() == RoomMember.Role.VOTER) {
+			voterCount++;
+		}
+		if (roomMember.getVote() != null) {
+			votedCount++;
+			getChangeableMembersByVote(roomMember.getVote()).add(roomMember);
+		}
+	}
+
+	/**
+	 * Removes the current role and vote of the member.
+	 * <p>
+	 * Contract: Member must have been added with their current role and vote.
+	 */
+	public void remove(RoomMember roomMember) {
+		if (roomMember.getRole() == RoomMember.Role.VOTER) {
+			voterCount--;
+		}
+		if (roomMember.getVote() != null) {
+			votedCount--;
+			final SortedSet<RoomMember> members = getChangeableMembersByVote(roomMember.getVote());
+			members.remove(roomMember);
+			if (members.isEmpty()) {
+				membersByVote.remove(roomMember.getVote());
+			}
+		}
+	}
+
+	/**
+	 * Removes all votes, keeping the roles.
+	 */
+	public void clearVotes() {
+		votedCount = 0;
+		membersByVote.clear();
+		sharedVotes.clear();
+	}
+
+	private SortedSet<RoomMember> getChangeableMembersByVote(Card card) {
+		final SortedSet<RoomMember> members = membersByVote.get(card);
+		if (members == null) {
+			final SortedSet<RoomMember> newMembers = new TreeSet<>(RoomMember.ALPHABETIC_COMPARATOR);
+			membersByVote.put(card, newMembers);
+			return newMembers;
+		}
+		if (sharedVotes.remove(card)) {
+			final SortedSet<RoomMember> copiedMembers = new TreeSet<>(members);
+			membersByVote.put(card, copiedMembers);
+			return copiedMembers;
+		}
+		return members;
+	}
+
+	/**
+	 * @return if there are voters and all of them voted.
+	 */
+	public boolean isComplete() {
+		return voterCount > 0 && votedCount >= voterCount;
+	}
+
+	/**
+	 * @return the number of votes for cards with a value.
+	 */
+	public int getValueCount() {
+		int count = 0;
+		for (Map.Entry<Card, SortedSet<RoomMember>> entry : membersByVote.entrySet()) {
+			if (entry.getKey().getValue() != null) {
+				count += entry.getValue().size();
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * @return the sum of the values of all votes for cards with a value.
+	 */
+	public double getValueSum() {
+		// Summed up per card instead of keeping a running total, which would accumulate rounding errors as votes change.
+		double sum = 0;
+		for (Map.Entry<Card, SortedSet<RoomMember>> entry : membersByVote.entrySet()) {
+			if (entry.getKey().getValue() != null) {
+				sum += entry.getKey().getValue() * entry.getValue().size();
+			}
+		}
+		return sum;
+	}
+
+	/**
+	 * @return the values of all votes for cards with a value, in ascending order.
+	 */
+	public double[] getAscendingValues() {
+		final Card[] cardsWithValue = membersByVote.keySet().stream().filter(card -> card.getValue() != null).toArray(Card[]::new);
+		// Sorting the distinct cards is enough, as all votes for one card have the same value.
+		Arrays.sort(cardsWithValue, Comparator.comparingDouble(Card::getValue));
+
+		final double[] values = new double[getValueCount()];
+		int i = 0;
+		for (Card card : cardsWithValue) {
+			final double value = card.getValue();
+			final int count = membersByVote.get(card).size();
+			Arrays.fill(values, i, i + count, value);
+			i += count;
+		}
+		return values;
+	}
+
+	/**
+	 * @return the number of votes per voted card, including cards without a value.
+	 */
+	public Map<Card, Integer> getVoteCounts() {
+		final Map<Card, Integer> voteCounts = new HashMap<>(membersByVote.size() * 2);
+		membersByVote.forEach((card, members) -> voteCounts.put(card, members.size()));
+		return voteCounts;
+	}
+
+	/**
+	 * @return the voted card with the highest value, or null if no card with a value was voted.
+	 */
+	public @Nullable Card findHighestVote() {
+		return findExtremeVote(1);
+	}
+
+	/**
+	 * @return the voted card with the lowest value, or null if no card with a value was voted.
+	 */
+	public @Nullable Card findLowestVote() {
+		return findExtremeVote(-1);
+	}
+
+	private @Nullable Card findExtremeVote(int direction) {
+		Card extreme = null;
+		for (Card card : membersByVote.keySet()) {
+			if (card.getValue() == null) {
+				continue;
+			}
+			if (extreme == null) {
+				extreme = card;
+				continue;
+			}
+			final int valueComparison = Double.compare(card.getValue(), extreme.getValue()) * direction;
+			if (valueComparison > 0 || (valueComparison == 0 && SAME_VALUE_PREFERENCE_COMPARATOR.compare(card, extreme) < 0)) {
+				extreme = card;
+			}
+		}
+		return extreme;
+	}
+
+	/**
+	 * @return the members that voted for this card, ordered by {@link RoomMember#ALPHABETIC_COMPARATOR}.
+	 */
+	public SortedSet<RoomMember> getMembersByVote(Card card) {
+		return Collections.unmodifiableSortedSet(membersByVote.getOrDefault(card, Collections.emptySortedSet()));
+	}
+}
@@ -0,0 +1,32 @@
+/*
+ * Revision of the room state, incremented on every change.
+ * Allows clients to check if they are up-to-date without loading the full room.
+ *
+ * The lock version is used for optimistic locking of rooms, so concurrent changes to the same room are detected instead of overwriting each
+ * other. Unlike room_version, this is managed by the persistence layer.
+ */
+
+-- H2 rebuilds the table when adding a column, which is blocked by the check referencing it.
+-- Both columns are added while the check is dropped, so it has to be recreated only once.
+ALTER TABLE room_member
+	DROP CONSTRAINT ck_room_member_vote_card_set;
+
+ALTER TABLE room
+	ADD COLUMN room_version BIGINT DEFAULT 0 NOT NULL;
+
+ALTER TABLE room
+	ADD COLUMN lock_version BIGINT DEFAULT 0 NOT NULL;
+
+ALTER TABLE room_member
+	ADD CONSTRAINT ck_room_member_vote_card_set
+		CHECK (
+			vote_id IS NULL OR (
+								   SELECT r.card_set_id
+								   FROM room r
+								   WHERE r.id = room_id
+								   ) = (
+								   SELECT c.card_set_id
+								   FROM card c
+								   WHERE c.id = vote_id
+								   )
+			);
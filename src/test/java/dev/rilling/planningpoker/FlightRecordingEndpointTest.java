@@ -0,0 +1,99 @@
+package dev.rilling.planningpoker;
+
+import dev.rilling.planningpoker.data.Card;
+import dev.rilling.planningpoker.data.CardSet;
+import dev.rilling.planningpoker.data.Room;
+import dev.rilling.planningpoker.data.RoomMember;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.Resource;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FlightRecordingEndpointTest {
+
+	final FlightRecordingEndpoint flightRecordingEndpoint = new FlightRecordingEndpoint();
+
+	@TempDir
+	Path tempDir;
+
+	@AfterEach
+	void tearDown() {
+		flightRecordingEndpoint.stop();
+	}
+
+	@Test
+	@DisplayName("starts and stops recording")
+	void startsAndStops() {
+		final WebEndpointResponse<FlightRecordingEndpoint.RecordingDescriptor> started = flightRecordingEndpoint.start(null,
+				Duration.ofMinutes(5));
+		assertThat(started.getStatus()).isEqualTo(200);
+		assertThat(started.getBody().name()).isEqualTo(FlightRecordingEndpoint.RECORDING_NAME);
+		assertThat(started.getBody().state()).isEqualTo("RUNNING");
+		assertThat(started.getBody().maxAge()).isEqualTo(Duration.ofMinutes(5));
+
+		assertThat(flightRecordingEndpoint.start(null, null).getStatus()).isEqualTo(409);
+
+		final WebEndpointResponse<FlightRecordingEndpoint.RecordingDescriptor> stopped = flightRecordingEndpoint.stop();
+		assertThat(stopped.getStatus()).isEqualTo(200);
+		assertThat(stopped.getBody().state()).isEqualTo("STOPPED");
+
+		assertThat(flightRecordingEndpoint.stop().getStatus()).isEqualTo(404);
+	}
+
+	@Test
+	@DisplayName("rejects unknown configuration")
+	void rejectsUnknownConfiguration() {
+		assertThat(flightRecordingEndpoint.start("unknown", null).getStatus()).isEqualTo(400);
+	}
+
+	@Test
+	@DisplayName("dumps room events")
+	void dumpsRoomEvents() throws Exception {
+		flightRecordingEndpoint.start(null, null);
+
+		final CardSet cardSet = new CardSet("My Set");
+		final Card card1 = new Card("1", 1.0);
+		final Card card5 = new Card("5", 5.0);
+		cardSet.getCards().add(card1);
+		cardSet.getCards().add(card5);
+		final Room room = new Room("My Room", cardSet);
+		final RoomMember alice = new RoomMember("Alice");
+		alice.setVote(card1);
+		room.addMember(alice);
+		final RoomMember bob = new RoomMember("Bob");
+		bob.setVote(card5);
+		room.addMember(bob);
+		room.setVotingState(Room.VotingState.CLOSED);
+		new SummaryService().summarize(room);
+
+		final WebEndpointResponse<Resource> dump = flightRecordingEndpoint.dump();
+		assertThat(dump.getStatus()).isEqualTo(200);
+		final Path file = tempDir.resolve("dump.jfr");
+		try (InputStream inputStream = dump.getBody().getInputStream()) {
+			Files.copy(inputStream, file);
+		}
+
+		final List<RecordedEvent> summaryEvents = RecordingFile.readAllEvents(file)
+				.stream()
+				.filter(event -> event.getEventType().getName().equals("dev.rilling.planningpoker.Summary"))
+				.toList();
+		assertThat(summaryEvents).isNotEmpty().allSatisfy(event -> {
+			assertThat(event.getString("roomName")).isEqualTo("My Room");
+			assertThat(event.getInt("memberCount")).isEqualTo(2);
+			assertThat(event.getDuration("databaseTime")).isZero();
+			assertThat(event.getEventType().getCategoryNames()).containsExactly("Planning Poker");
+		});
+	}
+}
@@ -0,0 +1,16 @@
+package dev.rilling.planningpoker;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Maximum number of statements each request performed by the annotated test may prepare, see {@link RequestStatisticsExtension}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface MaxStatementsPerRequest {
+
+	int value();
+}
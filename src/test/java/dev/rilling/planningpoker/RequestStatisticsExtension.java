@@ -0,0 +1,69 @@
+package dev.rilling.planningpoker;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcBuilderCustomizer;
+import org.springframework.boot.test.context.TestComponent;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.setup.ConfigurableMockMvcBuilder;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Fails tests annotated with {@link MaxStatementsPerRequest} if any request they performed using the auto-configured {@code MockMvc}
+ * prepared more statements, so data access regressions fail the build.
+ * <p>
+ * Requires {@link Recorder} to be imported, and the application to collect {@link RequestStatistics}.
+ */
+public class RequestStatisticsExtension implements BeforeEachCallback, AfterEachCallback {
+
+	@Override
+	public void beforeEach(ExtensionContext context) {
+		getRecorder(context).recordedRequests.clear();
+	}
+
+	@Override
+	public void afterEach(ExtensionContext context) {
+		final MaxStatementsPerRequest maxStatementsPerRequest = context.getRequiredTestMethod().getAnnotation(MaxStatementsPerRequest.class);
+		if (maxStatementsPerRequest == null) {
+			return;
+		}
+		final List<RecordedRequest> recordedRequests = getRecorder(context).recordedRequests;
+		assertThat(recordedRequests).as("recorded requests").isNotEmpty();
+		for (RecordedRequest recordedRequest : recordedRequests) {
+			assertThat(recordedRequest.requestStatistics().getStatementCount()).as("statements prepared by '%s', %s",
+					recordedRequest.request(),
+					recordedRequest.requestStatistics()).isLessThanOrEqualTo(maxStatementsPerRequest.value());
+		}
+	}
+
+	private static Recorder getRecorder(ExtensionContext context) {
+		return SpringExtension.getApplicationContext(context).getBean(Recorder.class);
+	}
+
+	/**
+	 * Records the {@link RequestStatistics} of all requests performed using the auto-configured {@code MockMvc}.
+	 */
+	@TestComponent
+	public static class Recorder implements MockMvcBuilderCustomizer {
+		private final List<RecordedRequest> recordedRequests = new CopyOnWriteArrayList<>();
+
+		@Override
+		public void customize(ConfigurableMockMvcBuilder<?> builder) {
+			builder.alwaysDo(result -> {
+				final RequestStatistics requestStatistics = (RequestStatistics) result.getRequest().getAttribute(RequestStatistics.ATTRIBUTE_NAME);
+				if (requestStatistics != null) {
+					recordedRequests.add(new RecordedRequest(result.getRequest().getMethod() + " " + result.getRequest().getRequestURI(),
+							requestStatistics));
+				}
+			});
+		}
+	}
+
+	private record RecordedRequest(String request, RequestStatistics requestStatistics) {
+	}
+}
@@ -11,6 +11,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.List;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -37,7 +38,7 @@ class SummaryServiceTest {
 		final RoomMember carol = new RoomMember("Carol");
 		final RoomMember eve = new RoomMember("Eve");
 		eve.setRole(RoomMember.Role.OBSERVER);
-		myRoom.getMembers().addAll(Set.of(bob, alice, carol, eve));
+		List.of(bob, alice, carol, eve).forEach(myRoom::addMember);
 
 		bob.setVote(card1);
 		alice.setVote(card3);
@@ -65,7 +66,7 @@ class SummaryServiceTest {
 		final RoomMember carol = new RoomMember("Carol");
 		final RoomMember eve = new RoomMember("Eve");
 		eve.setRole(RoomMember.Role.OBSERVER);
-		myRoom.getMembers().addAll(Set.of(bob, alice, carol, eve));
+		List.of(bob, alice, carol, eve).forEach(myRoom::addMember);
 
 		bob.setVote(card1);
 		alice.setVote(card3);
@@ -93,7 +94,7 @@ class SummaryServiceTest {
 		final RoomMember carol = new RoomMember("Carol");
 		final RoomMember eve = new RoomMember("Eve");
 		eve.setRole(RoomMember.Role.OBSERVER);
-		myRoom.getMembers().addAll(Set.of(bob, alice, carol, eve));
+		List.of(bob, alice, carol, eve).forEach(myRoom::addMember);
 
 		bob.setVote(card1);
 		alice.setVote(card3);
@@ -118,7 +119,7 @@ class SummaryServiceTest {
 		final RoomMember bob = new RoomMember("Bob");
 		final RoomMember alice = new RoomMember("Alice");
 		final RoomMember carol = new RoomMember("Carol");
-		myRoom.getMembers().addAll(Set.of(bob, alice, carol));
+		List.of(bob, alice, carol).forEach(myRoom::addMember);
 
 		bob.setVote(card1);
 		alice.setVote(card3);
@@ -144,7 +145,7 @@ class SummaryServiceTest {
 		final RoomMember bob = new RoomMember("Bob");
 		final RoomMember alice = new RoomMember("Alice");
 		final RoomMember carol = new RoomMember("Carol");
-		myRoom.getMembers().addAll(Set.of(bob, alice, carol));
+		List.of(bob, alice, carol).forEach(myRoom::addMember);
 
 		bob.setVote(card1);
 		alice.setVote(card3);
@@ -168,7 +169,7 @@ class SummaryServiceTest {
 		final Room myRoom = new Room("My Room", cardSet);
 		final RoomMember bob = new RoomMember("Bob");
 		final RoomMember alice = new RoomMember("Alice");
-		myRoom.getMembers().addAll(Set.of(bob, alice));
+		List.of(bob, alice).forEach(myRoom::addMember);
 
 		bob.setVote(card1);
 		alice.setVote(card2);
@@ -192,7 +193,7 @@ class SummaryServiceTest {
 		final Room myRoom = new Room("My Room", cardSet);
 		final RoomMember bob = new RoomMember("Bob");
 		final RoomMember alice = new RoomMember("Alice");
-		myRoom.getMembers().addAll(Set.of(bob, alice));
+		List.of(bob, alice).forEach(myRoom::addMember);
 
 		bob.setVote(card1Text);
 		alice.setVote(card1);
@@ -216,7 +217,7 @@ class SummaryServiceTest {
 		final Room myRoom = new Room("My Room", cardSet);
 		final RoomMember bob = new RoomMember("Bob");
 		final RoomMember alice = new RoomMember("Alice");
-		myRoom.getMembers().addAll(Set.of(bob, alice));
+		List.of(bob, alice).forEach(myRoom::addMember);
 
 		bob.setVote(card1Text1);
 		alice.setVote(card1Text2);
@@ -243,7 +244,7 @@ class SummaryServiceTest {
 		final RoomMember alice = new RoomMember("Alice");
 		final RoomMember carol = new RoomMember("Carol");
 		final RoomMember eve = new RoomMember("Eve");
-		myRoom.getMembers().addAll(Set.of(bob, alice, carol, eve));
+		List.of(bob, alice, carol, eve).forEach(myRoom::addMember);
 
 		bob.setVote(card1);
 		alice.setVote(card2);
@@ -254,7 +255,7 @@ class SummaryServiceTest {
 		final SummaryService.VoteSummary voteSummary = summaryService.summarize(myRoom).orElseThrow();
 
 		assertThat(voteSummary.highest().card()).isEqualTo(card3);
-		assertThat(voteSummary.highest().members()).containsExactlyInAnyOrder(carol, eve);
+		assertThat(voteSummary.highest().members()).containsExactly(carol, eve);
 		assertThat(voteSummary.lowest().card()).isEqualTo(card1);
 		assertThat(voteSummary.lowest().members()).containsExactly(bob);
 	}
@@ -274,7 +275,7 @@ class SummaryServiceTest {
 		final RoomMember alice = new RoomMember("Alice");
 		final RoomMember carol = new RoomMember("Carol");
 		final RoomMember eve = new RoomMember("Eve");
-		myRoom.getMembers().addAll(Set.of(bob, alice, carol, eve));
+		List.of(bob, alice, carol, eve).forEach(myRoom::addMember);
 
 		bob.setVote(card1);
 		alice.setVote(card1);
@@ -304,7 +305,7 @@ class SummaryServiceTest {
 		final RoomMember alice = new RoomMember("Alice");
 		final RoomMember carol = new RoomMember("Carol");
 		final RoomMember eve = new RoomMember("Eve");
-		myRoom.getMembers().addAll(Set.of(bob, alice, carol, eve));
+		List.of(bob, alice, carol, eve).forEach(myRoom::addMember);
 
 		bob.setVote(card1);
 		alice.setVote(card1Text);
@@ -336,7 +337,7 @@ class SummaryServiceTest {
 		final RoomMember alice = new RoomMember("Alice");
 		final RoomMember carol = new RoomMember("Carol");
 		final RoomMember eve = new RoomMember("Eve");
-		myRoom.getMembers().addAll(Set.of(bob, alice, carol, eve));
+		List.of(bob, alice, carol, eve).forEach(myRoom::addMember);
 
 		bob.setVote(card1);
 		alice.setVote(card1Text);
@@ -367,7 +368,7 @@ class SummaryServiceTest {
 		final RoomMember alice = new RoomMember("Alice");
 		final RoomMember carol = new RoomMember("Carol");
 		final RoomMember eve = new RoomMember("Eve");
-		myRoom.getMembers().addAll(Set.of(bob, alice, carol, eve));
+		List.of(bob, alice, carol, eve).forEach(myRoom::addMember);
 
 		bob.setVote(card1);
 		alice.setVote(card2);
@@ -394,7 +395,7 @@ class SummaryServiceTest {
 		final RoomMember bob = new RoomMember("Bob");
 		final RoomMember alice = new RoomMember("Alice");
 		final RoomMember carol = new RoomMember("Carol");
-		myRoom.getMembers().addAll(Set.of(bob, alice, carol));
+		List.of(bob, alice, carol).forEach(myRoom::addMember);
 
 		bob.setVote(card1);
 		alice.setVote(card3);
@@ -420,7 +421,7 @@ class SummaryServiceTest {
 		final RoomMember bob = new RoomMember("Bob");
 		final RoomMember alice = new RoomMember("Alice");
 		final RoomMember carol = new RoomMember("Carol");
-		myRoom.getMembers().addAll(Set.of(bob, alice, carol));
+		List.of(bob, alice, carol).forEach(myRoom::addMember);
 
 		bob.setVote(card1);
 		alice.setVote(card3);
@@ -453,9 +454,107 @@ class SummaryServiceTest {
 		final Room myRoom = new Room("My Room", cardSet);
 		final RoomMember bob = new RoomMember("Bob");
 		bob.setVote(card);
-		myRoom.getMembers().add(bob);
+		myRoom.addMember(bob);
 		myRoom.setVotingState(Room.VotingState.CLOSED);
 
 		assertThat(summaryService.summarize(myRoom)).isEmpty();
 	}
+
+	@Test
+	@DisplayName("calculates statistics")
+	void calculatesStatistics() {
+		final CardSet cardSet = new CardSet("Set");
+		final Card card1 = new Card("1", 1.0);
+		final Card card3 = new Card("3", 3.0);
+		final Card card5 = new Card("5", 5.0);
+		final Card cardQuestion = new Card("?", null);
+		cardSet.getCards().addAll(Set.of(card1, card3, card5, cardQuestion));
+
+		final Room myRoom = new Room("My Room", cardSet);
+		final RoomMember bob = new RoomMember("Bob");
+		final RoomMember alice = new RoomMember("Alice");
+		final RoomMember carol = new RoomMember("Carol");
+		final RoomMember dan = new RoomMember("Dan");
+		final RoomMember eve = new RoomMember("Eve");
+		List.of(bob, alice, carol, dan, eve).forEach(myRoom::addMember);
+
+		bob.setVote(card1);
+		alice.setVote(card3);
+		carol.setVote(card3);
+		dan.setVote(card5);
+		eve.setVote(cardQuestion);
+		myRoom.setVotingState(Room.VotingState.CLOSED);
+
+		final SummaryService.VoteStatistics voteStatistics = summaryService.calculateStatistics(myRoom).orElseThrow();
+
+		assertThat(voteStatistics.median()).isCloseTo(3.0, Offset.offset(0.001));
+		assertThat(voteStatistics.standardDeviation()).isCloseTo(Math.sqrt(2), Offset.offset(0.001));
+		assertThat(voteStatistics.consensus()).isCloseTo(0.5, Offset.offset(0.001));
+		assertThat(voteStatistics.histogram()).containsExactly(new SummaryService.VoteCount(card1, 1),
+				new SummaryService.VoteCount(card3, 2),
+				new SummaryService.VoteCount(card5, 1),
+				new SummaryService.VoteCount(cardQuestion, 1));
+	}
+
+	@Test
+	@DisplayName("calculates statistics median for even vote count")
+	void calculatesStatisticsMedianEven() {
+		final CardSet cardSet = new CardSet("Set");
+		final Card card1 = new Card("1", 1.0);
+		final Card card2 = new Card("2", 2.0);
+		cardSet.getCards().addAll(Set.of(card1, card2));
+
+		final Room myRoom = new Room("My Room", cardSet);
+		final RoomMember bob = new RoomMember("Bob");
+		final RoomMember alice = new RoomMember("Alice");
+		List.of(bob, alice).forEach(myRoom::addMember);
+
+		bob.setVote(card1);
+		alice.setVote(card2);
+		myRoom.setVotingState(Room.VotingState.CLOSED);
+
+		final SummaryService.VoteStatistics voteStatistics = summaryService.calculateStatistics(myRoom).orElseThrow();
+
+		assertThat(voteStatistics.median()).isCloseTo(1.5, Offset.offset(0.001));
+		assertThat(voteStatistics.consensus()).isCloseTo(0.0, Offset.offset(0.001));
+	}
+
+	@Test
+	@DisplayName("calculates full consensus for identical votes")
+	void calculatesStatisticsFullConsensus() {
+		final CardSet cardSet = new CardSet("Set");
+		final Card card1 = new Card("1", 1.0);
+		final Card card8 = new Card("8", 8.0);
+		cardSet.getCards().addAll(Set.of(card1, card8));
+
+		final Room myRoom = new Room("My Room", cardSet);
+		final RoomMember bob = new RoomMember("Bob");
+		final RoomMember alice = new RoomMember("Alice");
+		List.of(bob, alice).forEach(myRoom::addMember);
+
+		bob.setVote(card8);
+		alice.setVote(card8);
+		myRoom.setVotingState(Room.VotingState.CLOSED);
+
+		final SummaryService.VoteStatistics voteStatistics = summaryService.calculateStatistics(myRoom).orElseThrow();
+
+		assertThat(voteStatistics.standardDeviation()).isZero();
+		assertThat(voteStatistics.consensus()).isEqualTo(1.0);
+	}
+
+	@Test
+	@DisplayName("calculates no statistics while voting")
+	void calculatesNoStatisticsWhenOpen() {
+		final CardSet cardSet = new CardSet("Set");
+		final Card card = new Card("1", 1.0);
+		cardSet.getCards().add(card);
+
+		final Room myRoom = new Room("My Room", cardSet);
+		final RoomMember bob = new RoomMember("Bob");
+		bob.setVote(card);
+		myRoom.addMember(bob);
+		myRoom.setVotingState(Room.VotingState.OPEN);
+
+		assertThat(summaryService.calculateStatistics(myRoom)).isEmpty();
+	}
 }
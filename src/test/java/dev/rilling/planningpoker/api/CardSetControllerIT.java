@@ -3,32 +3,40 @@ package dev.rilling.planningpoker.api;
 import dev.rilling.planningpoker.data.Card;
 import dev.rilling.planningpoker.data.CardSet;
 import dev.rilling.planningpoker.data.CardSetRepository;
+import dev.rilling.planningpoker.data.ExtensionRepository;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.List;
 
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.atMostOnce;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(value = CardSetController.class)
+@Import(CatalogCache.class)
 class CardSetControllerIT {
 
 	@MockBean
 	CardSetRepository cardSetRepository;
 
+	@MockBean
+	ExtensionRepository extensionRepository;
+
 	@Autowired
 	MockMvc mockMvc;
 
-	@Test
-	@DisplayName("GET `/api/card-sets` returns card sets")
-	void getCardSets() throws Exception {
+	// The catalog is kept for the whole application context, so all tests have to use the same card sets.
+	@BeforeEach
+	void setUp() {
 		final CardSet cardSet1 = new CardSet("My Set 1");
 		cardSet1.getCards().add(new Card("Coffee", 0.0));
 		cardSet1.getCards().add(new Card("1", 1.0));
@@ -36,7 +44,11 @@ class CardSetControllerIT {
 		cardSet1.getCards().add(new Card("?", null));
 		final CardSet cardSet2 = new CardSet("My Set 2");
 		given(cardSetRepository.findAll()).willReturn(List.of(cardSet1, cardSet2));
+	}
 
+	@Test
+	@DisplayName("GET `/api/card-sets` returns card sets")
+	void getCardSets() throws Exception {
 		mockMvc.perform(get("/api/card-sets").with(MockOidcLogins.bobOidcLogin()))
 				.andExpect(status().isOk())
 				.andExpect(jsonPath("$.length()").value(2))
@@ -53,4 +65,22 @@ class CardSetControllerIT {
 				.andExpect(jsonPath("$[1].name").value("My Set 2"))
 				.andExpect(jsonPath("$[1].cards.length()").value(0));
 	}
+
+	@Test
+	@DisplayName("GET `/api/card-sets` sets content hash as ETag")
+	void getCardSetsSetsETag() throws Exception {
+		final String eTag = mockMvc.perform(get("/api/card-sets").with(MockOidcLogins.bobOidcLogin()))
+				.andExpect(status().isOk())
+				.andExpect(header().string("Cache-Control", "no-cache, private"))
+				.andReturn()
+				.getResponse()
+				.getHeader("ETag");
+
+		mockMvc.perform(get("/api/card-sets").with(MockOidcLogins.bobOidcLogin()).header("If-None-Match", eTag))
+				.andExpect(status().isNotModified())
+				.andExpect(header().string("ETag", eTag))
+				.andExpect(content().string(""));
+
+		verify(cardSetRepository, atMostOnce()).findAll();
+	}
 }
@@ -1,41 +1,71 @@
 package dev.rilling.planningpoker.api;
 
+import dev.rilling.planningpoker.data.CardSetRepository;
 import dev.rilling.planningpoker.data.Extension;
 import dev.rilling.planningpoker.data.ExtensionRepository;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.Set;
 
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.atMostOnce;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(value = ExtensionController.class)
+@Import(CatalogCache.class)
 class ExtensionControllerIT {
 
+	@MockBean
+	CardSetRepository cardSetRepository;
+
 	@MockBean
 	ExtensionRepository extensionRepository;
 
 	@Autowired
 	MockMvc mockMvc;
 
-	@Test
-	@DisplayName("GET `/api/extensions` returns extensions")
-	void loadsExtensions() throws Exception {
+	// The catalog is kept for the whole application context, so all tests have to use the same extensions.
+	@BeforeEach
+	void setUp() {
 		final Extension foo = new Extension("foo");
 		final Extension bar = new Extension("bar");
 		given(extensionRepository.findAllByEnabled(true)).willReturn(Set.of(bar, foo));
+	}
 
+	@Test
+	@DisplayName("GET `/api/extensions` returns extensions")
+	void loadsExtensions() throws Exception {
 		mockMvc.perform(get("/api/extensions").with(MockOidcLogins.bobOidcLogin()))
 				.andExpect(status().isOk())
 				.andExpect(jsonPath("$.length()").value(2))
 				.andExpect(jsonPath("$[0]").value("bar"))
 				.andExpect(jsonPath("$[1]").value("foo"));
 	}
+
+	@Test
+	@DisplayName("GET `/api/extensions` sets content hash as ETag")
+	void loadsExtensionsSetsETag() throws Exception {
+		final String eTag = mockMvc.perform(get("/api/extensions").with(MockOidcLogins.bobOidcLogin()))
+				.andExpect(status().isOk())
+				.andExpect(header().string("Cache-Control", "no-cache, private"))
+				.andReturn()
+				.getResponse()
+				.getHeader("ETag");
+
+		mockMvc.perform(get("/api/extensions").with(MockOidcLogins.bobOidcLogin()).header("If-None-Match", eTag))
+				.andExpect(status().isNotModified())
+				.andExpect(header().string("ETag", eTag))
+				.andExpect(content().string(""));
+
+		verify(extensionRepository, atMostOnce()).findAllByEnabled(true);
+	}
 }
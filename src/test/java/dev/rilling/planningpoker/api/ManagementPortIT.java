@@ -0,0 +1,161 @@
+package dev.rilling.planningpoker.api;
+
+import dev.rilling.planningpoker.data.CardSet;
+import dev.rilling.planningpoker.data.CardSetRepository;
+import dev.rilling.planningpoker.data.RoomRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.client.RestClient;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+class ManagementPortIT {
+
+	@LocalServerPort
+	int serverPort;
+
+	@LocalManagementPort
+	int managementPort;
+
+	@Autowired
+	MockMvc mockMvc;
+
+	@Autowired
+	RoomRepository roomRepository;
+
+	@Autowired
+	CardSetRepository cardSetRepository;
+
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
+	@Test
+	@DisplayName("exposes metrics on management port")
+	void exposesMetrics() throws Exception {
+		final CardSet cardSet = cardSetRepository.findByName("1 through 10").orElseThrow();
+		TestRooms.createRoomWithMembers(jdbcTemplate, roomRepository, "metrics-room", cardSet, List.of("metrics-user"));
+
+		mockMvc.perform(post("/api/rooms/{room-name}/votes", "metrics-room").param("card-name", "1")
+				.with(MockOidcLogins.oidcLoginAs("metrics-user"))
+				.with(csrf())).andExpect(status().isOk());
+		mockMvc.perform(get("/api/rooms/{room-name}/votes/summary", "metrics-room").with(MockOidcLogins.oidcLoginAs("metrics-user")))
+				.andExpect(status().isOk());
+
+		final ResponseEntity<String> response = RestClient.create("http://localhost:" + managementPort)
+				.get()
+				.uri("/actuator/prometheus")
+				.retrieve()
+				.toEntity(String.class);
+
+		assertThat(response.getStatusCode().value()).isEqualTo(200);
+		assertThat(response.getBody()).contains("planning_poker_votes_total 1.0",
+				"planning_poker_votings_closed_total 1.0",
+				"planning_poker_rooms ",
+				"planning_poker_members ",
+				"planning_poker_push_connections{type=\"event-stream\"}",
+				"planning_poker_summary_seconds_bucket",
+				"http_server_requests_seconds_bucket",
+				"cache_gets_total{cache=\"rooms\"",
+				"hibernate_second_level_cache_requests_total");
+	}
+
+	@Test
+	@DisplayName("controls flight recording on management port")
+	void controlsFlightRecording() {
+		final RestClient restClient = RestClient.builder()
+				.baseUrl("http://localhost:" + managementPort)
+				.defaultHeaders(headers -> headers.setBasicAuth("management", "test"))
+				.build();
+
+		final String started = restClient.post()
+				.uri("/actuator/flightrecording")
+				.contentType(MediaType.APPLICATION_JSON)
+				.body(Map.of("maxAge", "PT5M"))
+				.retrieve()
+				.body(String.class);
+		assertThat(started).contains("\"state\":\"RUNNING\"", "\"maxAge\":\"PT5M\"");
+
+		final byte[] dump = restClient.get().uri("/actuator/flightrecording").retrieve().body(byte[].class);
+		assertThat(dump).isNotEmpty();
+
+		final String stopped = restClient.delete().uri("/actuator/flightrecording").retrieve().body(String.class);
+		assertThat(stopped).contains("\"state\":\"STOPPED\"");
+	}
+
+	@Test
+	@DisplayName("requires management user for flight recording")
+	void requiresManagementUserForFlightRecording() {
+		final RestClient restClient = RestClient.create("http://localhost:" + managementPort);
+
+		final ResponseEntity<Void> response = restClient.post()
+				.uri("/actuator/flightrecording")
+				.contentType(MediaType.APPLICATION_JSON)
+				.body(Map.of())
+				.retrieve()
+				.onStatus(HttpStatusCode::isError, (request, ignored) -> {
+				})
+				.toBodilessEntity();
+		assertThat(response.getStatusCode().value()).isEqualTo(401);
+
+		final ResponseEntity<Void> wrongPasswordResponse = restClient.get()
+				.uri("/actuator/flightrecording")
+				.headers(headers -> headers.setBasicAuth("management", "wrong"))
+				.retrieve()
+				.onStatus(HttpStatusCode::isError, (request, ignored) -> {
+				})
+				.toBodilessEntity();
+		assertThat(wrongPasswordResponse.getStatusCode().value()).isEqualTo(401);
+	}
+
+	@Test
+	@DisplayName("does not allow changing metrics")
+	void doesNotAllowWritingMetrics() {
+		final ResponseEntity<Void> response = RestClient.create("http://localhost:" + managementPort)
+				.post()
+				.uri("/actuator/prometheus")
+				.headers(headers -> headers.setBasicAuth("management", "test"))
+				.retrieve()
+				.onStatus(HttpStatusCode::isError, (request, ignored) -> {
+				})
+				.toBodilessEntity();
+
+		assertThat(response.getStatusCode().value()).isEqualTo(403);
+	}
+
+	@Test
+	@DisplayName("does not expose metrics on server port")
+	void doesNotExposeMetricsOnServerPort() {
+		final ResponseEntity<Void> response = RestClient.create("http://localhost:" + serverPort)
+				.get()
+				.uri("/actuator/prometheus")
+				.retrieve()
+				.onStatus(HttpStatusCode::isError, (request, ignored) -> {
+				})
+				.toBodilessEntity();
+
+		assertThat(response.getStatusCode().is2xxSuccessful()).isFalse();
+	}
+}
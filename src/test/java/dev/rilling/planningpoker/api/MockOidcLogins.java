@@ -11,4 +11,8 @@ public final class MockOidcLogins {
 	public static SecurityMockMvcRequestPostProcessors.OidcLoginRequestPostProcessor bobOidcLogin() {
 		return oidcLogin().idToken(build -> build.subject("Bob")).userInfoToken(b -> b.name("Bob T.").preferredUsername("Little Bobby Tables"));
 	}
+
+	public static SecurityMockMvcRequestPostProcessors.OidcLoginRequestPostProcessor oidcLoginAs(String username) {
+		return oidcLogin().idToken(build -> build.subject(username));
+	}
 }
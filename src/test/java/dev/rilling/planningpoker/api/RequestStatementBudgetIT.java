@@ -0,0 +1,118 @@
+package dev.rilling.planningpoker.api;
+
+import dev.rilling.planningpoker.MaxStatementsPerRequest;
+import dev.rilling.planningpoker.RequestStatisticsExtension;
+import dev.rilling.planningpoker.data.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks the number of statements of frequent requests, using rooms that are not cached yet.
+ * Rooms have many members, so statements per member would exceed the budgets.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@Import(RequestStatisticsExtension.Recorder.class)
+@ExtendWith(RequestStatisticsExtension.class)
+class RequestStatementBudgetIT {
+
+	private static final int MEMBER_COUNT = 50;
+	private static final AtomicInteger ROOM_COUNTER = new AtomicInteger();
+
+	@Autowired
+	MockMvc mockMvc;
+
+	@Autowired
+	RoomRepository roomRepository;
+
+	@Autowired
+	CardSetRepository cardSetRepository;
+
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
+	@Test
+	@DisplayName("GET `/api/rooms/{room-name}/` stays within statement budget")
+	@MaxStatementsPerRequest(3)
+	void getRoom() throws Exception {
+		final String roomName = createRoom();
+
+		for (int i = 0; i < 2; i++) {
+			mockMvc.perform(get("/api/rooms/{room-name}/", roomName).with(MockOidcLogins.oidcLoginAs(getUsername(roomName, 0))))
+					.andExpect(status().isOk());
+		}
+	}
+
+	@Test
+	@DisplayName("POST `/api/rooms/{room-name}/votes` stays within statement budget")
+	@MaxStatementsPerRequest(6)
+	void createVote() throws Exception {
+		final String roomName = createRoom();
+
+		// Last missing vote, which also closes voting.
+		mockMvc.perform(post("/api/rooms/{room-name}/votes", roomName).param("card-name", "1")
+				.with(MockOidcLogins.oidcLoginAs(getUsername(roomName, MEMBER_COUNT - 1)))
+				.with(csrf())).andExpect(status().isOk());
+	}
+
+	@Test
+	@DisplayName("GET `/api/rooms` stays within statement budget")
+	@MaxStatementsPerRequest(2)
+	void getRooms() throws Exception {
+		for (int i = 0; i < 3; i++) {
+			createRoom();
+		}
+
+		mockMvc.perform(get("/api/rooms").with(MockOidcLogins.bobOidcLogin())).andExpect(status().isOk());
+	}
+
+	@Test
+	@DisplayName("GET `/api/rooms/{room-name}/votes/summary` stays within statement budget")
+	@MaxStatementsPerRequest(3)
+	void getSummary() throws Exception {
+		final String roomName = createRoom();
+
+		for (int i = 0; i < 2; i++) {
+			mockMvc.perform(get("/api/rooms/{room-name}/votes/summary", roomName).param("statistics", "true")
+					.with(MockOidcLogins.oidcLoginAs(getUsername(roomName, 0)))).andExpect(status().isOk());
+		}
+	}
+
+	/**
+	 * Creates a room in which all members but the last one voted.
+	 */
+	private String createRoom() {
+		final String roomName = "budget-room-" + ROOM_COUNTER.incrementAndGet();
+		final CardSet cardSet = cardSetRepository.findByName("1 through 10").orElseThrow();
+		final Card card = cardSet.getIndex().findCardByName("5").orElseThrow();
+		final List<String> usernames = IntStream.range(0, MEMBER_COUNT).mapToObj(i -> getUsername(roomName, i)).toList();
+		TestRooms.createRoomWithMembers(jdbcTemplate, roomRepository, roomName, cardSet, usernames, room -> {
+			for (String username : usernames.subList(0, MEMBER_COUNT - 1)) {
+				room.findMemberByUser(username).orElseThrow().setVote(card);
+			}
+		});
+		return roomName;
+	}
+
+	private static String getUsername(String roomName, int member) {
+		return "%s-user-%d".formatted(roomName, member);
+	}
+}
@@ -0,0 +1,109 @@
+package dev.rilling.planningpoker.api;
+
+import dev.rilling.planningpoker.data.CardSet;
+import dev.rilling.planningpoker.data.Room;
+import dev.rilling.planningpoker.data.RoomRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RoomCacheTest {
+
+	@Mock
+	RoomRepository roomRepository;
+
+	RoomCache roomCache;
+
+	@BeforeEach
+	void setUp() {
+		roomCache = new RoomCache(roomRepository, new ConcurrentMapCacheManager(RoomCache.CACHE_NAME));
+	}
+
+	@Test
+	@DisplayName("loads room only once")
+	void loadsOnce() {
+		final Room room = new Room("My Room", new CardSet("My Set"));
+		given(roomRepository.findByName("My Room")).willReturn(Optional.of(room));
+
+		assertThat(roomCache.findByName("My Room")).containsSame(room);
+		assertThat(roomCache.findByName("My Room")).containsSame(room);
+
+		verify(roomRepository, times(1)).findByName("My Room");
+	}
+
+	@Test
+	@DisplayName("replaces room when changed")
+	void replacesChangedRoom() {
+		final Room room = new Room("My Room", new CardSet("My Set"));
+		given(roomRepository.findByName("My Room")).willReturn(Optional.of(room));
+		roomCache.findByName("My Room");
+
+		final Room changedRoom = new Room("My Room", new CardSet("My Set"));
+		changedRoom.setVersion(1);
+		roomCache.onRoomChanged(new RoomChangedEvent(changedRoom, changedRoom.getVersion(), List.of()));
+
+		assertThat(roomCache.findByName("My Room")).containsSame(changedRoom);
+	}
+
+	@Test
+	@DisplayName("evicts room once the transaction was committed")
+	void evictsAfterCommit() {
+		final Room room = new Room("My Room", new CardSet("My Set"));
+		given(roomRepository.findByName("My Room")).willReturn(Optional.of(room));
+		roomCache.findByName("My Room");
+
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			roomCache.evict("My Room");
+			roomCache.findByName("My Room");
+			verify(roomRepository, times(1)).findByName("My Room");
+
+			TransactionSynchronizationUtils.triggerAfterCommit();
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+
+		roomCache.findByName("My Room");
+		verify(roomRepository, times(2)).findByName("My Room");
+	}
+
+	@Test
+	@DisplayName("does not replace room with older version")
+	void doesNotReplaceWithOlder() {
+		final Room changedRoom = new Room("My Room", new CardSet("My Set"));
+		changedRoom.setVersion(2);
+		roomCache.onRoomChanged(new RoomChangedEvent(changedRoom, changedRoom.getVersion(), List.of()));
+
+		final Room olderRoom = new Room("My Room", new CardSet("My Set"));
+		olderRoom.setVersion(1);
+		roomCache.onRoomChanged(new RoomChangedEvent(olderRoom, olderRoom.getVersion(), List.of()));
+
+		assertThat(roomCache.findByName("My Room")).containsSame(changedRoom);
+	}
+
+	@Test
+	@DisplayName("forgets deleted room")
+	void forgetsDeletedRoom() {
+		final Room room = new Room("My Room", new CardSet("My Set"));
+		roomCache.onRoomCreated(new RoomCreatedEvent(room));
+		assertThat(roomCache.findByName("My Room")).containsSame(room);
+
+		roomCache.onRoomDeleted(new RoomDeletedEvent(room));
+
+		assertThat(roomCache.findByName("My Room")).isEmpty();
+	}
+}
@@ -0,0 +1,80 @@
+package dev.rilling.planningpoker.api;
+
+import dev.rilling.planningpoker.data.CardSet;
+import dev.rilling.planningpoker.data.Room;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RoomChangeLogTest {
+
+	final RoomChangeLog roomChangeLog = new RoomChangeLog();
+
+	@Test
+	@DisplayName("finds changes since version")
+	void findsChangesSince() {
+		final Room room = new Room("My Room", new CardSet("My Set"));
+		logTopicChange(room, 1, "Foo");
+		logTopicChange(room, 2, "Bar");
+
+		assertThat(roomChangeLog.findChangesSince(room, 0)).hasValueSatisfying(changes -> assertThat(changes).extracting(RoomChangesJson::version)
+				.containsExactly(1L, 2L));
+		assertThat(roomChangeLog.findChangesSince(room, 1)).hasValueSatisfying(changes -> assertThat(changes).extracting(RoomChangesJson::version)
+				.containsExactly(2L));
+		assertThat(roomChangeLog.findChangesSince(room, 2)).hasValue(List.of());
+	}
+
+	@Test
+	@DisplayName("does not find changes for unknown versions")
+	void doesNotFindUnknownChanges() {
+		final Room room = new Room("My Room", new CardSet("My Set"));
+		room.setVersion(5);
+		assertThat(roomChangeLog.findChangesSince(room, 4)).isEmpty();
+
+		logTopicChange(room, 6, "Foo");
+		assertThat(roomChangeLog.findChangesSince(room, 4)).isEmpty();
+		assertThat(roomChangeLog.findChangesSince(room, 7)).isEmpty();
+	}
+
+	@Test
+	@DisplayName("forgets old changes")
+	void forgetsOldChanges() {
+		final Room room = new Room("My Room", new CardSet("My Set"));
+		for (int version = 1; version <= RoomChangeLog.MAX_VERSIONS_PER_ROOM + 1; version++) {
+			logTopicChange(room, version, "Foo");
+		}
+
+		assertThat(roomChangeLog.findChangesSince(room, 0)).isEmpty();
+		assertThat(roomChangeLog.findChangesSince(room, 1)).hasValueSatisfying(changes -> assertThat(changes).hasSize(RoomChangeLog.MAX_VERSIONS_PER_ROOM));
+	}
+
+	@Test
+	@DisplayName("forgets changes when versions are not contiguous")
+	void forgetsChangesOnGap() {
+		final Room room = new Room("My Room", new CardSet("My Set"));
+		logTopicChange(room, 1, "Foo");
+		logTopicChange(room, 3, "Bar");
+
+		assertThat(roomChangeLog.findChangesSince(room, 1)).isEmpty();
+		assertThat(roomChangeLog.findChangesSince(room, 2)).isPresent();
+	}
+
+	@Test
+	@DisplayName("forgets changes of deleted rooms")
+	void forgetsDeletedRooms() {
+		final Room room = new Room("My Room", new CardSet("My Set"));
+		logTopicChange(room, 1, "Foo");
+
+		roomChangeLog.onRoomDeleted(new RoomDeletedEvent(room));
+
+		assertThat(roomChangeLog.findChangesSince(room, 0)).isEmpty();
+	}
+
+	private void logTopicChange(Room room, long version, String topic) {
+		room.setVersion(version);
+		roomChangeLog.onRoomChanged(new RoomChangedEvent(room, room.getVersion(), List.of(new RoomChange.TopicChanged(topic))));
+	}
+}
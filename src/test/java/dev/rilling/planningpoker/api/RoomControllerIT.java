@@ -8,22 +8,35 @@ import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.event.TransactionalEventListenerFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(value = RoomController.class)
+// Transactional event listeners are only deferred until the end of a transaction with their factory, which this slice does not include.
+@Import({ RoomCache.class, RoomEventService.class, RoomListEventService.class, RoomLongPollService.class, RoomChangeLog.class, RoomJsonCache.class,
+		TransactionalEventListenerFactory.class })
 class RoomControllerIT {
 
 	@MockBean
@@ -35,34 +48,117 @@ class RoomControllerIT {
 	@MockBean
 	ExtensionRepository extensionRepository;
 
-	@MockBean
+	@SpyBean
 	RoomService roomService;
 
+	@Autowired
+	RoomEventService roomEventService;
+
+	@Autowired
+	RoomListEventService roomListEventService;
+
+	@Autowired
+	RoomLongPollService roomLongPollService;
+
+	@Autowired
+	RoomChangeLog roomChangeLog;
+
 	@Autowired
 	MockMvc mockMvc;
 
 	@Test
 	@DisplayName("GET `/api/rooms` loads rooms")
 	void getRooms() throws Exception {
-		final CardSet cardSet = new CardSet("My Set");
-		final Room room1 = new Room("Room #1", cardSet);
-		room1.setTopic("Foo!");
-		room1.getMembers().add(new RoomMember("Bob"));
-		final Room room2 = new Room("Room #2", cardSet);
-		given(roomRepository.findAll()).willReturn(List.of(room1, room2));
+		final UUID room1Id = UUID.randomUUID();
+		final UUID room2Id = UUID.randomUUID();
+		given(roomRepository.findListItems("", null, RoomController.DEFAULT_ROOM_PAGE_SIZE + 1)).willReturn(List.of(new RoomListItem(room1Id,
+				"Room #1",
+				"Foo!",
+				"My Set",
+				Room.VotingState.CLOSED), new RoomListItem(room2Id, "Room #2", "", "My Set", Room.VotingState.OPEN)));
+		given(roomRepository.findEnabledExtensionKeys(List.of(room1Id, room2Id))).willReturn(List.of(new RoomExtensionKey(room1Id, "aha")));
 
 		mockMvc.perform(get("/api/rooms").with(MockOidcLogins.bobOidcLogin()))
 				.andExpect(status().isOk())
+				.andExpect(header().doesNotExist("Link"))
 				.andExpect(jsonPath("$.length()").value(2))
 				.andExpect(jsonPath("$[0].name").value("Room #1"))
 				.andExpect(jsonPath("$[0].topic").value("Foo!"))
 				.andExpect(jsonPath("$[0].cardSetName").value("My Set"))
-				.andExpect(jsonPath("$[0].members.length()").value(1))
-				.andExpect(jsonPath("$[0].members[0].username").value("Bob"))
-				.andExpect(jsonPath("$[0].members[0].role").value("VOTER"))
+				.andExpect(jsonPath("$[0].votingClosed").value(true))
+				.andExpect(jsonPath("$[0].extensions[0]").value("aha"))
+				.andExpect(jsonPath("$[0].members").doesNotExist())
 				.andExpect(jsonPath("$[1].name").value("Room #2"))
 				.andExpect(jsonPath("$[1].topic").value(""))
-				.andExpect(jsonPath("$[1].members.length()").value(0));
+				.andExpect(jsonPath("$[1].extensions.length()").value(0));
+		verify(roomRepository, never()).findAll();
+	}
+
+	@Test
+	@DisplayName("GET `/api/rooms` links next page")
+	void getRoomsLinksNextPage() throws Exception {
+		final UUID room1Id = UUID.randomUUID();
+		given(roomRepository.findListItems("My Room", "My Room #0", 1 + 1)).willReturn(List.of(new RoomListItem(room1Id,
+				"My Room #1",
+				"",
+				"My Set",
+				Room.VotingState.OPEN), new RoomListItem(UUID.randomUUID(), "My Room #2", "", "My Set", Room.VotingState.OPEN)));
+		given(roomRepository.findEnabledExtensionKeys(List.of(room1Id))).willReturn(List.of());
+
+		mockMvc.perform(get("/api/rooms").param("prefix", "My Room").param("after", "My Room #0").param("limit", "1")
+						.with(MockOidcLogins.bobOidcLogin()))
+				.andExpect(status().isOk())
+				.andExpect(header().string("Link", "</api/rooms?prefix=My%20Room&after=My%20Room%20%231&limit=1>; rel=\"next\""))
+				.andExpect(jsonPath("$.length()").value(1))
+				.andExpect(jsonPath("$[0].name").value("My Room #1"));
+	}
+
+	@Test
+	@DisplayName("GET `/api/rooms` throws for invalid page size")
+	void getRoomsInvalidPageSize() throws Exception {
+		mockMvc.perform(get("/api/rooms").param("limit", "0").with(MockOidcLogins.bobOidcLogin())).andExpect(status().isBadRequest());
+		mockMvc.perform(get("/api/rooms").param("limit", String.valueOf(RoomController.MAX_ROOM_PAGE_SIZE + 1)).with(MockOidcLogins.bobOidcLogin()))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	@DisplayName("GET `/api/rooms/events` streams room list changes")
+	void getRoomsEventsStreams() throws Exception {
+		final CardSet cardSet = new CardSet("My Set");
+		final Room room1 = new Room("Room #1", cardSet);
+		final UUID room1Id = UUID.randomUUID();
+		given(roomRepository.findAllListItems()).willReturn(List.of(new RoomListItem(room1Id, "Room #1", "", "My Set", Room.VotingState.OPEN)));
+		given(roomRepository.findAllEnabledExtensionKeys()).willReturn(List.of(new RoomExtensionKey(room1Id, "aha")));
+
+		final MvcResult mvcResult = mockMvc.perform(get("/api/rooms/events").with(MockOidcLogins.bobOidcLogin()))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		assertThat(mvcResult.getResponse().getContentAsString()).startsWith("event:rooms\ndata:[{\"name\":\"Room #1\"")
+				.contains("\"extensions\":[\"aha\"]");
+		verify(roomRepository, never()).findAll();
+
+		final Room room2 = new Room("Room #2", cardSet);
+		roomListEventService.onRoomCreated(new RoomCreatedEvent(room2));
+		assertThat(mvcResult.getResponse().getContentAsString()).contains("event:room-created\ndata:{\"name\":\"Room #2\"");
+
+		room2.setTopic("Foo!");
+		roomListEventService.onRoomChanged(new RoomChangedEvent(room2, room2.getVersion(), List.of(new RoomChange.TopicChanged("Bar!"))));
+		assertThat(mvcResult.getResponse().getContentAsString()).contains("event:room-updated\ndata:{\"name\":\"Room #2\",\"topic\":\"Foo!\"")
+				.doesNotContain("members");
+
+		final String contentBeforeVote = mvcResult.getResponse().getContentAsString();
+		roomListEventService.onRoomChanged(new RoomChangedEvent(room2, room2.getVersion(), List.of(new RoomChange.MemberVoted("Bob", null, false))));
+		assertThat(mvcResult.getResponse().getContentAsString()).isEqualTo(contentBeforeVote);
+
+		roomListEventService.onRoomChanged(new RoomChangedEvent(room2, room2.getVersion(), List.of(new RoomChange.VotesCleared())));
+		assertThat(mvcResult.getResponse().getContentAsString()).isEqualTo(contentBeforeVote);
+
+		room2.setVotingState(Room.VotingState.CLOSED);
+		roomListEventService.onRoomChanged(new RoomChangedEvent(room2, room2.getVersion(), List.of(new RoomChange.VotingClosed(Map.of()))));
+		assertThat(mvcResult.getResponse().getContentAsString()).contains("\"topic\":\"Foo!\",\"cardSetName\":\"My Set\",\"votingClosed\":true");
+
+		roomListEventService.onRoomDeleted(new RoomDeletedEvent(room1));
+		assertThat(mvcResult.getResponse().getContentAsString()).contains("event:room-deleted\ndata:{\"name\":\"Room #1\"}");
 	}
 
 	@Test
@@ -124,8 +220,8 @@ class RoomControllerIT {
 	@DisplayName("DELETE `/api/rooms/{room-name}` deletes")
 	void deleteRoomDeletes() throws Exception {
 		final Room room = new Room("my-room", new CardSet("My Set"));
-		room.getMembers().add(new RoomMember("Alice"));
-		room.getMembers().add(new RoomMember("Bob"));
+		room.addMember(new RoomMember("Alice"));
+		room.addMember(new RoomMember("Bob"));
 		given(roomRepository.findByName("my-room")).willReturn(Optional.of(room));
 
 		mockMvc.perform(delete("/api/rooms/my-room").with(MockOidcLogins.bobOidcLogin()).with(csrf())).andExpect(status().isOk());
@@ -152,7 +248,7 @@ class RoomControllerIT {
 	@DisplayName("PATCH `/api/rooms/{room-name}` throws for unknown card set")
 	void editRoomUnknownCardSet() throws Exception {
 		final Room room = new Room("my-room", new CardSet("My Set 1"));
-		room.getMembers().add(new RoomMember("Bob"));
+		room.addMember(new RoomMember("Bob"));
 		given(roomRepository.findByName("my-room")).willReturn(Optional.of(room));
 
 		given(cardSetRepository.findByName("My Set 2")).willReturn(Optional.empty());
@@ -170,7 +266,7 @@ class RoomControllerIT {
 		final CardSet originalCardSet = new CardSet("My Set 1");
 		final Room room = new Room("my-room", originalCardSet);
 		room.setTopic("Foo!");
-		room.getMembers().add(new RoomMember("Bob"));
+		room.addMember(new RoomMember("Bob"));
 		given(roomRepository.findByName("my-room")).willReturn(Optional.of(room));
 
 		final CardSet newCardSet = new CardSet("My Set 2");
@@ -186,11 +282,30 @@ class RoomControllerIT {
 		verify(roomRepository).save(room);
 	}
 
+	@Test
+	@DisplayName("PATCH `/api/rooms/{room-name}` keeps unchanged card-set")
+	void editRoomKeepsCardSet() throws Exception {
+		final CardSet cardSet = new CardSet("My Set");
+		final Room room = new Room("my-room", cardSet);
+		room.addMember(new RoomMember("Bob"));
+		given(roomRepository.findByName("my-room")).willReturn(Optional.of(room));
+		given(cardSetRepository.findByName("My Set")).willReturn(Optional.of(cardSet));
+
+		mockMvc.perform(patch("/api/rooms/my-room").with(MockOidcLogins.bobOidcLogin()).with(csrf()).contentType(MediaType.APPLICATION_JSON).content("""
+				{
+					"cardSetName": "My Set"
+				}
+				""")).andExpect(status().isOk());
+
+		verify(roomService, never()).editCardSet(any(), any());
+		verify(roomRepository, never()).clearVotes(any());
+	}
+
 	@Test
 	@DisplayName("PATCH `/api/rooms/{room-name}` edits topic")
 	void editRoomEditsTopic() throws Exception {
 		final Room room = new Room("my-room", new CardSet("My Set"));
-		room.getMembers().add(new RoomMember("Bob"));
+		room.addMember(new RoomMember("Bob"));
 		given(roomRepository.findByName("my-room")).willReturn(Optional.of(room));
 
 		mockMvc.perform(patch("/api/rooms/my-room").with(MockOidcLogins.bobOidcLogin()).with(csrf()).contentType(MediaType.APPLICATION_JSON).content("""
@@ -207,7 +322,7 @@ class RoomControllerIT {
 	@DisplayName("PATCH `/api/rooms/{room-name}` throws for unknown extension")
 	void editRoomChecksExtension() throws Exception {
 		final Room room = new Room("my-room", new CardSet("My Set"));
-		room.getMembers().add(new RoomMember("Bob"));
+		room.addMember(new RoomMember("Bob"));
 		given(roomRepository.findByName("my-room")).willReturn(Optional.of(room));
 
 		given(extensionRepository.findByKeyAndEnabledIsTrue("bar")).willReturn(Optional.empty());
@@ -223,7 +338,7 @@ class RoomControllerIT {
 	@DisplayName("PATCH `/api/rooms/{room-name}` edits extension")
 	void editRoomEditsExtension() throws Exception {
 		final Room room = new Room("my-room", new CardSet("My Set"));
-		room.getMembers().add(new RoomMember("Bob"));
+		room.addMember(new RoomMember("Bob"));
 		given(roomRepository.findByName("my-room")).willReturn(Optional.of(room));
 
 		final Extension someExtension = new Extension("someExtension");
@@ -254,7 +369,7 @@ class RoomControllerIT {
 		given(roomRepository.findByName("my-room")).willReturn(Optional.of(room));
 
 		final RoomMember roomMember = new RoomMember("Alice");
-		room.getMembers().add(roomMember);
+		room.addMember(roomMember);
 
 		mockMvc.perform(get("/api/rooms/my-room/").with(MockOidcLogins.bobOidcLogin())).andExpect(status().isForbidden());
 	}
@@ -270,14 +385,14 @@ class RoomControllerIT {
 
 		final RoomMember roomMember1 = new RoomMember("Bob");
 		roomMember1.setVote(card);
-		room.getMembers().add(roomMember1);
+		room.addMember(roomMember1);
 
 		final RoomMember roomMember2 = new RoomMember("Alice");
 		roomMember2.setVote(card);
-		room.getMembers().add(roomMember2);
+		room.addMember(roomMember2);
 
 		final RoomMember roomMember3 = new RoomMember("Eve");
-		room.getMembers().add(roomMember3);
+		room.addMember(roomMember3);
 
 		mockMvc.perform(get("/api/rooms/my-room/").with(MockOidcLogins.bobOidcLogin()))
 				.andExpect(status().isOk())
@@ -297,6 +412,48 @@ class RoomControllerIT {
 				.andExpect(jsonPath("$.members[2].vote").value((Card) null));
 	}
 
+	@Test
+	@DisplayName("GET `/api/rooms/{room-name}/` sets version as ETag")
+	void loadRoomSetsETag() throws Exception {
+		final Room room = new Room("my-room", new CardSet("My Set"));
+		room.addMember(new RoomMember("Bob"));
+		room.setVersion(3);
+		given(roomRepository.findByName("my-room")).willReturn(Optional.of(room));
+
+		mockMvc.perform(get("/api/rooms/my-room/").with(MockOidcLogins.bobOidcLogin()).header("If-None-Match", "\"2\""))
+				.andExpect(status().isOk())
+				.andExpect(header().string("ETag", "\"3\""))
+				.andExpect(header().string("Cache-Control", "no-cache, private"))
+				.andExpect(jsonPath("$.name").value("my-room"));
+	}
+
+	@Test
+	@DisplayName("GET `/api/rooms/{room-name}/` does not write room if not modified")
+	void loadRoomNotModified() throws Exception {
+		final Room room = new Room("my-room", new CardSet("My Set"));
+		room.addMember(new RoomMember("Bob"));
+		room.setVersion(3);
+		given(roomRepository.findByName("my-room")).willReturn(Optional.of(room));
+
+		mockMvc.perform(get("/api/rooms/my-room/").with(MockOidcLogins.bobOidcLogin()).header("If-None-Match", "\"3\""))
+				.andExpect(status().isNotModified())
+				.andExpect(header().string("ETag", "\"3\""))
+				.andExpect(content().string(""));
+	}
+
+	@Test
+	@DisplayName("GET `/api/rooms/{room-name}/` checks membership before ETag")
+	void loadRoomNotModifiedChecksMembership() throws Exception {
+		final Room room = new Room("my-room", new CardSet("My Set"));
+		room.addMember(new RoomMember("Alice"));
+		room.setVersion(3);
+		given(roomRepository.findByName("my-room")).willReturn(Optional.of(room));
+
+		mockMvc.perform(get("/api/rooms/my-room/").with(MockOidcLogins.bobOidcLogin()).header("If-None-Match", "\"3\""))
+				.andExpect(status().isForbidden())
+				.andExpect(header().doesNotExist("ETag"));
+	}
+
 	@Test
 	@DisplayName("GET `/api/rooms/{room-name}/` shows votes when complete")
 	void loadRoomShowsVotes() throws Exception {
@@ -308,11 +465,11 @@ class RoomControllerIT {
 
 		final RoomMember roomMember1 = new RoomMember("Bob");
 		roomMember1.setVote(card);
-		room.getMembers().add(roomMember1);
+		room.addMember(roomMember1);
 
 		final RoomMember roomMember2 = new RoomMember("Alice");
 		roomMember2.setVote(card);
-		room.getMembers().add(roomMember2);
+		room.addMember(roomMember2);
 		room.setVotingState(Room.VotingState.CLOSED);
 
 		mockMvc.perform(get("/api/rooms/my-room/").with(MockOidcLogins.bobOidcLogin()))
@@ -329,4 +486,235 @@ class RoomControllerIT {
 				.andExpect(jsonPath("$.members[1].vote.name").value("1"))
 				.andExpect(jsonPath("$.members[1].vote.value").value(1.0));
 	}
+
+	@Test
+	@DisplayName("GET `/api/rooms/{room-name}/events` throws for unknown name")
+	void getRoomEventsUnknownName() throws Exception {
+		given(roomRepository.findByName("my-room")).willReturn(Optional.empty());
+
+		mockMvc.perform(get("/api/rooms/my-room/events").with(MockOidcLogins.bobOidcLogin())).andExpect(status().isNotFound());
+	}
+
+	@Test
+	@DisplayName("GET `/api/rooms/{room-name}/events` throws when not a member")
+	void getRoomEventsNotMember() throws Exception {
+		final Room room = new Room("my-room", new CardSet("My Set"));
+		given(roomRepository.findByName("my-room")).willReturn(Optional.of(room));
+
+		room.addMember(new RoomMember("Alice"));
+
+		mockMvc.perform(get("/api/rooms/my-room/events").with(MockOidcLogins.bobOidcLogin())).andExpect(status().isForbidden());
+	}
+
+	@Test
+	@DisplayName("GET `/api/rooms/{room-name}/events` streams room changes")
+	void getRoomEventsStreams() throws Exception {
+		final CardSet cardSet = new CardSet("My Set");
+		final Card card = new Card("1", 1.0);
+		cardSet.getCards().add(card);
+		final Room room = new Room("my-room", cardSet);
+		given(roomRepository.findByName("my-room")).willReturn(Optional.of(room));
+
+		final RoomMember roomMember1 = new RoomMember("Bob");
+		room.addMember(roomMember1);
+
+		final RoomMember roomMember2 = new RoomMember("Alice");
+		room.addMember(roomMember2);
+
+		final MvcResult mvcResult = mockMvc.perform(get("/api/rooms/my-room/events").with(MockOidcLogins.bobOidcLogin()))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		assertThat(mvcResult.getResponse().getContentAsString()).startsWith("id:0\nevent:room\ndata:{\"name\":\"my-room\"");
+
+		roomMember2.setVote(card);
+		room.setVersion(1);
+		roomEventService.onRoomChanged(new RoomChangedEvent(room, room.getVersion(), List.of(new RoomChange.MemberVoted("Alice", CardJson.convert(card), false))));
+
+		assertThat(mvcResult.getResponse().getContentAsString()).contains(
+				"id:1\nevent:room-changes\ndata:{\"version\":1,\"changes\":[{\"type\":\"member-voted\",\"username\":\"Alice\",\"vote\":{\"name\":\"Voted\"");
+	}
+
+	@Test
+	@DisplayName("GET `/api/rooms/{room-name}/events` only sends missed changes on reconnect")
+	void getRoomEventsSendsMissedChanges() throws Exception {
+		final Room room = new Room("my-logged-room", new CardSet("My Set 1"));
+		room.addMember(new RoomMember("Bob"));
+		given(roomRepository.findByName("my-logged-room")).willReturn(Optional.of(room));
+		given(cardSetRepository.findByName("My Set 2")).willReturn(Optional.of(new CardSet("My Set 2")));
+
+		// Each field edited in the same request is a change of its own, which listeners only observe once the request committed.
+		TransactionSynchronizationManager.initSynchronization();
+		TransactionSynchronizationManager.setActualTransactionActive(true);
+		try {
+			mockMvc.perform(patch("/api/rooms/my-logged-room").with(MockOidcLogins.bobOidcLogin()).with(csrf()).contentType(MediaType.APPLICATION_JSON).content("""
+					{
+						"topic": "Foo",
+						"cardSetName": "My Set 2"
+					}
+					""")).andExpect(status().isOk());
+			TransactionSynchronizationUtils.invokeAfterCompletion(TransactionSynchronizationManager.getSynchronizations(),
+					TransactionSynchronization.STATUS_COMMITTED);
+		} finally {
+			TransactionSynchronizationManager.setActualTransactionActive(false);
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+		assertThat(room.getVersion()).isEqualTo(2);
+
+		final MvcResult mvcResult = mockMvc.perform(get("/api/rooms/my-logged-room/events").header("Last-Event-ID", "0")
+						.with(MockOidcLogins.bobOidcLogin()))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+
+		assertThat(mvcResult.getResponse().getContentAsString()).isEqualTo(
+				"id:1\nevent:room-changes\ndata:{\"version\":1,\"changes\":[{\"type\":\"topic-changed\",\"topic\":\"Foo\"}]}\n\n" +
+						"id:2\nevent:room-changes\ndata:{\"version\":2,\"changes\":[{\"type\":\"card-set-changed\",\"cardSetName\":\"My Set 2\"}," +
+						"{\"type\":\"votes-cleared\"}]}\n\n");
+	}
+
+	@Test
+	@DisplayName("GET `/api/rooms/{room-name}/events` sends changes committed while subscribing")
+	void getRoomEventsSendsChangesCommittedWhileSubscribing() throws Exception {
+		final Room staleRoom = new Room("my-changing-room", new CardSet("My Set"));
+		staleRoom.addMember(new RoomMember("Bob"));
+		final Room changedRoom = staleRoom.copy();
+		changedRoom.setTopic("Foo");
+		changedRoom.setVersion(1);
+		roomChangeLog.onRoomChanged(new RoomChangedEvent(changedRoom, changedRoom.getVersion(), List.of(new RoomChange.TopicChanged("Foo"))));
+		given(roomRepository.findByName("my-changing-room")).willReturn(Optional.of(staleRoom), Optional.of(changedRoom));
+		given(roomRepository.findVersionByName("my-changing-room")).willReturn(Optional.of(1L));
+
+		final MvcResult mvcResult = mockMvc.perform(get("/api/rooms/my-changing-room/events").with(MockOidcLogins.bobOidcLogin()))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+
+		assertThat(mvcResult.getResponse().getContentAsString()).startsWith("id:0\nevent:room\ndata:{\"name\":\"my-changing-room\"")
+				.endsWith("id:1\nevent:room-changes\ndata:{\"version\":1,\"changes\":[{\"type\":\"topic-changed\",\"topic\":\"Foo\"}]}\n\n");
+	}
+
+	@Test
+	@DisplayName("GET `/api/rooms/{room-name}/events` sends room on reconnect if missed changes are unknown")
+	void getRoomEventsSendsRoomIfChangesUnknown() throws Exception {
+		final Room room = new Room("my-room", new CardSet("My Set"));
+		room.addMember(new RoomMember("Bob"));
+		room.setVersion(2);
+		given(roomRepository.findByName("my-room")).willReturn(Optional.of(room));
+
+		final MvcResult mvcResult = mockMvc.perform(get("/api/rooms/my-room/events").header("Last-Event-ID", "1")
+						.with(MockOidcLogins.bobOidcLogin()))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+
+		assertThat(mvcResult.getResponse().getContentAsString()).startsWith("id:2\nevent:room\ndata:{\"name\":\"my-room\"");
+	}
+
+	@Test
+	@DisplayName("GET `/api/rooms/{room-name}/events` ends stream when no longer a member")
+	void getRoomEventsEndsForFormerMember() throws Exception {
+		final Room room = new Room("my-room", new CardSet("My Set"));
+		given(roomRepository.findByName("my-room")).willReturn(Optional.of(room));
+
+		final RoomMember roomMember = new RoomMember("Bob");
+		room.addMember(roomMember);
+
+		final MvcResult mvcResult = mockMvc.perform(get("/api/rooms/my-room/events").with(MockOidcLogins.bobOidcLogin()))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+
+		room.removeMember(roomMember);
+		roomEventService.onRoomChanged(new RoomChangedEvent(room, room.getVersion(), List.of(new RoomChange.MemberLeft("Bob"))));
+
+		mockMvc.perform(asyncDispatch(mvcResult)).andExpect(status().isOk());
+	}
+
+	@Test
+	@DisplayName("GET `/api/rooms/{room-name}/?since` throws when not a member")
+	void waitForRoomChangeNotMember() throws Exception {
+		final Room room = new Room("my-room", new CardSet("My Set"));
+		room.addMember(new RoomMember("Alice"));
+		given(roomRepository.findByName("my-room")).willReturn(Optional.of(room));
+
+		mockMvc.perform(get("/api/rooms/my-room/").param("since", "0").with(MockOidcLogins.bobOidcLogin())).andExpect(status().isForbidden());
+	}
+
+	@Test
+	@DisplayName("GET `/api/rooms/{room-name}/?since` responds immediately if already changed")
+	void waitForRoomChangeAlreadyChanged() throws Exception {
+		final Room room = new Room("my-room", new CardSet("My Set"));
+		room.addMember(new RoomMember("Bob"));
+		room.setVersion(3);
+		given(roomRepository.findByName("my-room")).willReturn(Optional.of(room));
+
+		final MvcResult mvcResult = mockMvc.perform(get("/api/rooms/my-room/").param("since", "2").with(MockOidcLogins.bobOidcLogin()))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+
+		mockMvc.perform(asyncDispatch(mvcResult))
+				.andExpect(status().isOk())
+				.andExpect(header().string("ETag", "\"3\""))
+				.andExpect(jsonPath("$.name").value("my-room"));
+	}
+
+	@Test
+	@DisplayName("GET `/api/rooms/{room-name}/?since` waits for change")
+	void waitForRoomChangeWaits() throws Exception {
+		final CardSet cardSet = new CardSet("My Set");
+		final Card card = new Card("1", 1.0);
+		cardSet.getCards().add(card);
+		final Room room = new Room("my-room", cardSet);
+		room.setVersion(2);
+		given(roomRepository.findByName("my-room")).willReturn(Optional.of(room));
+
+		final RoomMember roomMember = new RoomMember("Bob");
+		room.addMember(roomMember);
+
+		final MvcResult mvcResult = mockMvc.perform(get("/api/rooms/my-room/").param("since", "2").with(MockOidcLogins.bobOidcLogin()))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		assertThat(mvcResult.getResponse().getContentAsString()).isEmpty();
+
+		roomMember.setVote(card);
+		room.setVersion(3);
+		roomLongPollService.onRoomChanged(new RoomChangedEvent(room, room.getVersion(), List.of(new RoomChange.MemberVoted("Bob", CardJson.convert(card), true))));
+
+		mockMvc.perform(asyncDispatch(mvcResult))
+				.andExpect(status().isOk())
+				.andExpect(header().string("ETag", "\"3\""))
+				.andExpect(jsonPath("$.members[0].vote.name").value("1"));
+	}
+
+	@Test
+	@DisplayName("GET `/api/rooms/{room-name}/?since` picks up change committed while registering")
+	void waitForRoomChangeConcurrentChange() throws Exception {
+		final Room room = new Room("my-room", new CardSet("My Set"));
+		room.addMember(new RoomMember("Bob"));
+		room.setVersion(2);
+		final Room changedRoom = new Room("my-room", new CardSet("My Set"));
+		changedRoom.addMember(new RoomMember("Bob"));
+		changedRoom.setTopic("Changed");
+		changedRoom.setVersion(3);
+		given(roomRepository.findByName("my-room")).willReturn(Optional.of(room), Optional.of(changedRoom));
+		given(roomRepository.findVersionByName("my-room")).willReturn(Optional.of(3L));
+
+		final MvcResult mvcResult = mockMvc.perform(get("/api/rooms/my-room/").param("since", "2").with(MockOidcLogins.bobOidcLogin()))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+
+		mockMvc.perform(asyncDispatch(mvcResult)).andExpect(status().isOk()).andExpect(jsonPath("$.topic").value("Changed"));
+	}
+
+	@Test
+	@DisplayName("GET `/api/rooms/{room-name}/?since` throws when room is deleted")
+	void waitForRoomChangeDeleted() throws Exception {
+		final Room room = new Room("my-room", new CardSet("My Set"));
+		room.addMember(new RoomMember("Bob"));
+		given(roomRepository.findByName("my-room")).willReturn(Optional.of(room));
+
+		final MvcResult mvcResult = mockMvc.perform(get("/api/rooms/my-room/").param("since", "0").with(MockOidcLogins.bobOidcLogin()))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+
+		roomLongPollService.onRoomDeleted(new RoomDeletedEvent(room));
+
+		mockMvc.perform(asyncDispatch(mvcResult)).andExpect(status().isNotFound());
+	}
 }
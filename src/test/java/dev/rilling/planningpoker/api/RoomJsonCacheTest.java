@@ -0,0 +1,88 @@
+package dev.rilling.planningpoker.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.rilling.planningpoker.data.Card;
+import dev.rilling.planningpoker.data.CardSet;
+import dev.rilling.planningpoker.data.Room;
+import dev.rilling.planningpoker.data.RoomMember;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RoomJsonCacheTest {
+
+	final ObjectMapper objectMapper = new ObjectMapper();
+
+	RoomJsonCache roomJsonCache;
+
+	Room room;
+	RoomMember alice;
+	RoomMember bob;
+	RoomMember carol;
+
+	@BeforeEach
+	void setUp() {
+		roomJsonCache = new RoomJsonCache(objectMapper, new ConcurrentMapCacheManager(RoomJsonCache.CACHE_NAME));
+
+		final CardSet cardSet = new CardSet("My Set");
+		final Card card1 = new Card("1", 1.0);
+		final Card card3 = new Card("3", 3.0);
+		cardSet.getCards().add(card1);
+		cardSet.getCards().add(card3);
+		room = new Room("My \"members\":[] Room", cardSet);
+		alice = new RoomMember("Alice");
+		alice.setVote(card1);
+		bob = new RoomMember("Bob");
+		carol = new RoomMember("Carol");
+		carol.setVote(card3);
+		room.addMember(carol);
+		room.addMember(alice);
+		room.addMember(bob);
+	}
+
+	@Test
+	@DisplayName("serializes open room with own vote only")
+	void serializesOpen() throws Exception {
+		assertThat(roomJsonCache.getDetailed(room, alice)).isEqualTo(serialize(alice));
+		assertThat(roomJsonCache.getDetailed(room, bob)).isEqualTo(serialize(bob));
+		assertThat(roomJsonCache.getDetailed(room, carol)).isEqualTo(serialize(carol));
+	}
+
+	@Test
+	@DisplayName("serializes closed room with all votes")
+	void serializesClosed() throws Exception {
+		room.setVotingState(Room.VotingState.CLOSED);
+
+		assertThat(roomJsonCache.getDetailed(room, alice)).isEqualTo(serialize(alice));
+		assertThat(roomJsonCache.getDetailed(room, bob)).isEqualTo(serialize(bob));
+	}
+
+	@Test
+	@DisplayName("shares serialized room between viewers")
+	void sharesSerializedRoom() {
+		room.setVotingState(Room.VotingState.CLOSED);
+
+		assertThat(roomJsonCache.getDetailed(room, alice)).isSameAs(roomJsonCache.getDetailed(room, bob));
+	}
+
+	@Test
+	@DisplayName("serializes changed room again")
+	void serializesChangedRoom() throws Exception {
+		final byte[] json = roomJsonCache.getDetailed(room, bob);
+
+		final Room changedRoom = room.copy();
+		changedRoom.setVotingState(Room.VotingState.CLOSED);
+		final RoomMember changedBob = changedRoom.findMemberByUser("Bob").orElseThrow();
+
+		assertThat(roomJsonCache.getDetailed(changedRoom, changedBob)).isNotEqualTo(json)
+				.isEqualTo(objectMapper.writeValueAsBytes(RoomJson.convertToDetailed(changedRoom,
+						RoomJson.showVotesTo(changedRoom, changedBob))));
+	}
+
+	private byte[] serialize(RoomMember viewingMember) throws Exception {
+		return objectMapper.writeValueAsBytes(RoomJson.convertToDetailed(room, RoomJson.showVotesTo(room, viewingMember)));
+	}
+}
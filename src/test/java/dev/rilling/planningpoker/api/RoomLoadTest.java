@@ -0,0 +1,211 @@
+package dev.rilling.planningpoker.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Simulates rooms whose members run the same loop as the web app: join, then repeatedly load the room, vote, load the summary
+ * and clear the votes. Requests go through the full application including security and an in-memory database.
+ * <p>
+ * Only runs using the {@code load-test} profile. Sizes and limits are configured using {@code load-test.*} system properties.
+ * Throughput and latency percentiles per endpoint are logged and written to {@code load-test.result-file}.
+ */
+@Tag("load")
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class RoomLoadTest {
+
+	private static final Logger logger = LoggerFactory.getLogger(RoomLoadTest.class);
+
+	private static final int ROOM_COUNT = Integer.getInteger("load-test.rooms", 20);
+	private static final int MEMBER_COUNT = Integer.getInteger("load-test.members", 8);
+	private static final int ROUND_COUNT = Integer.getInteger("load-test.rounds", 10);
+	private static final long MAX_P99_MILLIS = Long.getLong("load-test.max-p99-millis", 1000);
+	private static final Path RESULT_FILE = Path.of(System.getProperty("load-test.result-file", "target/load-test-result.json"));
+
+	private static final String CARD_SET_NAME = "1 through 10";
+	private static final List<String> CARD_NAMES = List.of("1", "2", "3", "4", "5", "6", "7", "8", "9", "10", "?");
+	// Generous, so a slow instance shows up in the latencies rather than as a broken barrier.
+	private static final long ROUND_TIMEOUT_SECONDS = 60;
+
+	@Autowired
+	MockMvc mockMvc;
+
+	@Autowired
+	ObjectMapper objectMapper;
+
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
+	private final ConcurrentMap<String, Latencies> latenciesByEndpoint = new ConcurrentHashMap<>(8);
+
+	@Test
+	@DisplayName("handles concurrent rooms and voters")
+	void handlesConcurrentRoomsAndVoters() throws Exception {
+		for (int i = 0; i < ROOM_COUNT; i++) {
+			mockMvc.perform(post("/api/rooms/load-room-{room}", i).with(MockOidcLogins.oidcLoginAs("load-admin"))
+							.with(csrf())
+							.contentType(MediaType.APPLICATION_JSON)
+							.content("{\"cardSetName\":\"%s\"}".formatted(CARD_SET_NAME))).andExpect(status().isOk());
+		}
+
+		final List<String> usernames = new ArrayList<>(ROOM_COUNT * MEMBER_COUNT);
+		for (int i = 0; i < ROOM_COUNT; i++) {
+			for (int j = 0; j < MEMBER_COUNT; j++) {
+				usernames.add(getUsername(i, j));
+			}
+		}
+		TestRooms.createUsers(jdbcTemplate, usernames);
+
+		final long start = System.nanoTime();
+		try (ExecutorService executorService = Executors.newVirtualThreadPerTaskExecutor()) {
+			final List<Future<?>> clients = new ArrayList<>(ROOM_COUNT * MEMBER_COUNT);
+			for (int i = 0; i < ROOM_COUNT; i++) {
+				final String roomName = "load-room-" + i;
+				final CyclicBarrier roundBarrier = new CyclicBarrier(MEMBER_COUNT);
+				for (int j = 0; j < MEMBER_COUNT; j++) {
+					final String username = getUsername(i, j);
+					final boolean leader = j == 0;
+					clients.add(executorService.submit(() -> {
+						runClient(roomName, username, leader, roundBarrier);
+						return null;
+					}));
+				}
+			}
+			for (Future<?> client : clients) {
+				client.get();
+			}
+		}
+		final double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+		final Map<String, EndpointResult> results = new TreeMap<>();
+		latenciesByEndpoint.forEach((endpoint, latencies) -> results.put(endpoint, latencies.summarize(elapsedSeconds)));
+		report(results);
+
+		assertThat(results.values()).allSatisfy(result -> {
+			assertThat(result.errors()).as("errors of %s", result).isZero();
+			assertThat(result.p99Millis()).as("p99 of %s", result).isLessThanOrEqualTo(MAX_P99_MILLIS);
+		});
+	}
+
+	private static String getUsername(int room, int member) {
+		return "load-user-%d-%d".formatted(room, member);
+	}
+
+	private void runClient(String roomName, String username, boolean leader, CyclicBarrier roundBarrier) throws Exception {
+		perform("joinRoom", post("/api/rooms/{room}/members", roomName).with(MockOidcLogins.oidcLoginAs(username)).with(csrf()));
+		roundBarrier.await(ROUND_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+		final Random random = new Random(username.hashCode());
+		for (int round = 0; round < ROUND_COUNT; round++) {
+			perform("getRoom", get("/api/rooms/{room}/", roomName).with(MockOidcLogins.oidcLoginAs(username)));
+			perform("createVote",
+					post("/api/rooms/{room}/votes", roomName).param("card-name", CARD_NAMES.get(random.nextInt(CARD_NAMES.size())))
+							.with(MockOidcLogins.oidcLoginAs(username))
+							.with(csrf()));
+			roundBarrier.await(ROUND_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+			perform("getSummary", get("/api/rooms/{room}/votes/summary", roomName).with(MockOidcLogins.oidcLoginAs(username)));
+			roundBarrier.await(ROUND_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+			if (leader) {
+				perform("clearVotes", delete("/api/rooms/{room}/votes", roomName).with(MockOidcLogins.oidcLoginAs(username)).with(csrf()));
+			}
+			roundBarrier.await(ROUND_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+		}
+	}
+
+	private void perform(String endpoint, MockHttpServletRequestBuilder request) throws Exception {
+		final long start = System.nanoTime();
+		final int status = mockMvc.perform(request).andReturn().getResponse().getStatus();
+		final long durationNanos = System.nanoTime() - start;
+		latenciesByEndpoint.computeIfAbsent(endpoint, Latencies::new).record(durationNanos, status >= 400);
+	}
+
+	private void report(Map<String, EndpointResult> results) throws Exception {
+		logger.info("Load test with {} rooms of {} members for {} rounds:", ROOM_COUNT, MEMBER_COUNT, ROUND_COUNT);
+		results.values()
+				.forEach(result -> logger.info("{}: {} requests ({} errors), {} requests/s, p50 {} ms, p90 {} ms, p99 {} ms, max {} ms.",
+						result.endpoint(),
+						result.requests(),
+						result.errors(),
+						"%.1f".formatted(result.throughput()),
+						"%.2f".formatted(result.p50Millis()),
+						"%.2f".formatted(result.p90Millis()),
+						"%.2f".formatted(result.p99Millis()),
+						"%.2f".formatted(result.maxMillis())));
+
+		Files.createDirectories(RESULT_FILE.toAbsolutePath().getParent());
+		objectMapper.writerWithDefaultPrettyPrinter().writeValue(RESULT_FILE.toFile(), results);
+	}
+
+	/**
+	 * Latencies recorded for one endpoint, kept as primitives so recording does not skew the measurement by allocating.
+	 */
+	private static final class Latencies {
+		private final String endpoint;
+		private long[] durationsNanos = new long[1024];
+		private int count;
+		private int errors;
+
+		Latencies(String endpoint) {
+			this.endpoint = endpoint;
+		}
+
+		synchronized void record(long durationNanos, boolean error) {
+			if (count == durationsNanos.length) {
+				durationsNanos = Arrays.copyOf(durationsNanos, count * 2);
+			}
+			durationsNanos[count++] = durationNanos;
+			if (error) {
+				errors++;
+			}
+		}
+
+		synchronized EndpointResult summarize(double elapsedSeconds) {
+			final long[] sorted = Arrays.copyOf(durationsNanos, count);
+			Arrays.sort(sorted);
+			return new EndpointResult(endpoint,
+					count,
+					errors,
+					count / elapsedSeconds,
+					percentileMillis(sorted, 0.5),
+					percentileMillis(sorted, 0.9),
+					percentileMillis(sorted, 0.99),
+					percentileMillis(sorted, 1));
+		}
+
+		// Nearest-rank method.
+		private static double percentileMillis(long[] sorted, double percentile) {
+			final int rank = (int) Math.ceil(percentile * sorted.length);
+			return sorted[Math.max(rank - 1, 0)] / 1_000_000.0;
+		}
+	}
+
+	record EndpointResult(String endpoint, int requests, int errors, double throughput, double p50Millis, double p90Millis, double p99Millis,
+						  double maxMillis) {
+	}
+}
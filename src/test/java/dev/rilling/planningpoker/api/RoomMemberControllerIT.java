@@ -9,6 +9,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.Optional;
@@ -22,6 +23,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(value = RoomMemberController.class)
+@Import(RoomCache.class)
 class RoomMemberControllerIT {
 
 	@MockBean
@@ -57,7 +59,7 @@ class RoomMemberControllerIT {
 	@DisplayName("POST `/api/rooms/{room-name}/members` does not throw when already in room")
 	void joinRoomAlreadyJoined() throws Exception {
 		final Room room = new Room("my-room", new CardSet("My Set"));
-		room.getMembers().add(new RoomMember("Bob"));
+		room.addMember(new RoomMember("Bob"));
 		given(roomRepository.findByName("my-room")).willReturn(Optional.of(room));
 
 		mockMvc.perform(post("/api/rooms/my-room/members").with(MockOidcLogins.bobOidcLogin()).with(csrf())).andExpect(status().isOk());
@@ -80,7 +82,7 @@ class RoomMemberControllerIT {
 		given(roomRepository.findByName("my-room")).willReturn(Optional.of(room));
 
 		final RoomMember roomMember = new RoomMember("Bob");
-		room.getMembers().add(roomMember);
+		room.addMember(roomMember);
 
 		mockMvc.perform(delete("/api/rooms/my-room/members").with(MockOidcLogins.bobOidcLogin()).with(csrf())).andExpect(status().isOk());
 
@@ -114,7 +116,7 @@ class RoomMemberControllerIT {
 		final Room room = new Room("my-room", new CardSet("My Set 1"));
 		given(roomRepository.findByName("my-room")).willReturn(Optional.of(room));
 
-		room.getMembers().add(new RoomMember("Alice"));
+		room.addMember(new RoomMember("Alice"));
 
 		mockMvc.perform(patch("/api/rooms/my-room/members/Bob").with(MockOidcLogins.bobOidcLogin()).queryParam("action", "SET_OBSERVER").with(csrf()))
 				.andExpect(status().isForbidden());
@@ -126,7 +128,7 @@ class RoomMemberControllerIT {
 		final Room room = new Room("my-room", new CardSet("My Set"));
 		given(roomRepository.findByName("my-room")).willReturn(Optional.of(room));
 
-		room.getMembers().add(new RoomMember("Bob"));
+		room.addMember(new RoomMember("Bob"));
 
 		mockMvc.perform(patch("/api/rooms/my-room/members/Alice").with(MockOidcLogins.bobOidcLogin()).queryParam("action", "SET_OBSERVER").with(csrf()))
 				.andExpect(status().isBadRequest());
@@ -140,7 +142,7 @@ class RoomMemberControllerIT {
 
 		final RoomMember roomMember = new RoomMember("Bob");
 		roomMember.setRole(RoomMember.Role.VOTER);
-		room.getMembers().add(roomMember);
+		room.addMember(roomMember);
 
 		mockMvc.perform(patch("/api/rooms/my-room/members/Bob").with(MockOidcLogins.bobOidcLogin())
 				.with(MockOidcLogins.bobOidcLogin())
@@ -159,7 +161,7 @@ class RoomMemberControllerIT {
 
 		final RoomMember roomMember = new RoomMember("Bob");
 		roomMember.setRole(RoomMember.Role.OBSERVER);
-		room.getMembers().add(roomMember);
+		room.addMember(roomMember);
 
 		mockMvc.perform(patch("/api/rooms/my-room/members/Bob").with(MockOidcLogins.bobOidcLogin()).queryParam("action", "SET_VOTER").with(csrf()))
 				.andExpect(status().isOk());
@@ -175,9 +177,9 @@ class RoomMemberControllerIT {
 		given(roomRepository.findByName("my-room")).willReturn(Optional.of(room));
 
 		final RoomMember alice = new RoomMember("Alice");
-		room.getMembers().add(alice);
+		room.addMember(alice);
 		final RoomMember bob = new RoomMember("Bob");
-		room.getMembers().add(bob);
+		room.addMember(bob);
 
 		mockMvc.perform(patch("/api/rooms/my-room/members/Alice").with(MockOidcLogins.bobOidcLogin()).queryParam("action", "KICK").with(csrf()))
 				.andExpect(status().isOk());
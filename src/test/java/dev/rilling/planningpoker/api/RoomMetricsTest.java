@@ -0,0 +1,85 @@
+package dev.rilling.planningpoker.api;
+
+import dev.rilling.planningpoker.data.Card;
+import dev.rilling.planningpoker.data.CardSet;
+import dev.rilling.planningpoker.data.Room;
+import dev.rilling.planningpoker.data.RoomRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class RoomMetricsTest {
+
+	@Mock
+	RoomRepository roomRepository;
+
+	@Mock
+	RoomEventService roomEventService;
+
+	@Mock
+	RoomLongPollService roomLongPollService;
+
+	SimpleMeterRegistry meterRegistry;
+
+	RoomMetrics roomMetrics;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		roomMetrics = new RoomMetrics(meterRegistry, roomRepository, roomEventService, roomLongPollService);
+	}
+
+	@Test
+	@DisplayName("counts votes and closed votings")
+	void countsVotes() {
+		final Room room = new Room("My Room", new CardSet("My Set"));
+		final CardJson card = CardJson.convert(new Card("1", 1.0));
+
+		roomMetrics.onRoomChanged(new RoomChangedEvent(room, room.getVersion(), List.of(new RoomChange.MemberVoted("Alice", card, false))));
+		roomMetrics.onRoomChanged(new RoomChangedEvent(room, room.getVersion(),
+				List.of(new RoomChange.MemberVoted("Bob", card, false), new RoomChange.VotingClosed(Map.of("Alice", card, "Bob", card)))));
+
+		assertThat(meterRegistry.get(RoomMetrics.VOTES_METER_NAME).counter().count()).isEqualTo(2);
+		assertThat(meterRegistry.get(RoomMetrics.VOTINGS_CLOSED_METER_NAME).counter().count()).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("does not count removed votes")
+	void ignoresRemovedVotes() {
+		final Room room = new Room("My Room", new CardSet("My Set"));
+
+		roomMetrics.onRoomChanged(new RoomChangedEvent(room, room.getVersion(),
+				List.of(new RoomChange.RoleChanged("Alice", "OBSERVER"), new RoomChange.MemberVoted("Alice", null, false))));
+
+		assertThat(meterRegistry.get(RoomMetrics.VOTES_METER_NAME).counter().count()).isZero();
+	}
+
+	@Test
+	@DisplayName("measures rooms, members and push connections")
+	void measuresRooms() {
+		given(roomRepository.count()).willReturn(3L);
+		given(roomRepository.countMembers()).willReturn(12L);
+		given(roomEventService.getRoomCount()).willReturn(2);
+		given(roomEventService.getSubscriptionCount()).willReturn(5);
+		given(roomLongPollService.getRoomCount()).willReturn(1);
+		given(roomLongPollService.getWaiterCount()).willReturn(1);
+
+		assertThat(meterRegistry.get(RoomMetrics.ROOMS_METER_NAME).gauge().value()).isEqualTo(3);
+		assertThat(meterRegistry.get(RoomMetrics.MEMBERS_METER_NAME).gauge().value()).isEqualTo(12);
+		assertThat(meterRegistry.get(RoomMetrics.ACTIVE_ROOMS_METER_NAME).tag("type", "event-stream").gauge().value()).isEqualTo(2);
+		assertThat(meterRegistry.get(RoomMetrics.ACTIVE_ROOMS_METER_NAME).tag("type", "long-poll").gauge().value()).isEqualTo(1);
+		assertThat(meterRegistry.get(RoomMetrics.PUSH_CONNECTIONS_METER_NAME).tag("type", "event-stream").gauge().value()).isEqualTo(5);
+		assertThat(meterRegistry.get(RoomMetrics.PUSH_CONNECTIONS_METER_NAME).tag("type", "long-poll").gauge().value()).isEqualTo(1);
+	}
+}
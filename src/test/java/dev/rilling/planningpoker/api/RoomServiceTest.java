@@ -2,20 +2,32 @@ package dev.rilling.planningpoker.api;
 
 
 import dev.rilling.planningpoker.data.*;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.InjectMocks;
+import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 class RoomServiceTest {
 
+	@Mock
+	ApplicationEventPublisher applicationEventPublisher;
+
 	@InjectMocks
 	RoomService roomService;
 
@@ -43,7 +55,7 @@ class RoomServiceTest {
 
 		final RoomMember roomMember = new RoomMember("Bob");
 		roomMember.setVote(card1);
-		room.getMembers().add(roomMember);
+		room.addMember(roomMember);
 
 		final CardSet newCardSet = new CardSet("My Set 2");
 
@@ -63,6 +75,92 @@ class RoomServiceTest {
 		assertThat(room.getTopic()).isEqualTo("Foo!");
 	}
 
+	@Test
+	@DisplayName("records mutation as flight event")
+	void recordsFlightEvent(@TempDir Path tempDir) throws Exception {
+		final Room room = new Room("My Room", new CardSet("My Set"));
+		room.addMember(new RoomMember("Bob"));
+
+		final Path file = tempDir.resolve("recording.jfr");
+		try (Recording recording = new Recording()) {
+			recording.enable(RoomMutationFlightEvent.class);
+			recording.start();
+			roomService.editTopic(room, "Foo!");
+			recording.stop();
+			recording.dump(file);
+		}
+
+		assertThat(RecordingFile.readAllEvents(file)).singleElement().satisfies(event -> {
+			assertThat(event.getString("operation")).isEqualTo("edit-topic");
+			assertThat(event.getString("roomName")).isEqualTo("My Room");
+			assertThat(event.getInt("memberCount")).isEqualTo(1);
+		});
+	}
+
+	@Test
+	@DisplayName("publishes change")
+	void publishesChange() {
+		final Room room = new Room("My Room", new CardSet("My Set"));
+
+		roomService.editTopic(room, "Foo!");
+
+		verify(applicationEventPublisher).publishEvent(new RoomChangedEvent(room, room.getVersion(), List.of(new RoomChange.TopicChanged("Foo!"))));
+	}
+
+	@Test
+	@DisplayName("publishes hidden vote change")
+	void publishesVoteChange() {
+		final CardSet cardSet = new CardSet("My Set");
+		final Card card = new Card("1", 1.0);
+		cardSet.getCards().add(card);
+		final Room room = new Room("My Room", cardSet);
+
+		final RoomMember roomMember1 = new RoomMember("Bob");
+		room.addMember(roomMember1);
+		final RoomMember roomMember2 = new RoomMember("Alice");
+		room.addMember(roomMember2);
+
+		roomService.setVote(room, roomMember1, card);
+
+		final RoomChange.MemberVoted memberVoted = new RoomChange.MemberVoted("Bob", CardJson.convert(card), false);
+		verify(applicationEventPublisher).publishEvent(new RoomChangedEvent(room, room.getVersion(), List.of(memberVoted)));
+		assertThat(memberVoted.forViewer("Bob")).isEqualTo(memberVoted);
+		assertThat(memberVoted.forViewer("Alice")).isEqualTo(new RoomChange.MemberVoted("Bob", RoomMemberJson.HIDDEN_CARD, false));
+	}
+
+	@Test
+	@DisplayName("publishes votes when voting is closed")
+	void publishesVotingClosedChange() {
+		final CardSet cardSet = new CardSet("My Set");
+		final Card card = new Card("1", 1.0);
+		cardSet.getCards().add(card);
+		final Room room = new Room("My Room", cardSet);
+
+		final RoomMember roomMember1 = new RoomMember("Bob");
+		roomMember1.setVote(card);
+		room.addMember(roomMember1);
+		final RoomMember roomMember2 = new RoomMember("Alice");
+		room.addMember(roomMember2);
+
+		roomService.setVote(room, roomMember2, card);
+
+		verify(applicationEventPublisher).publishEvent(new RoomChangedEvent(room, room.getVersion(),
+				List.of(new RoomChange.MemberVoted("Alice", CardJson.convert(card), false),
+						new RoomChange.VotingClosed(Map.of("Bob", CardJson.convert(card), "Alice", CardJson.convert(card))))));
+	}
+
+	@Test
+	@DisplayName("increments version")
+	void incrementsVersion() {
+		final Room room = new Room("My Room", new CardSet("My Set"));
+		final RoomMember roomMember = new RoomMember("Bob");
+
+		roomService.addMember(room, roomMember);
+		roomService.setRole(room, roomMember, RoomMember.Role.OBSERVER);
+
+		assertThat(room.getVersion()).isEqualTo(2);
+	}
+
 	@Test
 	@DisplayName("adds extension")
 	void editExtensionsAddsExtension() {
@@ -130,7 +228,7 @@ class RoomServiceTest {
 	void removeMemberRemoves() {
 		final Room room = new Room("My Room", new CardSet("My Set"));
 		final RoomMember roomMember = new RoomMember("Bob");
-		room.getMembers().add(roomMember);
+		room.addMember(roomMember);
 
 		roomService.removeMember(room, roomMember);
 
@@ -147,11 +245,11 @@ class RoomServiceTest {
 		room.setVotingState(Room.VotingState.OPEN);
 
 		final RoomMember roomMember1 = new RoomMember("Bob");
-		room.getMembers().add(roomMember1);
+		room.addMember(roomMember1);
 
 		final RoomMember roomMember2 = new RoomMember("Alice");
 		roomMember2.setVote(card1);
-		room.getMembers().add(roomMember2);
+		room.addMember(roomMember2);
 
 		roomService.removeMember(room, roomMember1);
 
@@ -166,11 +264,11 @@ class RoomServiceTest {
 		room.setVotingState(Room.VotingState.OPEN);
 
 		final RoomMember roomMember1 = new RoomMember("Bob");
-		room.getMembers().add(roomMember1);
+		room.addMember(roomMember1);
 
 		final RoomMember roomMember2 = new RoomMember("Alice");
 		roomMember2.setRole(RoomMember.Role.OBSERVER);
-		room.getMembers().add(roomMember2);
+		room.addMember(roomMember2);
 
 		roomService.removeMember(room, roomMember1);
 
@@ -185,7 +283,7 @@ class RoomServiceTest {
 
 		final RoomMember roomMember = new RoomMember("Bob");
 		roomMember.setRole(RoomMember.Role.VOTER);
-		room.getMembers().add(roomMember);
+		room.addMember(roomMember);
 
 		roomService.setRole(room, roomMember, RoomMember.Role.OBSERVER);
 
@@ -203,12 +301,12 @@ class RoomServiceTest {
 
 		final RoomMember roomMember1 = new RoomMember("Bob");
 		roomMember1.setRole(RoomMember.Role.VOTER);
-		room.getMembers().add(roomMember1);
+		room.addMember(roomMember1);
 
 		final RoomMember roomMember2 = new RoomMember("Alice");
 		roomMember2.setRole(RoomMember.Role.VOTER);
 		roomMember2.setVote(card1);
-		room.getMembers().add(roomMember2);
+		room.addMember(roomMember2);
 
 		roomService.setRole(room, roomMember1, RoomMember.Role.OBSERVER);
 
@@ -224,11 +322,11 @@ class RoomServiceTest {
 
 		final RoomMember roomMember1 = new RoomMember("Bob");
 		roomMember1.setRole(RoomMember.Role.VOTER);
-		room.getMembers().add(roomMember1);
+		room.addMember(roomMember1);
 
 		final RoomMember roomMember2 = new RoomMember("Alice");
 		roomMember2.setRole(RoomMember.Role.OBSERVER);
-		room.getMembers().add(roomMember2);
+		room.addMember(roomMember2);
 
 		roomService.setRole(room, roomMember1, RoomMember.Role.OBSERVER);
 
@@ -243,7 +341,7 @@ class RoomServiceTest {
 
 		final RoomMember roomMember = new RoomMember("Bob");
 		roomMember.setRole(RoomMember.Role.OBSERVER);
-		room.getMembers().add(roomMember);
+		room.addMember(roomMember);
 
 		roomService.setRole(room, roomMember, RoomMember.Role.VOTER);
 
@@ -258,7 +356,7 @@ class RoomServiceTest {
 
 		final RoomMember roomMember = new RoomMember("Bob");
 		roomMember.setRole(RoomMember.Role.OBSERVER);
-		room.getMembers().add(roomMember);
+		room.addMember(roomMember);
 
 		roomService.setRole(room, roomMember, RoomMember.Role.OBSERVER);
 
@@ -275,7 +373,7 @@ class RoomServiceTest {
 		final Room room = new Room("My Room", cardSet);
 
 		final RoomMember roomMember = new RoomMember("Bob");
-		room.getMembers().add(roomMember);
+		room.addMember(roomMember);
 
 		roomService.setVote(room, roomMember, card);
 
@@ -292,10 +390,10 @@ class RoomServiceTest {
 		final Room room = new Room("My Room", cardSet);
 
 		final RoomMember roomMember1 = new RoomMember("Bob");
-		room.getMembers().add(roomMember1);
+		room.addMember(roomMember1);
 
 		final RoomMember roomMember2 = new RoomMember("Alice");
-		room.getMembers().add(roomMember2);
+		room.addMember(roomMember2);
 
 		roomService.setVote(room, roomMember1, card);
 
@@ -314,10 +412,10 @@ class RoomServiceTest {
 
 		final RoomMember roomMember1 = new RoomMember("Bob");
 		roomMember1.setVote(card1);
-		room.getMembers().add(roomMember1);
+		room.addMember(roomMember1);
 
 		final RoomMember roomMember2 = new RoomMember("Alice");
-		room.getMembers().add(roomMember2);
+		room.addMember(roomMember2);
 
 		roomService.setVote(room, roomMember1, card2);
 
@@ -336,11 +434,11 @@ class RoomServiceTest {
 
 		final RoomMember roomMember1 = new RoomMember("Bob");
 		roomMember1.setVote(card1);
-		room.getMembers().add(roomMember1);
+		room.addMember(roomMember1);
 
 		final RoomMember roomMember2 = new RoomMember("Alice");
 		roomMember2.setVote(card2);
-		room.getMembers().add(roomMember2);
+		room.addMember(roomMember2);
 		room.setVotingState(Room.VotingState.CLOSED);
 
 		roomService.clearVotes(room);
@@ -0,0 +1,212 @@
+package dev.rilling.planningpoker.api;
+
+import dev.rilling.planningpoker.data.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RoomVoteServiceTest {
+
+	@Mock
+	RoomRepository roomRepository;
+
+	@Mock
+	ApplicationEventPublisher applicationEventPublisher;
+
+	RoomVoteService roomVoteService;
+
+	@BeforeEach
+	void setUp() {
+		roomVoteService = new RoomVoteService(roomRepository, new RoomService(applicationEventPublisher));
+	}
+
+	@Test
+	@DisplayName("ignores vote if voting is closed")
+	void setVoteClosed() {
+		final CardSet cardSet = new CardSet("My Set");
+		final Card card = new Card("1", 1.0);
+		cardSet.getCards().add(card);
+		final Room room = new Room("My Room", cardSet);
+		final RoomMember roomMember = new RoomMember("Bob");
+		room.addMember(roomMember);
+		given(roomRepository.lockRoomIfVotingOpen("My Room")).willReturn(Optional.empty());
+
+		assertThat(roomVoteService.setVote(room, roomMember, card)).isFalse();
+
+		verify(roomRepository, never()).updateVote(any(), any(), any());
+		verify(applicationEventPublisher, never()).publishEvent(any());
+	}
+
+	@Test
+	@DisplayName("derives changed room from current cached room")
+	void setVoteCached() {
+		final CardSet cardSet = new CardSet("My Set");
+		final Card card = new Card("1", 1.0);
+		cardSet.getCards().add(card);
+		final Room room = new Room("My Room", cardSet);
+		room.setVersion(3);
+		final RoomMember roomMember = new RoomMember("Bob");
+		room.addMember(roomMember);
+		given(roomRepository.lockRoomIfVotingOpen("My Room")).willReturn(Optional.of(3L));
+		given(roomRepository.updateVote("My Room", "Bob", "1")).willReturn(1);
+		given(roomRepository.closeVotingIfComplete("My Room")).willReturn(1);
+
+		assertThat(roomVoteService.setVote(room, roomMember, card)).isTrue();
+
+		verify(roomRepository, never()).findByName(any());
+		verify(roomRepository).updateVersion("My Room", 4);
+
+		final ArgumentCaptor<RoomChangedEvent> eventCaptor = ArgumentCaptor.forClass(RoomChangedEvent.class);
+		verify(applicationEventPublisher).publishEvent(eventCaptor.capture());
+		final Room changedRoom = eventCaptor.getValue().room();
+		assertThat(changedRoom.getVersion()).isEqualTo(4);
+		assertThat(changedRoom.getVotingState()).isEqualTo(Room.VotingState.CLOSED);
+		assertThat(changedRoom.findMemberByUser("Bob").orElseThrow().getVote()).isEqualTo(card);
+		assertThat(eventCaptor.getValue().changes()).hasSize(2).last().isInstanceOf(RoomChange.VotingClosed.class);
+
+		// Cached room is shared and must stay unchanged.
+		assertThat(room.getVersion()).isEqualTo(3);
+		assertThat(room.getVotingState()).isEqualTo(Room.VotingState.OPEN);
+		assertThat(roomMember.getVote()).isNull();
+	}
+
+	@Test
+	@DisplayName("loads room if cached room is outdated")
+	void setVoteOutdated() {
+		final CardSet cardSet = new CardSet("My Set");
+		final Card card = new Card("1", 1.0);
+		cardSet.getCards().add(card);
+		final Room cachedRoom = new Room("My Room", cardSet);
+		final RoomMember cachedRoomMember = new RoomMember("Bob");
+		cachedRoom.addMember(cachedRoomMember);
+
+		final Room currentRoom = new Room("My Room", cardSet);
+		currentRoom.setVersion(1);
+		currentRoom.addMember(new RoomMember("Bob"));
+		currentRoom.addMember(new RoomMember("Alice"));
+		given(roomRepository.lockRoomIfVotingOpen("My Room")).willReturn(Optional.of(1L));
+		given(roomRepository.findByName("My Room")).willReturn(Optional.of(currentRoom));
+		given(roomRepository.updateVote("My Room", "Bob", "1")).willReturn(1);
+		given(roomRepository.closeVotingIfComplete("My Room")).willReturn(0);
+
+		assertThat(roomVoteService.setVote(cachedRoom, cachedRoomMember, card)).isTrue();
+
+		verify(roomRepository).updateVersion("My Room", 2);
+		final ArgumentCaptor<RoomChangedEvent> eventCaptor = ArgumentCaptor.forClass(RoomChangedEvent.class);
+		verify(applicationEventPublisher).publishEvent(eventCaptor.capture());
+		assertThat(eventCaptor.getValue().room().getMembers()).hasSize(2);
+		assertThat(eventCaptor.getValue().room().getVotingState()).isEqualTo(Room.VotingState.OPEN);
+	}
+
+	@Test
+	@DisplayName("sets vote if cached room is closed but voting was reopened")
+	void setVoteReopened() {
+		final CardSet cardSet = new CardSet("My Set");
+		final Card card = new Card("1", 1.0);
+		cardSet.getCards().add(card);
+		final Room cachedRoom = new Room("My Room", cardSet);
+		final RoomMember cachedRoomMember = new RoomMember("Bob");
+		cachedRoom.addMember(cachedRoomMember);
+		cachedRoom.setVotingState(Room.VotingState.CLOSED);
+
+		final Room currentRoom = new Room("My Room", cardSet);
+		currentRoom.setVersion(1);
+		currentRoom.addMember(new RoomMember("Bob"));
+		currentRoom.addMember(new RoomMember("Alice"));
+		given(roomRepository.lockRoomIfVotingOpen("My Room")).willReturn(Optional.of(1L));
+		given(roomRepository.findByName("My Room")).willReturn(Optional.of(currentRoom));
+		given(roomRepository.updateVote("My Room", "Bob", "1")).willReturn(1);
+		given(roomRepository.closeVotingIfComplete("My Room")).willReturn(0);
+
+		assertThat(roomVoteService.setVote(cachedRoom, cachedRoomMember, card)).isTrue();
+
+		verify(roomRepository).updateVersion("My Room", 2);
+	}
+
+	@Test
+	@DisplayName("throws if member is no longer a voter")
+	void setVoteNoLongerVoter() {
+		final CardSet cardSet = new CardSet("My Set");
+		final Card card = new Card("1", 1.0);
+		cardSet.getCards().add(card);
+		final Room cachedRoom = new Room("My Room", cardSet);
+		final RoomMember cachedRoomMember = new RoomMember("Bob");
+		cachedRoom.addMember(cachedRoomMember);
+
+		final Room currentRoom = new Room("My Room", cardSet);
+		currentRoom.setVersion(1);
+		final RoomMember currentRoomMember = new RoomMember("Bob");
+		currentRoomMember.setRole(RoomMember.Role.OBSERVER);
+		currentRoom.addMember(currentRoomMember);
+		given(roomRepository.lockRoomIfVotingOpen("My Room")).willReturn(Optional.of(1L));
+		given(roomRepository.findByName("My Room")).willReturn(Optional.of(currentRoom));
+
+		assertThatThrownBy(() -> roomVoteService.setVote(cachedRoom, cachedRoomMember, card)).isInstanceOf(OptimisticLockingFailureException.class);
+
+		verify(roomRepository, never()).updateVersion(any(), anyLong());
+	}
+
+	@Test
+	@DisplayName("throws if vote could not be set")
+	void setVoteNotUpdated() {
+		final CardSet cardSet = new CardSet("My Set");
+		final Card card = new Card("1", 1.0);
+		cardSet.getCards().add(card);
+		final Room room = new Room("My Room", cardSet);
+		final RoomMember roomMember = new RoomMember("Bob");
+		room.addMember(roomMember);
+		given(roomRepository.lockRoomIfVotingOpen("My Room")).willReturn(Optional.of(0L));
+		given(roomRepository.updateVote("My Room", "Bob", "1")).willReturn(0);
+
+		assertThatThrownBy(() -> roomVoteService.setVote(room, roomMember, card)).isInstanceOf(OptimisticLockingFailureException.class);
+
+		verify(roomRepository, never()).updateVersion(any(), anyLong());
+	}
+
+	@Test
+	@DisplayName("clears votes of all members and reopens voting")
+	void clearVotes() {
+		final CardSet cardSet = new CardSet("My Set");
+		final Card card = new Card("1", 1.0);
+		cardSet.getCards().add(card);
+		final Room room = new Room("My Room", cardSet);
+		room.setVotingState(Room.VotingState.CLOSED);
+		final RoomMember roomMember1 = new RoomMember("Bob");
+		roomMember1.setVote(card);
+		room.addMember(roomMember1);
+		final RoomMember roomMember2 = new RoomMember("Alice");
+		roomMember2.setVote(card);
+		room.addMember(roomMember2);
+		given(roomRepository.lockRoom("My Room")).willReturn(Optional.of(0L));
+
+		roomVoteService.clearVotes(room);
+
+		verify(roomRepository).clearVotes("My Room");
+		verify(roomRepository).openVoting("My Room", 1);
+		final ArgumentCaptor<RoomChangedEvent> eventCaptor = ArgumentCaptor.forClass(RoomChangedEvent.class);
+		verify(applicationEventPublisher).publishEvent(eventCaptor.capture());
+		final Room changedRoom = eventCaptor.getValue().room();
+		assertThat(changedRoom.getVotingState()).isEqualTo(Room.VotingState.OPEN);
+		assertThat(changedRoom.getMembers()).allSatisfy(member -> assertThat(member.getVote()).isNull());
+		assertThat(changedRoom.getVoteTally().getValueCount()).isZero();
+
+		assertThat(room.getVotingState()).isEqualTo(Room.VotingState.CLOSED);
+		assertThat(roomMember1.getVote()).isEqualTo(card);
+	}
+}
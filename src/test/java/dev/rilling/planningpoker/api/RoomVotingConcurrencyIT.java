@@ -0,0 +1,118 @@
+package dev.rilling.planningpoker.api;
+
+import dev.rilling.planningpoker.data.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@Import(RoomVotingConcurrencyIT.VotingClosedCounter.class)
+class RoomVotingConcurrencyIT {
+
+	private static final int ROOM_COUNT = 20;
+	private static final int MEMBER_COUNT = 10;
+
+	@Autowired
+	MockMvc mockMvc;
+
+	@Autowired
+	RoomRepository roomRepository;
+
+	@Autowired
+	CardSetRepository cardSetRepository;
+
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	VotingClosedCounter votingClosedCounter;
+
+	@Test
+	@DisplayName("concurrent votes are not lost and close voting once")
+	void concurrentVotes() throws Exception {
+		final CardSet cardSet = cardSetRepository.findByName("1 through 10").orElseThrow();
+		for (int i = 0; i < ROOM_COUNT; i++) {
+			final int room = i;
+			TestRooms.createRoomWithMembers(jdbcTemplate, roomRepository, getRoomName(room), cardSet,
+					IntStream.range(0, MEMBER_COUNT).mapToObj(member -> getUsername(room, member)).toList());
+		}
+
+		final CountDownLatch startLatch = new CountDownLatch(1);
+		try (ExecutorService executorService = Executors.newVirtualThreadPerTaskExecutor()) {
+			final List<Future<Integer>> votes = new ArrayList<>(ROOM_COUNT * MEMBER_COUNT);
+			for (int i = 0; i < ROOM_COUNT; i++) {
+				for (int j = 0; j < MEMBER_COUNT; j++) {
+					final String roomName = getRoomName(i);
+					final String username = getUsername(i, j);
+					final String cardName = getCardName(j);
+					votes.add(executorService.submit(() -> {
+						startLatch.await();
+						return mockMvc.perform(post("/api/rooms/{room-name}/votes", roomName).param("card-name", cardName)
+								.with(MockOidcLogins.oidcLoginAs(username))
+								.with(csrf())).andReturn().getResponse().getStatus();
+					}));
+				}
+			}
+			startLatch.countDown();
+			for (Future<Integer> vote : votes) {
+				assertThat(vote.get()).isEqualTo(200);
+			}
+		}
+
+		for (int i = 0; i < ROOM_COUNT; i++) {
+			final Room room = roomRepository.findByName(getRoomName(i)).orElseThrow();
+			for (int j = 0; j < MEMBER_COUNT; j++) {
+				final RoomMember roomMember = room.findMemberByUser(getUsername(i, j)).orElseThrow();
+				assertThat(roomMember.getVote()).as("vote of %s", roomMember).isNotNull();
+				assertThat(roomMember.getVote().getName()).isEqualTo(getCardName(j));
+			}
+			assertThat(room.getVotingState()).isEqualTo(Room.VotingState.CLOSED);
+			assertThat(votingClosedCounter.getCount(room.getName())).as("closings of %s", room).isEqualTo(1);
+		}
+	}
+
+	private static String getRoomName(int room) {
+		return "concurrent-room-" + room;
+	}
+
+	private static String getUsername(int room, int member) {
+		return "concurrent-user-%d-%d".formatted(room, member);
+	}
+
+	private static String getCardName(int member) {
+		return String.valueOf(member % 10 + 1);
+	}
+
+	static class VotingClosedCounter {
+		private final ConcurrentMap<String, AtomicInteger> countsByRoomName = new ConcurrentHashMap<>(ROOM_COUNT * 2);
+
+		@TransactionalEventListener
+		public void onRoomChanged(RoomChangedEvent event) {
+			final long votingClosedCount = event.changes().stream().filter(RoomChange.VotingClosed.class::isInstance).count();
+			countsByRoomName.computeIfAbsent(event.room().getName(), ignored -> new AtomicInteger()).addAndGet((int) votingClosedCount);
+		}
+
+		int getCount(String roomName) {
+			return countsByRoomName.getOrDefault(roomName, new AtomicInteger()).get();
+		}
+	}
+}
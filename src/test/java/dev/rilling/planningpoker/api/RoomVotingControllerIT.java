@@ -7,22 +7,25 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.List;
 import java.util.Optional;
-import java.util.Set;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(value = RoomVotingController.class)
+@Import(RoomCache.class)
 class RoomVotingControllerIT {
 
 	@MockBean
@@ -32,7 +35,7 @@ class RoomVotingControllerIT {
 	SummaryService summaryService;
 
 	@MockBean
-	RoomService roomService;
+	RoomVoteService roomVoteService;
 
 	@Autowired
 	MockMvc mockMvc;
@@ -55,7 +58,7 @@ class RoomVotingControllerIT {
 		given(roomRepository.findByName("my-room")).willReturn(Optional.of(room));
 
 		final RoomMember roomMember = new RoomMember("Alice");
-		room.getMembers().add(roomMember);
+		room.addMember(roomMember);
 
 		mockMvc.perform(post("/api/rooms/my-room/votes").with(MockOidcLogins.bobOidcLogin()).with(csrf()).queryParam("card-name", "1"))
 				.andExpect(status().isForbidden());
@@ -70,7 +73,7 @@ class RoomVotingControllerIT {
 		given(roomRepository.findByName("my-room")).willReturn(Optional.of(room));
 
 		final RoomMember roomMember = new RoomMember("Bob");
-		room.getMembers().add(roomMember);
+		room.addMember(roomMember);
 
 		mockMvc.perform(post("/api/rooms/my-room/votes").with(MockOidcLogins.bobOidcLogin()).with(csrf()).queryParam("card-name", "99"))
 				.andExpect(status().isBadRequest());
@@ -87,15 +90,15 @@ class RoomVotingControllerIT {
 
 		final RoomMember roomMember = new RoomMember("Bob");
 		roomMember.setRole(RoomMember.Role.OBSERVER);
-		room.getMembers().add(roomMember);
+		room.addMember(roomMember);
 
 		mockMvc.perform(post("/api/rooms/my-room/votes").with(MockOidcLogins.bobOidcLogin()).with(csrf()).queryParam("card-name", "99"))
 				.andExpect(status().isBadRequest());
 	}
 
 	@Test
-	@DisplayName("POST `/api/rooms/{room-name}/votes` ignores if voting is complete")
-	void createVoteClosed() throws Exception {
+	@DisplayName("POST `/api/rooms/{room-name}/votes` sets vote if cached room is closed but voting was reopened")
+	void createVoteCachedClosed() throws Exception {
 		final CardSet cardSet = new CardSet("My Set");
 		final Card card1 = new Card("1", 1.0);
 		final Card card2 = new Card("2", 2.0);
@@ -106,16 +109,35 @@ class RoomVotingControllerIT {
 
 		final RoomMember roomMember1 = new RoomMember("Bob");
 		roomMember1.setVote(card1);
-		room.getMembers().add(roomMember1);
+		room.addMember(roomMember1);
 
 		final RoomMember roomMember2 = new RoomMember("Alice");
 		roomMember2.setVote(card1);
-		room.getMembers().add(roomMember2);
+		room.addMember(roomMember2);
 		room.setVotingState(Room.VotingState.CLOSED);
+		given(roomVoteService.setVote(room, roomMember1, card2)).willReturn(true);
 
 		mockMvc.perform(post("/api/rooms/my-room/votes").with(MockOidcLogins.bobOidcLogin()).with(csrf()).queryParam("card-name", "2"))
 				.andExpect(status().isOk());
 
+		verify(roomVoteService).setVote(room, roomMember1, card2);
+	}
+
+	@Test
+	@DisplayName("POST `/api/rooms/{room-name}/votes` ignores if voting was completed in the meantime")
+	void createVoteClosedConcurrently() throws Exception {
+		final CardSet cardSet = new CardSet("My Set");
+		final Card card = new Card("1", 1.0);
+		cardSet.getCards().add(card);
+		final Room room = new Room("my-room", cardSet);
+		final RoomMember roomMember = new RoomMember("Bob");
+		room.addMember(roomMember);
+		given(roomRepository.findByName("my-room")).willReturn(Optional.of(room));
+		given(roomVoteService.setVote(room, roomMember, card)).willReturn(false);
+
+		mockMvc.perform(post("/api/rooms/my-room/votes").with(MockOidcLogins.bobOidcLogin()).with(csrf()).queryParam("card-name", "1"))
+				.andExpect(status().isOk());
+
 		verify(roomRepository, never()).save(any());
 	}
 
@@ -129,13 +151,14 @@ class RoomVotingControllerIT {
 		given(roomRepository.findByName("my-room")).willReturn(Optional.of(room));
 
 		final RoomMember roomMember = new RoomMember("Bob");
-		room.getMembers().add(roomMember);
+		room.addMember(roomMember);
+		given(roomVoteService.setVote(room, roomMember, card)).willReturn(true);
 
 		mockMvc.perform(post("/api/rooms/my-room/votes").with(MockOidcLogins.bobOidcLogin()).with(csrf()).queryParam("card-name", "1"))
 				.andExpect(status().isOk());
 
-		verify(roomService).setVote(room, roomMember, card);
-		verify(roomRepository).save(room);
+		verify(roomVoteService).setVote(room, roomMember, card);
+		verify(roomRepository, never()).save(any());
 	}
 
 	@Test
@@ -155,7 +178,7 @@ class RoomVotingControllerIT {
 		given(roomRepository.findByName("my-room")).willReturn(Optional.of(room));
 
 		final RoomMember roomMember = new RoomMember("Alice");
-		room.getMembers().add(roomMember);
+		room.addMember(roomMember);
 
 		mockMvc.perform(delete("/api/rooms/my-room/votes").with(MockOidcLogins.bobOidcLogin()).with(csrf())).andExpect(status().isForbidden());
 	}
@@ -173,17 +196,54 @@ class RoomVotingControllerIT {
 
 		final RoomMember roomMember1 = new RoomMember("Bob");
 		roomMember1.setVote(card1);
-		room.getMembers().add(roomMember1);
+		room.addMember(roomMember1);
 
 		final RoomMember roomMember2 = new RoomMember("Alice");
 		roomMember2.setVote(card2);
-		room.getMembers().add(roomMember2);
+		room.addMember(roomMember2);
 		room.setVotingState(Room.VotingState.CLOSED);
 
 		mockMvc.perform(delete("/api/rooms/my-room/votes").with(MockOidcLogins.bobOidcLogin()).with(csrf())).andExpect(status().isOk());
 
-		verify(roomService).clearVotes(room);
-		verify(roomRepository).save(room);
+		verify(roomVoteService).clearVotes(room);
+		verify(roomRepository, never()).save(any());
+	}
+
+	@Test
+	@DisplayName("POST `/api/rooms/{room-name}/votes` retries concurrent changes")
+	void createVoteRetriesConflict() throws Exception {
+		final CardSet cardSet = new CardSet("My Set");
+		final Card card = new Card("1", 1.0);
+		cardSet.getCards().add(card);
+		final Room room = new Room("my-room", cardSet);
+		final RoomMember roomMember = new RoomMember("Bob");
+		room.addMember(roomMember);
+		given(roomRepository.findByName("my-room")).willReturn(Optional.of(room));
+		given(roomVoteService.setVote(room, roomMember, card)).willThrow(new ObjectOptimisticLockingFailureException(Room.class, "my-room"))
+				.willReturn(true);
+
+		mockMvc.perform(post("/api/rooms/my-room/votes").queryParam("card-name", "1").with(MockOidcLogins.bobOidcLogin()).with(csrf()))
+				.andExpect(status().isOk());
+
+		verify(roomVoteService, times(2)).setVote(room, roomMember, card);
+	}
+
+	@Test
+	@DisplayName("POST `/api/rooms/{room-name}/votes` throws when concurrent changes persist")
+	void createVoteConflict() throws Exception {
+		final CardSet cardSet = new CardSet("My Set");
+		final Card card = new Card("1", 1.0);
+		cardSet.getCards().add(card);
+		final Room room = new Room("my-room", cardSet);
+		final RoomMember roomMember = new RoomMember("Bob");
+		room.addMember(roomMember);
+		given(roomRepository.findByName("my-room")).willReturn(Optional.of(room));
+		given(roomVoteService.setVote(room, roomMember, card)).willThrow(new ObjectOptimisticLockingFailureException(Room.class, "my-room"));
+
+		mockMvc.perform(post("/api/rooms/my-room/votes").queryParam("card-name", "1").with(MockOidcLogins.bobOidcLogin()).with(csrf()))
+				.andExpect(status().isConflict());
+
+		verify(roomVoteService, times(RetryOnConflict.MAX_ATTEMPTS)).setVote(room, roomMember, card);
 	}
 
 	@Test
@@ -204,7 +264,7 @@ class RoomVotingControllerIT {
 		given(roomRepository.findByName("my-room")).willReturn(Optional.of(room));
 
 		final RoomMember roomMember = new RoomMember("Alice");
-		room.getMembers().add(roomMember);
+		room.addMember(roomMember);
 
 		mockMvc.perform(get("/api/rooms/my-room/votes/summary").with(MockOidcLogins.bobOidcLogin()).with(csrf())).andExpect(status().isForbidden());
 	}
@@ -220,11 +280,11 @@ class RoomVotingControllerIT {
 
 		final RoomMember roomMember1 = new RoomMember("Bob");
 		roomMember1.setVote(card);
-		room.getMembers().add(roomMember1);
+		room.addMember(roomMember1);
 
 		final RoomMember roomMember2 = new RoomMember("Alice");
 		roomMember2.setVote(card);
-		room.getMembers().add(roomMember2);
+		room.addMember(roomMember2);
 
 		given(summaryService.summarize(room)).willReturn(Optional.empty());
 
@@ -244,18 +304,18 @@ class RoomVotingControllerIT {
 
 		final RoomMember roomMember1 = new RoomMember("Bob");
 		roomMember1.setVote(card);
-		room.getMembers().add(roomMember1);
+		room.addMember(roomMember1);
 
 		final RoomMember roomMember2 = new RoomMember("Alice");
 		roomMember2.setVote(card);
-		room.getMembers().add(roomMember2);
+		room.addMember(roomMember2);
 		room.setVotingState(Room.VotingState.CLOSED);
 
 		given(summaryService.summarize(room)).willReturn(Optional.of(new SummaryService.VoteSummary(
 				1.0,
 				card,
-				new SummaryService.VoteExtreme(card, Set.of(roomMember1)),
-				new SummaryService.VoteExtreme(card, Set.of(roomMember2)),
+				new SummaryService.VoteExtreme(card, List.of(roomMember1)),
+				new SummaryService.VoteExtreme(card, List.of(roomMember2)),
 				2)));
 
 		mockMvc.perform(get("/api/rooms/my-room/votes/summary").with(MockOidcLogins.bobOidcLogin()))
@@ -270,4 +330,53 @@ class RoomVotingControllerIT {
 				.andExpect(jsonPath("$.votes.lowest.members.length()").value(1))
 				.andExpect(jsonPath("$.votes.lowest.members[0].username").value("Alice"));
 	}
+
+	@Test
+	@DisplayName("GET `/api/rooms/{room-name}/votes/summary` does not summarize if not modified")
+	void getSummaryNotModified() throws Exception {
+		final Room room = new Room("my-room", new CardSet("My Set"));
+		room.addMember(new RoomMember("Bob"));
+		room.setVersion(5);
+		given(roomRepository.findByName("my-room")).willReturn(Optional.of(room));
+
+		mockMvc.perform(get("/api/rooms/my-room/votes/summary").with(MockOidcLogins.bobOidcLogin()).header("If-None-Match", "\"5\""))
+				.andExpect(status().isNotModified())
+				.andExpect(header().string("ETag", "\"5\""));
+
+		verify(summaryService, never()).summarize(any());
+	}
+
+	@Test
+	@DisplayName("GET `/api/rooms/{room-name}/votes/summary` shows statistics when requested")
+	void getSummaryShowsStatistics() throws Exception {
+		final CardSet cardSet = new CardSet("My Set");
+		final Card card = new Card("1", 1.0);
+		cardSet.getCards().add(card);
+		final Room room = new Room("my-room", cardSet);
+		given(roomRepository.findByName("my-room")).willReturn(Optional.of(room));
+
+		final RoomMember roomMember = new RoomMember("Bob");
+		roomMember.setVote(card);
+		room.addMember(roomMember);
+		room.setVotingState(Room.VotingState.CLOSED);
+
+		given(summaryService.summarize(room)).willReturn(Optional.of(new SummaryService.VoteSummary(1.0, card, null, null, 0)));
+		given(summaryService.calculateStatistics(room)).willReturn(Optional.of(new SummaryService.VoteStatistics(1.0,
+				0.0,
+				1.0,
+				List.of(new SummaryService.VoteCount(card, 1)))));
+
+		mockMvc.perform(get("/api/rooms/my-room/votes/summary").with(MockOidcLogins.bobOidcLogin()))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.votes.statistics").doesNotExist());
+
+		mockMvc.perform(get("/api/rooms/my-room/votes/summary").param("statistics", "true").with(MockOidcLogins.bobOidcLogin()))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.votes.statistics.median").value(1.0))
+				.andExpect(jsonPath("$.votes.statistics.standardDeviation").value(0.0))
+				.andExpect(jsonPath("$.votes.statistics.consensus").value(1.0))
+				.andExpect(jsonPath("$.votes.statistics.histogram.length()").value(1))
+				.andExpect(jsonPath("$.votes.statistics.histogram[0].card.name").value("1"))
+				.andExpect(jsonPath("$.votes.statistics.histogram[0].count").value(1));
+	}
 }
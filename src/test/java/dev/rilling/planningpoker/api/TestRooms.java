@@ -0,0 +1,67 @@
+package dev.rilling.planningpoker.api;
+
+import dev.rilling.planningpoker.data.CardSet;
+import dev.rilling.planningpoker.data.Room;
+import dev.rilling.planningpoker.data.RoomMember;
+import dev.rilling.planningpoker.data.RoomRepository;
+import org.springframework.jdbc.core.JdbcOperations;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Creates users and rooms for tests running against the database, like {@code create-dummy-user.sql} does for a single user.
+ */
+public final class TestRooms {
+
+	/**
+	 * Client registration the users are created for, see {@code application-test.properties}.
+	 */
+	public static final String CLIENT_REGISTRATION_ID = "test";
+
+	private TestRooms() {
+	}
+
+	/**
+	 * Creates the users, which is normally done by logging in. Only existing users can become room members.
+	 */
+	public static void createUsers(JdbcOperations jdbcOperations, List<String> usernames) {
+		jdbcOperations.batchUpdate("""
+				INSERT INTO oauth2_authorized_client (client_registration_id, principal_name, access_token_type, access_token_value,
+													  access_token_issued_at, access_token_expires_at)
+				VALUES (?, ?, 'Bearer', 'someToken', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)""",
+				usernames.stream().map(username -> new Object[]{CLIENT_REGISTRATION_ID, username}).toList());
+	}
+
+	/**
+	 * Deletes the users created by {@link #createUsers(JdbcOperations, List)}, which requires their rooms to be deleted first.
+	 */
+	public static void deleteUsers(JdbcOperations jdbcOperations) {
+		jdbcOperations.update("DELETE FROM oauth2_authorized_client WHERE client_registration_id = ?", CLIENT_REGISTRATION_ID);
+	}
+
+	/**
+	 * Creates the users and saves a room with them as voters.
+	 */
+	public static Room createRoomWithMembers(JdbcOperations jdbcOperations, RoomRepository roomRepository, String roomName, CardSet cardSet,
+			List<String> usernames) {
+		return createRoomWithMembers(jdbcOperations, roomRepository, roomName, cardSet, usernames, room -> {
+		});
+	}
+
+	/**
+	 * Creates the users and saves a room with them as voters.
+	 *
+	 * @param beforeSave Called with the room before it is saved, e.g. to set votes.
+	 */
+	public static Room createRoomWithMembers(JdbcOperations jdbcOperations, RoomRepository roomRepository, String roomName, CardSet cardSet,
+			List<String> usernames, Consumer<Room> beforeSave) {
+		createUsers(jdbcOperations, usernames);
+		final Room room = new Room(roomName, cardSet);
+		for (String username : usernames) {
+			room.addMember(new RoomMember(username));
+		}
+		beforeSave.accept(room);
+		return roomRepository.save(room);
+	}
+}
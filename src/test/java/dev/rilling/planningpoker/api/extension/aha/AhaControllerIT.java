@@ -1,6 +1,7 @@
 package dev.rilling.planningpoker.api.extension.aha;
 
 
+import dev.rilling.planningpoker.api.RoomCache;
 import dev.rilling.planningpoker.data.*;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -8,6 +9,7 @@ import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
@@ -27,6 +29,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @WebMvcTest(value = AhaController.class, properties = { "planning-poker.extension.aha.account-domain=example",
 		"planning-poker.extension.aha.client-id=abc", "planning-poker.extension.aha.redirect-uri=https://example.com" })
 @ActiveProfiles("extension:aha")
+@Import(RoomCache.class)
 class AhaControllerIT {
 
 	@Autowired
@@ -57,7 +60,7 @@ class AhaControllerIT {
 	@DisplayName("GET `/api/rooms/{room-name}/extensions/aha` throws if room has extension not active")
 	void getRoomConfigNotActive() throws Exception {
 		final Room room = new Room("my-room", new CardSet("My Set"));
-		room.getMembers().add(new RoomMember("Bob"));
+		room.addMember(new RoomMember("Bob"));
 		given(roomRepository.findByName("my-room")).willReturn(Optional.of(room));
 
 		mockMvc.perform(get("/api/rooms/my-room/extensions/aha").with(bobOidcLogin())).andExpect(status().isNotFound());
@@ -67,7 +70,7 @@ class AhaControllerIT {
 	@DisplayName("GET `/api/rooms/{room-name}/extensions/aha` throws if not a member")
 	void getRoomConfigNotMember() throws Exception {
 		final Room room = new Room("my-room", new CardSet("My Set"));
-		room.getMembers().add(new RoomMember("Alice"));
+		room.addMember(new RoomMember("Alice"));
 		given(roomRepository.findByName("my-room")).willReturn(Optional.of(room));
 
 		mockMvc.perform(get("/api/rooms/my-room/extensions/aha").with(bobOidcLogin())).andExpect(status().isForbidden());
@@ -77,7 +80,7 @@ class AhaControllerIT {
 	@DisplayName("GET `/api/rooms/{room-name}/extensions/aha` returns config")
 	void getRoomConfigReturns() throws Exception {
 		final Room room = new Room("my-room", new CardSet("My Set"));
-		room.getMembers().add(new RoomMember("Bob"));
+		room.addMember(new RoomMember("Bob"));
 		final RoomExtensionConfig roomExtensionConfig = new RoomExtensionConfig(new Extension("aha"));
 		roomExtensionConfig.getAttributes().put("scoreFactName", "Effort");
 		room.getExtensionConfigs().add(roomExtensionConfig);
@@ -103,7 +106,7 @@ class AhaControllerIT {
 	@DisplayName("PATCH `/api/rooms/{room-name}/extensions/aha` throws if room has extension not active")
 	void editRoomConfigNotActive() throws Exception {
 		final Room room = new Room("my-room", new CardSet("My Set"));
-		room.getMembers().add(new RoomMember("Bob"));
+		room.addMember(new RoomMember("Bob"));
 		given(roomRepository.findByName("my-room")).willReturn(Optional.of(room));
 
 		mockMvc.perform(patch("/api/rooms/my-room/extensions/aha").with(bobOidcLogin())
@@ -116,7 +119,7 @@ class AhaControllerIT {
 	@DisplayName("PATCH `/api/rooms/{room-name}/extensions/aha` throws if not a member")
 	void editRoomConfigNotMember() throws Exception {
 		final Room room = new Room("my-room", new CardSet("My Set"));
-		room.getMembers().add(new RoomMember("Alice"));
+		room.addMember(new RoomMember("Alice"));
 		given(roomRepository.findByName("my-room")).willReturn(Optional.of(room));
 
 		mockMvc.perform(patch("/api/rooms/my-room/extensions/aha").with(bobOidcLogin())
@@ -129,7 +132,7 @@ class AhaControllerIT {
 	@DisplayName("PATCH `/api/rooms/{room-name}/extensions/aha` updates config")
 	void editRoomConfigReturns() throws Exception {
 		final Room room = new Room("my-room", new CardSet("My Set"));
-		room.getMembers().add(new RoomMember("Bob"));
+		room.addMember(new RoomMember("Bob"));
 		final RoomExtensionConfig roomExtensionConfig = new RoomExtensionConfig(new Extension("aha"));
 		roomExtensionConfig.getAttributes().put("scoreFactName", "Effort");
 		room.getExtensionConfigs().add(roomExtensionConfig);
@@ -0,0 +1,85 @@
+package dev.rilling.planningpoker.data;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CardSetIndexTest {
+
+	@Test
+	@DisplayName("finds card by name")
+	void findsCardByName() {
+		final CardSet cardSet = new CardSet("My Set");
+		final Card card1 = new Card("1", 1.0);
+		final Card cardUnknown = new Card("?", null);
+		cardSet.getCards().add(card1);
+		cardSet.getCards().add(cardUnknown);
+
+		assertThat(cardSet.getIndex().findCardByName("1")).containsSame(card1);
+		assertThat(cardSet.getIndex().findCardByName("?")).containsSame(cardUnknown);
+		assertThat(cardSet.getIndex().findCardByName("2")).isEmpty();
+	}
+
+	@Test
+	@DisplayName("gets position of distinct values")
+	void getsValuePosition() {
+		final CardSet cardSet = new CardSet("My Set");
+		cardSet.getCards().add(new Card("1", 1.0));
+		cardSet.getCards().add(new Card("One", 1.0));
+		cardSet.getCards().add(new Card("3", 3.0));
+		cardSet.getCards().add(new Card("5", 5.0));
+		cardSet.getCards().add(new Card("?", null));
+
+		assertThat(cardSet.getIndex().getValuePosition(1.0)).isZero();
+		assertThat(cardSet.getIndex().getValuePosition(3.0)).isEqualTo(1);
+		assertThat(cardSet.getIndex().getValuePosition(5.0)).isEqualTo(2);
+		assertThat(cardSet.getIndex().getValuePosition(2.0)).isNegative();
+	}
+
+	@Test
+	@DisplayName("finds nearest card")
+	void findsNearestCard() {
+		final CardSet cardSet = new CardSet("My Set");
+		final Card card1 = new Card("1", 1.0);
+		final Card cardOne = new Card("One", 1.0);
+		final Card card3 = new Card("3", 3.0);
+		final Card card5 = new Card("5", 5.0);
+		cardSet.getCards().add(card1);
+		cardSet.getCards().add(cardOne);
+		cardSet.getCards().add(card3);
+		cardSet.getCards().add(card5);
+		cardSet.getCards().add(new Card("?", null));
+
+		assertThat(cardSet.getIndex().findNearestCard(-10.0)).isSameAs(card1);
+		assertThat(cardSet.getIndex().findNearestCard(1.0)).isSameAs(card1);
+		assertThat(cardSet.getIndex().findNearestCard(1.5)).isSameAs(card1);
+		assertThat(cardSet.getIndex().findNearestCard(2.0)).isSameAs(card3);
+		assertThat(cardSet.getIndex().findNearestCard(4.5)).isSameAs(card5);
+		assertThat(cardSet.getIndex().findNearestCard(10.0)).isSameAs(card5);
+	}
+
+	@Test
+	@DisplayName("finds no nearest card without values")
+	void findsNoNearestCard() {
+		final CardSet cardSet = new CardSet("My Set");
+		cardSet.getCards().add(new Card("?", null));
+
+		assertThat(cardSet.getIndex().findNearestCard(1.0)).isNull();
+	}
+
+	@Test
+	@DisplayName("is rebuilt when cards change")
+	void rebuildsOnChange() {
+		final CardSet cardSet = new CardSet("My Set");
+		cardSet.getCards().add(new Card("1", 1.0));
+		final CardSetIndex index = cardSet.getIndex();
+		assertThat(cardSet.getIndex()).isSameAs(index);
+
+		final Card card2 = new Card("2", 2.0);
+		cardSet.getCards().add(card2);
+
+		assertThat(cardSet.getIndex()).isNotSameAs(index);
+		assertThat(cardSet.getIndex().findCardByName("2")).containsSame(card2);
+	}
+}
@@ -0,0 +1,78 @@
+package dev.rilling.planningpoker.data;
+
+import dev.rilling.planningpoker.api.TestRooms;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that loading a room needs the same number of statements regardless of its size.
+ */
+@DataJpaTest
+// Data has to be committed to be loaded in separate transactions, so tests clean up after themselves instead.
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RoomLoadStatementsIT {
+
+	@Autowired
+	RoomRepository roomRepository;
+
+	@Autowired
+	CardSetRepository cardSetRepository;
+
+	@Autowired
+	ExtensionRepository extensionRepository;
+
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	EntityManagerFactory entityManagerFactory;
+
+	@AfterEach
+	void tearDown() {
+		roomRepository.deleteAll();
+		TestRooms.deleteUsers(jdbcTemplate);
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = { 1, 10, 100, 1000 })
+	@DisplayName("loads room with a constant number of statements")
+	void findByName(int memberCount) {
+		final CardSet cardSet = cardSetRepository.findByName("Adjusted Fibonacci Scale").orElseThrow();
+		final List<Card> cards = List.copyOf(cardSet.getCards());
+		final RoomExtensionConfig roomExtensionConfig = new RoomExtensionConfig(extensionRepository.findByKeyAndEnabledIsTrue("aha")
+				.orElseThrow());
+		roomExtensionConfig.getAttributes().put("foo", "bar");
+		TestRooms.createRoomWithMembers(jdbcTemplate, roomRepository, "My Room", cardSet,
+				IntStream.range(0, memberCount).mapToObj(i -> "User " + i).toList(), room -> {
+					for (int i = 0; i < memberCount; i++) {
+						room.findMemberByUser("User " + i).orElseThrow().setVote(cards.get(i % cards.size()));
+					}
+					room.getExtensionConfigs().add(roomExtensionConfig);
+				});
+
+		final Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		final Room loaded = roomRepository.findByName("My Room").orElseThrow();
+
+		assertThat(loaded.getMembers()).hasSize(memberCount).allSatisfy(roomMember -> assertThat(roomMember.getVote()).isNotNull());
+		assertThat(loaded.getExtensionConfigs()).singleElement()
+				.satisfies(config -> assertThat(config.getAttributes()).containsEntry("foo", "bar"));
+		// Room with members, and extension configs with attributes.
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+	}
+}
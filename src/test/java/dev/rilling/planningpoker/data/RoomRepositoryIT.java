@@ -7,9 +7,13 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.test.context.jdbc.Sql;
 
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @DataJpaTest
 @Sql({ "/delete-initial-data.sql", "/create-dummy-user.sql" })
@@ -39,7 +43,7 @@ class RoomRepositoryIT {
 		room.setVotingState(Room.VotingState.CLOSED);
 
 		final RoomMember member = new RoomMember("Bob");
-		room.getMembers().add(member);
+		room.addMember(member);
 		member.setVote(card);
 
 		final Extension extension = new Extension("aha");
@@ -61,6 +65,77 @@ class RoomRepositoryIT {
 		assertThat(loaded.getVotingState()).isEqualTo(Room.VotingState.CLOSED);
 	}
 
+	@Test
+	@DisplayName("rejects votes from other card sets")
+	void rejectsVoteFromOtherCardSet() {
+		final CardSet cardSet = new CardSet("Set #1");
+		cardSet.getCards().add(new Card("1", 1.0));
+		cardSetRepository.save(cardSet);
+		final CardSet otherCardSet = new CardSet("Set #2");
+		final Card otherCard = new Card("2", 2.0);
+		otherCardSet.getCards().add(otherCard);
+		cardSetRepository.save(otherCardSet);
+
+		final Room room = new Room("My Room", cardSet);
+		final RoomMember member = new RoomMember("Bob");
+		room.addMember(member);
+		member.setVote(otherCard);
+
+		assertThatThrownBy(() -> roomRepository.saveAndFlush(room)).isInstanceOf(DataIntegrityViolationException.class);
+	}
+
+	@Test
+	@DisplayName("changes card set once votes are cleared")
+	void changesCardSet() {
+		final CardSet cardSet = new CardSet("Set #1");
+		final Card card = new Card("1", 1.0);
+		cardSet.getCards().add(card);
+		cardSetRepository.save(cardSet);
+		final CardSet otherCardSet = new CardSet("Set #2");
+		otherCardSet.getCards().add(new Card("2", 2.0));
+		cardSetRepository.save(otherCardSet);
+
+		final Room room = new Room("My Room", cardSet);
+		final RoomMember member = new RoomMember("Bob");
+		member.setVote(card);
+		room.addMember(member);
+		final Room saved = roomRepository.saveAndFlush(room);
+
+		// Done the same way when editing the room.
+		saved.setCardSet(otherCardSet);
+		saved.getMembers().forEach(savedMember -> savedMember.setVote(null));
+		roomRepository.saveAndFlush(saved);
+		em.clear();
+
+		assertThat(roomRepository.updateVote("My Room", "Bob", "2")).isEqualTo(1);
+		em.clear();
+		assertThat(roomRepository.findByName("My Room").orElseThrow().getMembers()).singleElement()
+				.satisfies(loadedMember -> assertThat(loadedMember.getVote()).isNotNull());
+	}
+
+	@Test
+	@DisplayName("clears votes of deleted cards")
+	void clearsVotesOfDeletedCard() {
+		final CardSet cardSet = new CardSet("Set #1");
+		final Card card = new Card("1", 1.0);
+		cardSet.getCards().add(card);
+		cardSet.getCards().add(new Card("2", 2.0));
+		cardSetRepository.save(cardSet);
+
+		final Room room = new Room("My Room", cardSet);
+		final RoomMember member = new RoomMember("Bob");
+		member.setVote(card);
+		room.addMember(member);
+		roomRepository.saveAndFlush(room);
+
+		cardSet.getCards().remove(card);
+		cardSetRepository.saveAndFlush(cardSet);
+		em.clear();
+
+		final Room loaded = roomRepository.findByName("My Room").orElseThrow();
+		assertThat(loaded.getMembers()).singleElement().satisfies(loadedMember -> assertThat(loadedMember.getVote()).isNull());
+	}
+
 	@Test
 	@DisplayName("cascades delete to members")
 	void cascadesMemberDeletion() {
@@ -72,7 +147,7 @@ class RoomRepositoryIT {
 		final Room room = new Room("My Room", cardSet);
 
 		final RoomMember member = new RoomMember("Bob");
-		room.getMembers().add(member);
+		room.addMember(member);
 		member.setVote(card);
 
 		roomRepository.save(room);
@@ -95,12 +170,12 @@ class RoomRepositoryIT {
 		final Room room = new Room("My Room", cardSet);
 
 		final RoomMember member = new RoomMember("Bob");
-		room.getMembers().add(member);
+		room.addMember(member);
 		member.setVote(card);
 
 		roomRepository.save(room);
 
-		room.getMembers().clear();
+		room.removeMember(member);
 
 		roomRepository.save(room);
 
@@ -177,4 +252,154 @@ class RoomRepositoryIT {
 		assertThat(em.createQuery("SELECT COUNT(*) FROM Extension ref", Long.class).getSingleResult()).isEqualTo(1);
 	}
 
+	@Test
+	@DisplayName("loads version")
+	void loadsVersion() {
+		final CardSet cardSet = new CardSet("Set #1");
+		cardSetRepository.save(cardSet);
+
+		final Room room = new Room("My Room", cardSet);
+		room.setVersion(42);
+		roomRepository.save(room);
+
+		assertThat(roomRepository.findVersionByName("My Room")).contains(42L);
+		assertThat(roomRepository.findVersionByName("Some Other Room")).isEmpty();
+	}
+
+	@Test
+	@DisplayName("sets vote and closes voting using statements")
+	void updateVoteAndCloseVoting() {
+		final CardSet cardSet = new CardSet("Set #1");
+		final Card card = new Card("1", 1.0);
+		cardSet.getCards().add(card);
+		cardSetRepository.save(cardSet);
+
+		final Room room = new Room("My Room", cardSet);
+		room.addMember(new RoomMember("Bob"));
+		roomRepository.saveAndFlush(room);
+
+		assertThat(roomRepository.lockRoomIfVotingOpen("My Room")).contains(0L);
+		assertThat(roomRepository.closeVotingIfComplete("My Room")).isZero();
+
+		assertThat(roomRepository.updateVote("My Room", "Bob", "1")).isEqualTo(1);
+		assertThat(roomRepository.closeVotingIfComplete("My Room")).isEqualTo(1);
+		assertThat(roomRepository.updateVersion("My Room", 1)).isEqualTo(1);
+		em.clear();
+
+		final Room loaded = roomRepository.findByName("My Room").orElseThrow();
+		assertThat(loaded.getVersion()).isEqualTo(1);
+		assertThat(loaded.getVotingState()).isEqualTo(Room.VotingState.CLOSED);
+		assertThat(loaded.findMemberByUser("Bob").orElseThrow().getVote()).isEqualTo(card);
+		assertThat(roomRepository.lockRoomIfVotingOpen("My Room")).isEmpty();
+	}
+
+	@Test
+	@DisplayName("clears votes and reopens voting using statements")
+	void clearVotesAndOpenVoting() {
+		final CardSet cardSet = new CardSet("Set #1");
+		final Card card = new Card("1", 1.0);
+		cardSet.getCards().add(card);
+		cardSetRepository.save(cardSet);
+
+		final Room room = new Room("My Room", cardSet);
+		room.setVotingState(Room.VotingState.CLOSED);
+		final RoomMember member = new RoomMember("Bob");
+		member.setVote(card);
+		room.addMember(member);
+		roomRepository.saveAndFlush(room);
+
+		assertThat(roomRepository.lockRoom("My Room")).contains(0L);
+		assertThat(roomRepository.clearVotes("My Room")).isEqualTo(1);
+		assertThat(roomRepository.openVoting("My Room", 1)).isEqualTo(1);
+		em.clear();
+
+		final Room loaded = roomRepository.findByName("My Room").orElseThrow();
+		assertThat(loaded.getVersion()).isEqualTo(1);
+		assertThat(loaded.getVotingState()).isEqualTo(Room.VotingState.OPEN);
+		assertThat(loaded.findMemberByUser("Bob").orElseThrow().getVote()).isNull();
+	}
+
+	@Test
+	@DisplayName("does not set vote of observers or close voting without voters")
+	void updateVoteObserver() {
+		final CardSet cardSet = new CardSet("Set #1");
+		cardSet.getCards().add(new Card("1", 1.0));
+		cardSetRepository.save(cardSet);
+
+		final Room room = new Room("My Room", cardSet);
+		final RoomMember member = new RoomMember("Bob");
+		member.setRole(RoomMember.Role.OBSERVER);
+		room.addMember(member);
+		roomRepository.saveAndFlush(room);
+
+		assertThat(roomRepository.updateVote("My Room", "Bob", "1")).isZero();
+		assertThat(roomRepository.closeVotingIfComplete("My Room")).isZero();
+	}
+
+	@Test
+	@DisplayName("lists rooms page by page")
+	void findListItemsPaged() {
+		final CardSet cardSet = new CardSet("Set #1");
+		cardSetRepository.save(cardSet);
+		for (String roomName : List.of("Room C", "Room A", "Room B")) {
+			roomRepository.save(new Room(roomName, cardSet));
+		}
+
+		final List<RoomListItem> firstPage = roomRepository.findListItems("", null, 2);
+		assertThat(firstPage).extracting(RoomListItem::name).containsExactly("Room A", "Room B");
+		assertThat(firstPage.getFirst().cardSetName()).isEqualTo("Set #1");
+		assertThat(firstPage.getFirst().votingState()).isEqualTo(Room.VotingState.OPEN);
+
+		assertThat(roomRepository.findListItems("", "Room B", 2)).extracting(RoomListItem::name).containsExactly("Room C");
+	}
+
+	@Test
+	@DisplayName("lists rooms by name prefix")
+	void findListItemsByPrefix() {
+		final CardSet cardSet = new CardSet("Set #1");
+		cardSetRepository.save(cardSet);
+		for (String roomName : List.of("Team A", "Team B", "Other", "100%", "1000")) {
+			roomRepository.save(new Room(roomName, cardSet));
+		}
+
+		assertThat(roomRepository.findListItems("Team", null, 10)).extracting(RoomListItem::name).containsExactly("Team A", "Team B");
+		// Wildcards are matched literally.
+		assertThat(roomRepository.findListItems("100%", null, 10)).extracting(RoomListItem::name).containsExactly("100%");
+	}
+
+	@Test
+	@DisplayName("loads enabled extension keys of rooms")
+	void findEnabledExtensionKeys() {
+		final CardSet cardSet = new CardSet("Set #1");
+		cardSetRepository.save(cardSet);
+		final Extension enabledExtension = new Extension("aha");
+		extensionRepository.save(enabledExtension);
+		final Extension disabledExtension = new Extension("other");
+		disabledExtension.setEnabled(false);
+		extensionRepository.save(disabledExtension);
+
+		final Room room = new Room("My Room", cardSet);
+		room.getExtensionConfigs().add(new RoomExtensionConfig(enabledExtension));
+		room.getExtensionConfigs().add(new RoomExtensionConfig(disabledExtension));
+		roomRepository.save(room);
+		final Room otherRoom = new Room("Other Room", cardSet);
+		otherRoom.getExtensionConfigs().add(new RoomExtensionConfig(enabledExtension));
+		roomRepository.save(otherRoom);
+
+		assertThat(roomRepository.findEnabledExtensionKeys(List.of(room.getId()))).containsExactly(new RoomExtensionKey(room.getId(), "aha"));
+		assertThat(roomRepository.findAllEnabledExtensionKeys()).containsExactlyInAnyOrder(new RoomExtensionKey(room.getId(), "aha"),
+				new RoomExtensionKey(otherRoom.getId(), "aha"));
+	}
+
+	@Test
+	@DisplayName("lists all rooms")
+	void findAllListItems() {
+		final CardSet cardSet = new CardSet("Set #1");
+		cardSetRepository.save(cardSet);
+		for (String roomName : List.of("Team B", "Team A", "Other")) {
+			roomRepository.save(new Room(roomName, cardSet));
+		}
+
+		assertThat(roomRepository.findAllListItems()).extracting(RoomListItem::name).containsExactly("Other", "Team A", "Team B");
+	}
 }
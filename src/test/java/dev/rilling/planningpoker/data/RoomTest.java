@@ -0,0 +1,108 @@
+package dev.rilling.planningpoker.data;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RoomTest {
+
+	@Test
+	@DisplayName("finds members by username")
+	void findMemberByUser() {
+		final Room room = new Room("My Room", new CardSet("My Set"));
+		final RoomMember bob = new RoomMember("Bob");
+		final RoomMember alice = new RoomMember("Alice");
+		room.addMember(bob);
+		room.addMember(alice);
+
+		assertThat(room.findMemberByUser("Bob")).containsSame(bob);
+		assertThat(room.findMemberByUser("Alice")).containsSame(alice);
+		assertThat(room.findMemberByUser("Eve")).isEmpty();
+	}
+
+	@Test
+	@DisplayName("keeps members by username up to date")
+	void findMemberByUserAfterChanges() {
+		final Room room = new Room("My Room", new CardSet("My Set"));
+		final RoomMember bob = new RoomMember("Bob");
+		room.addMember(bob);
+		assertThat(room.findMemberByUser("Bob")).containsSame(bob);
+
+		final RoomMember alice = new RoomMember("Alice");
+		room.addMember(alice);
+		room.removeMember(bob);
+
+		assertThat(room.findMemberByUser("Bob")).isEmpty();
+		assertThat(room.findMemberByUser("Alice")).containsSame(alice);
+	}
+
+	@Test
+	@DisplayName("finds members of copy")
+	void findMemberByUserCopy() {
+		final Room room = new Room("My Room", new CardSet("My Set"));
+		final RoomMember bob = new RoomMember("Bob");
+		room.addMember(bob);
+		assertThat(room.findMemberByUser("Bob")).containsSame(bob);
+
+		final Room copy = room.copy();
+
+		assertThat(copy.findMemberByUser("Bob")).get().isNotSameAs(bob).isEqualTo(bob);
+	}
+
+	@Test
+	@DisplayName("copies only changed member")
+	void copyChangingMember() {
+		final Card card = new Card("1", 1.0);
+		final Room room = new Room("My Room", new CardSet("My Set"));
+		final RoomMember bob = new RoomMember("Bob");
+		final RoomMember alice = new RoomMember("Alice");
+		room.addMember(bob);
+		room.addMember(alice);
+		assertThat(room.getSortedMembers()).containsExactly(alice, bob);
+
+		final Room copy = room.copyChangingMember(bob);
+		final RoomMember bobCopy = copy.findMemberByUser("Bob").orElseThrow();
+		copy.getVoteTally().remove(bobCopy);
+		bobCopy.setVote(card);
+		copy.getVoteTally().add(bobCopy);
+
+		assertThat(bobCopy).isNotSameAs(bob);
+		assertThat(copy.findMemberByUser("Alice")).containsSame(alice);
+		assertThat(copy.getMembers()).containsExactlyInAnyOrder(alice, bobCopy);
+		assertThat(copy.getSortedMembers()).containsExactly(alice, bobCopy);
+		assertThat(copy.getVoteTally().getMembersByVote(card)).containsExactly(bobCopy);
+		assertThat(bob.getVote()).isNull();
+		assertThat(room.findMemberByUser("Bob")).containsSame(bob);
+		assertThat(room.getVoteTally().getValueCount()).isZero();
+	}
+
+	@Test
+	@DisplayName("keeps sorted members up to date")
+	void getSortedMembers() {
+		final Room room = new Room("My Room", new CardSet("My Set"));
+		final RoomMember bob = new RoomMember("Bob");
+		final RoomMember carol = new RoomMember("Carol");
+		room.addMember(carol);
+		room.addMember(bob);
+		assertThat(room.getSortedMembers()).containsExactly(bob, carol);
+
+		final RoomMember alice = new RoomMember("Alice");
+		room.addMember(alice);
+		room.removeMember(carol);
+
+		assertThat(room.getSortedMembers()).containsExactly(alice, bob);
+	}
+
+	@Test
+	@DisplayName("does not allow changing members directly")
+	void getMembersUnmodifiable() {
+		final Room room = new Room("My Room", new CardSet("My Set"));
+		final RoomMember bob = new RoomMember("Bob");
+		room.addMember(bob);
+
+		assertThatThrownBy(() -> room.getMembers().remove(bob)).isInstanceOf(UnsupportedOperationException.class);
+		assertThat(room.getSortedMembers()).containsExactly(bob);
+	}
+}
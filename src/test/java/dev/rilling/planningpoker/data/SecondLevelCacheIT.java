@@ -0,0 +1,134 @@
+package dev.rilling.planningpoker.data;
+
+import dev.rilling.planningpoker.api.TestRooms;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Counts the statements needed for loads done in separate transactions, like in separate requests, to check card sets, cards and
+ * extensions are read from the second-level cache.
+ */
+@DataJpaTest
+// Data has to be committed to be cached, so tests clean up after themselves instead.
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheIT {
+
+	private static final String CARD_SET_NAME = "Adjusted Fibonacci Scale";
+	private static final int MEMBER_COUNT = 10;
+
+	@Autowired
+	RoomRepository roomRepository;
+
+	@Autowired
+	CardSetRepository cardSetRepository;
+
+	@Autowired
+	ExtensionRepository extensionRepository;
+
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	TransactionTemplate transactionTemplate;
+
+	Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+		final CardSet cardSet = cardSetRepository.findByName(CARD_SET_NAME).orElseThrow();
+		final List<Card> cards = List.copyOf(cardSet.getCards());
+		final RoomExtensionConfig roomExtensionConfig = new RoomExtensionConfig(extensionRepository.findByKeyAndEnabledIsTrue("aha")
+				.orElseThrow());
+		TestRooms.createRoomWithMembers(jdbcTemplate, roomRepository, "My Room", cardSet,
+				IntStream.range(0, MEMBER_COUNT).mapToObj(i -> "User " + i).toList(), room -> {
+					for (int i = 0; i < MEMBER_COUNT; i++) {
+						room.findMemberByUser("User " + i).orElseThrow().setVote(cards.get(i % cards.size()));
+					}
+					room.getExtensionConfigs().add(roomExtensionConfig);
+				});
+	}
+
+	@AfterEach
+	void tearDown() {
+		roomRepository.deleteAll();
+		TestRooms.deleteUsers(jdbcTemplate);
+	}
+
+	@Test
+	@DisplayName("finds card set by name without statements once cached")
+	void findCardSetByName() {
+		cardSetRepository.findByName(CARD_SET_NAME).orElseThrow();
+
+		statistics.clear();
+		final CardSet cardSet = cardSetRepository.findByName(CARD_SET_NAME).orElseThrow();
+
+		assertThat(cardSet.getCards()).isNotEmpty();
+		assertThat(statistics.getPrepareStatementCount()).isZero();
+	}
+
+	@Test
+	@DisplayName("loads room without statements for card set, cards and extensions once cached")
+	void findRoomByName() {
+		entityManagerFactory.getCache().evictAll();
+		statistics.clear();
+		roomRepository.findByName("My Room").orElseThrow();
+		final long uncachedStatementCount = statistics.getPrepareStatementCount();
+
+		statistics.clear();
+		final Room room = roomRepository.findByName("My Room").orElseThrow();
+		final long cachedStatementCount = statistics.getPrepareStatementCount();
+
+		assertThat(room.getMembers()).hasSize(MEMBER_COUNT).allSatisfy(roomMember -> assertThat(roomMember.getVote()).isNotNull());
+		assertThat(room.getExtensionConfigs()).singleElement()
+				.satisfies(roomExtensionConfig -> assertThat(roomExtensionConfig.getExtension().getKey()).isEqualTo("aha"));
+		// Room with members, card set with cards, extension configs with attributes and extension.
+		assertThat(uncachedStatementCount).isEqualTo(4);
+		// Room with members, and extension configs with attributes.
+		assertThat(cachedStatementCount).isEqualTo(2);
+		assertThat(statistics.getSecondLevelCacheMissCount()).isZero();
+	}
+
+	@Test
+	@DisplayName("keeps card set, cards and extensions cached when voting")
+	void findRoomByNameAfterVoting() {
+		roomRepository.findByName("My Room").orElseThrow();
+
+		transactionTemplate.executeWithoutResult(ignored -> {
+			roomRepository.clearVotes("My Room");
+			roomRepository.openVoting("My Room", 1);
+			roomRepository.updateVote("My Room", "User 0", "1");
+			roomRepository.closeVotingIfComplete("My Room");
+			roomRepository.updateVersion("My Room", 2);
+		});
+
+		statistics.clear();
+		final Room room = roomRepository.findByName("My Room").orElseThrow();
+
+		assertThat(room.findMemberByUser("User 0")).get().satisfies(roomMember -> assertThat(roomMember.getVote().getName()).isEqualTo("1"));
+		// Room with members, and extension configs with attributes.
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+		assertThat(statistics.getSecondLevelCacheMissCount()).isZero();
+		assertThat(statistics.getSecondLevelCacheHitCount()).isPositive();
+	}
+}
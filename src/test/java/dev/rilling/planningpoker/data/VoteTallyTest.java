@@ -0,0 +1,120 @@
+package dev.rilling.planningpoker.data;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VoteTallyTest {
+
+	@Test
+	@DisplayName("is built from members")
+	void buildsFromMembers() {
+		final Card card1 = new Card("1", 1.0);
+		final Card card3 = new Card("3", 3.0);
+		final Card cardUnknown = new Card("?", null);
+		final Room room = new Room("My Room", new CardSet("My Set"));
+
+		final RoomMember bob = new RoomMember("Bob");
+		bob.setVote(card1);
+		final RoomMember alice = new RoomMember("Alice");
+		alice.setVote(card3);
+		final RoomMember carol = new RoomMember("Carol");
+		carol.setVote(cardUnknown);
+		final RoomMember eve = new RoomMember("Eve");
+		eve.setRole(RoomMember.Role.OBSERVER);
+		room.addMember(bob);
+		room.addMember(alice);
+		room.addMember(carol);
+		room.addMember(eve);
+
+		final VoteTally voteTally = room.getVoteTally();
+
+		assertThat(voteTally.isComplete()).isTrue();
+		assertThat(voteTally.getValueCount()).isEqualTo(2);
+		assertThat(voteTally.getValueSum()).isEqualTo(4.0);
+		assertThat(voteTally.findHighestVote()).isSameAs(card3);
+		assertThat(voteTally.findLowestVote()).isSameAs(card1);
+		assertThat(voteTally.getMembersByVote(card1)).containsExactly(bob);
+	}
+
+	@Test
+	@DisplayName("tracks changes")
+	void tracksChanges() {
+		final Card card1 = new Card("1", 1.0);
+		final Card card5 = new Card("5", 5.0);
+		final Room room = new Room("My Room", new CardSet("My Set"));
+		final VoteTally voteTally = room.getVoteTally();
+
+		final RoomMember bob = new RoomMember("Bob");
+		voteTally.add(bob);
+		final RoomMember alice = new RoomMember("Alice");
+		voteTally.add(alice);
+		assertThat(voteTally.isComplete()).isFalse();
+
+		voteTally.remove(bob);
+		bob.setVote(card1);
+		voteTally.add(bob);
+		assertThat(voteTally.isComplete()).isFalse();
+
+		voteTally.remove(alice);
+		alice.setVote(card5);
+		voteTally.add(alice);
+		assertThat(voteTally.isComplete()).isTrue();
+		assertThat(voteTally.getValueSum()).isEqualTo(6.0);
+
+		voteTally.remove(alice);
+		assertThat(voteTally.isComplete()).isTrue();
+		assertThat(voteTally.findHighestVote()).isSameAs(card1);
+
+		voteTally.clearVotes();
+		assertThat(voteTally.isComplete()).isFalse();
+		assertThat(voteTally.getValueCount()).isZero();
+		assertThat(voteTally.findHighestVote()).isNull();
+	}
+
+	@Test
+	@DisplayName("changes copy without affecting original")
+	void copy() {
+		final Card card1 = new Card("1", 1.0);
+		final Card card5 = new Card("5", 5.0);
+		final Room room = new Room("My Room", new CardSet("My Set"));
+		final RoomMember bob = new RoomMember("Bob");
+		bob.setVote(card1);
+		final RoomMember alice = new RoomMember("Alice");
+		alice.setVote(card1);
+		room.addMember(bob);
+		room.addMember(alice);
+		final VoteTally voteTally = room.getVoteTally();
+
+		final VoteTally copy = voteTally.copy();
+		copy.remove(bob);
+		bob.setVote(card5);
+		copy.add(bob);
+
+		assertThat(copy.getMembersByVote(card1)).containsExactly(alice);
+		assertThat(copy.getMembersByVote(card5)).containsExactly(bob);
+		assertThat(copy.getValueSum()).isEqualTo(6.0);
+		assertThat(voteTally.getMembersByVote(card1)).containsExactly(alice, bob);
+		assertThat(voteTally.getMembersByVote(card5)).isEmpty();
+		assertThat(voteTally.getValueSum()).isEqualTo(2.0);
+	}
+
+	@Test
+	@DisplayName("prefers basic numeric cards with same value")
+	void prefersBasicNumeric() {
+		final Card card1 = new Card("1", 1.0);
+		final Card cardOne = new Card("One", 1.0);
+		final Room room = new Room("My Room", new CardSet("My Set"));
+
+		final RoomMember bob = new RoomMember("Bob");
+		bob.setVote(cardOne);
+		final RoomMember alice = new RoomMember("Alice");
+		alice.setVote(card1);
+		room.addMember(bob);
+		room.addMember(alice);
+
+		assertThat(room.getVoteTally().findHighestVote()).isSameAs(card1);
+		assertThat(room.getVoteTally().findLowestVote()).isSameAs(card1);
+	}
+}
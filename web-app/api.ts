@@ -5,10 +5,14 @@ import {
   ExtensionKey,
   Room,
   RoomCreationOptions,
+  RoomListItem,
+  RoomListPage,
+  RoomChanges,
   RoomEditOptions,
   SummaryResult,
 } from "./model.ts";
 import { getCsrfHeaders } from "./authentication.ts";
+import { applyRoomChanges } from "./roomChanges.ts";
 
 export async function getExtensions(): Promise<readonly ExtensionKey[]> {
   return fetch("/api/extensions", {
@@ -72,13 +76,65 @@ export async function getCardSets(): Promise<CardSet[]> {
     .then((res) => res.json() as Promise<CardSet[]>);
 }
 
-export async function getRooms(): Promise<Room[]> {
-  return fetch("/api/rooms", {
+/**
+ * Loads a single page of the room list.
+ *
+ * @param url URL of the page, see {@link RoomListPage#nextPageUrl}.
+ * Defaults to the first page.
+ */
+export async function getRooms(url = "/api/rooms"): Promise<RoomListPage> {
+  const res = await fetch(url, {
     method: "GET",
     headers: { Accept: MEDIA_TYPE_JSON },
-  })
-    .then(assertStatusSuccess)
-    .then((res) => res.json() as Promise<Room[]>);
+  }).then(assertStatusSuccess);
+  const rooms = (await res.json()) as RoomListItem[];
+  return { rooms, nextPageUrl: getNextPageUrl(res) };
+}
+
+function getNextPageUrl(res: Response): string | null {
+  const link = res.headers.get("Link");
+  return link?.match(/<([^>]+)>;\s*rel="next"/)?.[1] ?? null;
+}
+
+/**
+ * Subscribes to changes of the room list, the current room list is received immediately.
+ * Unlike {@link getRooms}, it includes all rooms at once.
+ *
+ * @return function to unsubscribe.
+ */
+export function subscribeRooms(
+  onChange: (rooms: RoomListItem[]) => void,
+  onError: (error: Error) => void,
+): () => void {
+  const eventSource = new EventSource("/api/rooms/events");
+  let rooms: RoomListItem[] = [];
+
+  function listen<T>(type: string, reducer: (data: T) => RoomListItem[]) {
+    eventSource.addEventListener(type, (event: MessageEvent<string>) => {
+      rooms = reducer(JSON.parse(event.data) as T);
+      rooms.sort((a, b) => a.name.localeCompare(b.name));
+      onChange(rooms);
+    });
+  }
+
+  listen<RoomListItem[]>("rooms", (newRooms) => newRooms);
+  listen<RoomListItem>("room-created", (createdRoom) => [
+    ...rooms,
+    createdRoom,
+  ]);
+  listen<RoomListItem>("room-updated", (updatedRoom) =>
+    rooms.map((room) => (room.name == updatedRoom.name ? updatedRoom : room)),
+  );
+  listen<Pick<RoomListItem, "name">>("room-deleted", ({ name }) =>
+    rooms.filter((room) => room.name != name),
+  );
+  eventSource.addEventListener("error", () => {
+    // The browser reconnects on its own unless the connection was rejected.
+    if (eventSource.readyState == EventSource.CLOSED) {
+      onError(new Error("Lost connection to room list."));
+    }
+  });
+  return () => eventSource.close();
 }
 
 export async function createRoom(
@@ -101,6 +157,116 @@ export async function getRoom(roomName: string): Promise<Room> {
     .then((res) => res.json() as Promise<Room>);
 }
 
+/**
+ * Subscribes to changes of the room, the current state is received immediately.
+ * Afterwards, only changes are received and applied to it.
+ * If changes were missed, the subscription starts anew to receive the current state.
+ *
+ * @return function to unsubscribe.
+ */
+export function subscribeRoom(
+  roomName: string,
+  onChange: (room: Room) => void,
+  onError: (error: Error) => void,
+): () => void {
+  let eventSource: EventSource;
+  let stopPolling = () => {};
+  let room: Room | null = null;
+  // The event ID is the room version.
+  let version = -1;
+
+  function connect(): void {
+    room = null;
+    eventSource = new EventSource(
+      `/api/rooms/${encodeURIComponent(roomName)}/events`,
+    );
+    eventSource.addEventListener("room", (event: MessageEvent<string>) => {
+      room = JSON.parse(event.data) as Room;
+      version = Number(event.lastEventId);
+      onChange(room);
+    });
+    // When reconnecting, the browser sends the last event ID it received.
+    // This allows the server to only send the changes we missed.
+    eventSource.addEventListener(
+      "room-changes",
+      (event: MessageEvent<string>) => {
+        const roomChanges = JSON.parse(event.data) as RoomChanges;
+        // Changes may be received before the room or more than once.
+        if (room == null || roomChanges.version <= version) {
+          return;
+        }
+        if (roomChanges.version != version + 1) {
+          // Applying later changes would keep the room outdated.
+          eventSource.close();
+          connect();
+          return;
+        }
+        room = applyRoomChanges(room, roomChanges.changes);
+        version = roomChanges.version;
+        onChange(room);
+      },
+    );
+    eventSource.addEventListener("error", () => {
+      // The browser reconnects on its own unless the connection was rejected
+      // or event streams do not get through, e.g. due to a proxy.
+      // Long-polling works in the latter case and reports the former.
+      if (eventSource.readyState == EventSource.CLOSED) {
+        stopPolling = pollRoom(roomName, onChange, onError);
+      }
+    });
+  }
+
+  connect();
+  return () => {
+    eventSource.close();
+    stopPolling();
+  };
+}
+
+/**
+ * Long-polls changes of the room, the current state is received immediately.
+ *
+ * @return function to stop polling.
+ */
+function pollRoom(
+  roomName: string,
+  onChange: (room: Room) => void,
+  onError: (error: Error) => void,
+): () => void {
+  const abortController = new AbortController();
+
+  async function poll(): Promise<void> {
+    // Any room version is newer than this one.
+    let since = "-1";
+    while (!abortController.signal.aborted) {
+      const url = new URL(
+        `/api/rooms/${encodeURIComponent(roomName)}/`,
+        location.href,
+      );
+      url.searchParams.set("since", since);
+      const res = await fetch(url, {
+        method: "GET",
+        headers: { Accept: MEDIA_TYPE_JSON },
+        cache: "no-store",
+        signal: abortController.signal,
+      });
+      // Not modified means the server stopped waiting, so we ask again.
+      if (res.status != 304) {
+        await assertStatusSuccess(res);
+        since = res.headers.get("ETag")?.replace(/"/g, "") ?? since;
+        onChange((await res.json()) as Room);
+      }
+    }
+  }
+
+  poll().catch((error: Error) => {
+    if (!abortController.signal.aborted) {
+      onError(error);
+    }
+  });
+  return () => abortController.abort();
+}
+
 export async function deleteRoom(roomName: string): Promise<void> {
   await fetch(`/api/rooms/${encodeURIComponent(roomName)}`, {
     method: "DELETE",
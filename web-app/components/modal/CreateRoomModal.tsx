@@ -1,14 +1,14 @@
 import { ChangeEvent, FC, FormEvent, useContext, useState } from "react";
 import { Form, Modal } from "react-bootstrap";
 import { AppContext } from "../../AppContext.ts";
-import { Room, RoomCreationOptions } from "../../model.ts";
+import { RoomCreationOptions, RoomListItem } from "../../model.ts";
 
 // TODO: Move modal to a new route for simpler code?
 export const CreateRoomModal: FC<{
   show: boolean;
   onHide: () => void;
   onSubmit: (roomName: string, options: RoomCreationOptions) => void;
-  existingRooms: readonly Room[];
+  existingRooms: readonly RoomListItem[];
 }> = ({ show, existingRooms, onHide, onSubmit }) => {
   const { cardSets } = useContext(AppContext);
 
@@ -1,12 +1,12 @@
 import { FC } from "react";
 import { Modal } from "react-bootstrap";
-import { Room } from "../../model.ts";
+import { RoomListItem } from "../../model.ts";
 
 export const DeleteRoomModal: FC<{
   show: boolean;
   onHide: () => void;
   onSubmit: () => void;
-  room: Room;
+  room: RoomListItem;
 }> = ({ room, show, onHide, onSubmit }) => {
   return (
     <Modal show={show} onHide={onHide} aria-labelledby="deleteRoomModalTitle">
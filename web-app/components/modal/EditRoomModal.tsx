@@ -3,7 +3,7 @@ import { ChangeEvent, FC, FormEvent, useContext, useState } from "react";
 import { Form, Modal } from "react-bootstrap";
 import { AppContext } from "../../AppContext.ts";
 import { Extension } from "../../extension/Extension.ts";
-import { ExtensionKey, Room, RoomEditOptions } from "../../model.ts";
+import { ExtensionKey, RoomEditOptions, RoomListItem } from "../../model.ts";
 
 /**
  * Gets the new value, or undefined if it has not changed.
@@ -20,7 +20,7 @@ export const EditRoomModal: FC<{
    * Invoked upon submission with delta of changes values.
    */
   onSubmit: (changes: RoomEditOptions) => void;
-  room: Room;
+  room: RoomListItem;
 }> = ({ room, show, onHide, onSubmit }) => {
   const { cardSets, enabledExtensions } = useContext(AppContext);
 
@@ -26,20 +26,24 @@ export function useBooleanState(
   return [state, setTrue, setFalse];
 }
 
-// https://overreacted.io/making-setinterval-declarative-with-react-hooks/
-export function useInterval(callback: () => void, delay: number): void {
-  const savedCallback = useRef<() => void>();
+// Adapted from https://overreacted.io/making-setinterval-declarative-with-react-hooks/,
+// but the callback is invoked by a subscription instead of a timer.
+export function useSubscription<T>(
+  subscribe: (listener: (value: T) => void) => () => void,
+  callback: (value: T) => void,
+): void {
+  const savedCallback = useRef<(value: T) => void>();
 
   // Remember the latest callback.
   useEffect(() => {
     savedCallback.current = callback;
   }, [callback]);
 
-  // Set up the interval.
-  useEffect(() => {
-    const id = setInterval(() => savedCallback.current!(), delay);
-    return () => clearInterval(id);
-  }, [delay]);
+  // Set up the subscription.
+  useEffect(
+    () => subscribe((value) => savedCallback.current!(value)),
+    [subscribe],
+  );
 }
 
 export function useDocumentTitle(title: string): void {
@@ -24,6 +24,46 @@ export interface Room {
   readonly extensions: readonly ExtensionKey[];
 }
 
+export type RoomListItem = Omit<Room, "members">;
+
+export interface RoomListPage {
+  readonly rooms: RoomListItem[];
+  /**
+   * URL to load the next page from, or null if this is the last page.
+   */
+  readonly nextPageUrl: string | null;
+}
+
+export type RoomChange =
+  | { readonly type: "topic-changed"; readonly topic: string }
+  | { readonly type: "card-set-changed"; readonly cardSetName: string }
+  | {
+      readonly type: "extensions-changed";
+      readonly extensions: readonly ExtensionKey[];
+    }
+  | { readonly type: "member-joined"; readonly member: RoomMember }
+  | { readonly type: "member-left"; readonly username: string }
+  | {
+      readonly type: "role-changed";
+      readonly username: string;
+      readonly role: Role;
+    }
+  | {
+      readonly type: "member-voted";
+      readonly username: string;
+      readonly vote: Card | null;
+    }
+  | { readonly type: "votes-cleared" }
+  | {
+      readonly type: "voting-closed";
+      readonly votes: Readonly<Partial<Record<string, Card>>>;
+    };
+
+export interface RoomChanges {
+  readonly version: number;
+  readonly changes: readonly RoomChange[];
+}
+
 export interface Card {
   readonly name: string;
   readonly value: number | null;
@@ -45,6 +85,7 @@ export interface VoteSummary {
   readonly nearestCard: Card | null;
   readonly highest: VoteExtreme | null;
   readonly lowest: VoteExtreme | null;
+  readonly statistics?: VoteStatistics;
 }
 
 export interface VoteExtreme {
@@ -52,6 +93,18 @@ export interface VoteExtreme {
   readonly members: readonly RoomMember[];
 }
 
+export interface VoteStatistics {
+  readonly median: number;
+  readonly standardDeviation: number;
+  readonly consensus: number;
+  readonly histogram: readonly VoteCount[];
+}
+
+export interface VoteCount {
+  readonly card: Card;
+  readonly count: number;
+}
+
 export type RoomCreationOptions = Pick<Room, "cardSetName">;
 export type RoomEditOptions = Partial<
   Pick<Room, "topic" | "cardSetName" | "extensions">
@@ -0,0 +1,103 @@
+import { describe, expect, it } from "vitest";
+import { applyRoomChanges } from "./roomChanges.ts";
+import {
+  createMockCard,
+  createMockRoom,
+  createMockRoomMember,
+} from "./test/dataFactory.ts";
+import { Role } from "./model.ts";
+
+describe("roomChanges", () => {
+  describe("applyRoomChanges", () => {
+    it("changes topic", () => {
+      const room = createMockRoom({ topic: "Foo" });
+
+      const changedRoom = applyRoomChanges(room, [
+        { type: "topic-changed", topic: "Bar" },
+      ]);
+
+      expect(changedRoom.topic).toBe("Bar");
+    });
+
+    it("adds member in order", () => {
+      const room = createMockRoom({
+        members: [
+          createMockRoomMember({ username: "Alice" }),
+          createMockRoomMember({ username: "Eve" }),
+        ],
+      });
+
+      const changedRoom = applyRoomChanges(room, [
+        { type: "member-joined", member: createMockRoomMember({}) },
+      ]);
+
+      expect(changedRoom.members.map(({ username }) => username)).toEqual([
+        "Alice",
+        "Bob",
+        "Eve",
+      ]);
+    });
+
+    it("removes member", () => {
+      const room = createMockRoom({
+        members: [
+          createMockRoomMember({ username: "Alice" }),
+          createMockRoomMember({ username: "Bob" }),
+        ],
+      });
+
+      const changedRoom = applyRoomChanges(room, [
+        { type: "member-left", username: "Alice" },
+      ]);
+
+      expect(changedRoom.members.map(({ username }) => username)).toEqual([
+        "Bob",
+      ]);
+    });
+
+    it("changes role and vote", () => {
+      const card = createMockCard({});
+      const room = createMockRoom({
+        members: [createMockRoomMember({ username: "Bob", vote: card })],
+      });
+
+      const changedRoom = applyRoomChanges(room, [
+        { type: "role-changed", username: "Bob", role: Role.OBSERVER },
+        { type: "member-voted", username: "Bob", vote: null },
+      ]);
+
+      expect(changedRoom.members[0].role).toBe(Role.OBSERVER);
+      expect(changedRoom.members[0].vote).toBeNull();
+    });
+
+    it("reveals votes when voting is closed", () => {
+      const card = createMockCard({ name: "5" });
+      const room = createMockRoom({
+        members: [
+          createMockRoomMember({ username: "Alice" }),
+          createMockRoomMember({ username: "Bob" }),
+        ],
+      });
+
+      const changedRoom = applyRoomChanges(room, [
+        { type: "voting-closed", votes: { Alice: card, Bob: card } },
+      ]);
+
+      expect(changedRoom.votingClosed).toBe(true);
+      expect(changedRoom.members[0].vote).toEqual(card);
+      expect(changedRoom.members[1].vote).toEqual(card);
+    });
+
+    it("clears votes", () => {
+      const room = createMockRoom({
+        votingClosed: true,
+        members: [createMockRoomMember({ vote: createMockCard({}) })],
+      });
+
+      const changedRoom = applyRoomChanges(room, [{ type: "votes-cleared" }]);
+
+      expect(changedRoom.votingClosed).toBe(false);
+      expect(changedRoom.members[0].vote).toBeNull();
+    });
+  });
+});
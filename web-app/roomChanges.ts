@@ -0,0 +1,80 @@
+import { Room, RoomChange, RoomMember } from "./model.ts";
+
+function compareUsernames(a: RoomMember, b: RoomMember): number {
+  // Same order as the server, which compares UTF-16 code units.
+  if (a.username < b.username) {
+    return -1;
+  }
+  return a.username > b.username ? 1 : 0;
+}
+
+function updateMember(
+  room: Room,
+  username: string,
+  update: (member: RoomMember) => RoomMember,
+): Room {
+  return {
+    ...room,
+    members: room.members.map((member) =>
+      member.username == username ? update(member) : member,
+    ),
+  };
+}
+
+function applyRoomChange(room: Room, change: RoomChange): Room {
+  switch (change.type) {
+    case "topic-changed":
+      return { ...room, topic: change.topic };
+    case "card-set-changed":
+      return { ...room, cardSetName: change.cardSetName };
+    case "extensions-changed":
+      return { ...room, extensions: change.extensions };
+    case "member-joined":
+      return {
+        ...room,
+        members: [...room.members, change.member].sort(compareUsernames),
+      };
+    case "member-left":
+      return {
+        ...room,
+        members: room.members.filter(
+          (member) => member.username != change.username,
+        ),
+      };
+    case "role-changed":
+      return updateMember(room, change.username, (member) => ({
+        ...member,
+        role: change.role,
+      }));
+    case "member-voted":
+      return updateMember(room, change.username, (member) => ({
+        ...member,
+        vote: change.vote,
+      }));
+    case "votes-cleared":
+      return {
+        ...room,
+        votingClosed: false,
+        members: room.members.map((member) => ({ ...member, vote: null })),
+      };
+    case "voting-closed":
+      return {
+        ...room,
+        votingClosed: true,
+        members: room.members.map((member) => ({
+          ...member,
+          vote: change.votes[member.username] ?? member.vote,
+        })),
+      };
+  }
+}
+
+/**
+ * Applies the changes received from the server to the room, in order.
+ */
+export function applyRoomChanges(
+  room: Room,
+  changes: readonly RoomChange[],
+): Room {
+  return changes.reduce(applyRoomChange, room);
+}
@@ -1,11 +1,11 @@
-import { Room } from "../model.ts";
+import { RoomListPage } from "../model.ts";
 import { getRooms } from "../api.ts";
 
 export interface RoomListLoaderResult {
-  rooms: Room[];
+  firstPage: RoomListPage;
 }
 
 export async function roomListLoader(): Promise<RoomListLoaderResult> {
-  const rooms = await getRooms();
-  return { rooms };
+  const firstPage = await getRooms();
+  return { firstPage };
 }
@@ -1,6 +1,12 @@
-import { render, screen, waitFor } from "@testing-library/react";
-import { describe, expect, it, vi } from "vitest";
-import { createRoom, deleteRoom, editRoom, getRooms } from "../api.ts";
+import { act, render, screen, waitFor } from "@testing-library/react";
+import { beforeEach, describe, expect, it, vi } from "vitest";
+import {
+  createRoom,
+  deleteRoom,
+  editRoom,
+  getRooms,
+  subscribeRooms,
+} from "../api.ts";
 import {
   createMockCardSet,
   createMockContextState,
@@ -17,6 +23,7 @@ import userEvent from "@testing-library/user-event";
 import { AppContext } from "../AppContext.ts";
 import { FC } from "react";
 import { roomListLoader } from "./RoomListView.loader.ts";
+import { RoomListItem } from "../model.ts";
 
 vi.mock("../api");
 
@@ -32,9 +39,32 @@ function waitForLoaderResolved(): Promise<unknown> {
   return waitFor(() => screen.getByText("Rooms"));
 }
 
+function mockRoomPage(
+  rooms: RoomListItem[],
+  nextPageUrl: string | null = null,
+) {
+  vi.mocked(getRooms).mockResolvedValue({ rooms, nextPageUrl });
+}
+
+/**
+ * @return function to push the room list to the subscriber.
+ */
+function mockRoomSubscription(): (rooms: RoomListItem[]) => void {
+  let listener: (rooms: RoomListItem[]) => void = () => {};
+  vi.mocked(subscribeRooms).mockImplementation((onChange) => {
+    listener = onChange;
+    return () => {};
+  });
+  return (rooms) => act(() => listener(rooms));
+}
+
 describe("RoomListView", () => {
+  beforeEach(() => {
+    vi.clearAllMocks();
+  });
+
   it("lists rooms", async () => {
-    vi.mocked(getRooms).mockResolvedValue([
+    mockRoomPage([
       createMockRoom({ name: "My Room" }),
       createMockRoom({ name: "Some Other Room" }),
     ]);
@@ -45,10 +75,61 @@ describe("RoomListView", () => {
 
     expect(screen.getByText("My Room")).toBeInTheDocument();
     expect(screen.getByText("Some Other Room")).toBeInTheDocument();
+    expect(screen.queryByText("Load More")).not.toBeInTheDocument();
+  });
+
+  it("loads more rooms", async () => {
+    vi.mocked(getRooms).mockImplementation((url) =>
+      Promise.resolve(
+        url == "/api/rooms?after=My%20Room"
+          ? {
+              rooms: [createMockRoom({ name: "Some Other Room" })],
+              nextPageUrl: null,
+            }
+          : {
+              rooms: [createMockRoom({ name: "My Room" })],
+              nextPageUrl: "/api/rooms?after=My%20Room",
+            },
+      ),
+    );
+
+    const router = createMemoryRouter(TEST_ROUTES);
+    render(<RouterProvider router={router} />);
+    await waitForLoaderResolved();
+
+    expect(screen.getByText("My Room")).toBeInTheDocument();
+    expect(screen.queryByText("Some Other Room")).not.toBeInTheDocument();
+
+    await userEvent.click(screen.getByText("Load More"));
+
+    expect(screen.getByText("Some Other Room")).toBeInTheDocument();
+    expect(screen.queryByText("Load More")).not.toBeInTheDocument();
+  });
+
+  it("receives all rooms using subscription", async () => {
+    const pushRooms = mockRoomSubscription();
+    mockRoomPage(
+      [createMockRoom({ name: "My Room" })],
+      "/api/rooms?after=My%20Room",
+    );
+
+    const router = createMemoryRouter(TEST_ROUTES);
+    render(<RouterProvider router={router} />);
+    await waitForLoaderResolved();
+
+    expect(screen.getByText("Load More")).toBeInTheDocument();
+
+    pushRooms([
+      createMockRoom({ name: "My Room" }),
+      createMockRoom({ name: "Some Other Room" }),
+    ]);
+
+    expect(screen.getByText("Some Other Room")).toBeInTheDocument();
+    expect(screen.queryByText("Load More")).not.toBeInTheDocument();
   });
 
   it("opens creation modal", async () => {
-    vi.mocked(getRooms).mockResolvedValue([]);
+    mockRoomPage([]);
 
     const router = createMemoryRouter(TEST_ROUTES);
     render(<RouterProvider router={router} />);
@@ -65,14 +146,9 @@ describe("RoomListView", () => {
     const cardSet = createMockCardSet({ name: "Set 1" });
     const contextState = createMockContextState({ cardSets: [cardSet] });
 
-    let roomCreated = false;
-    vi.mocked(createRoom).mockImplementation(() => {
-      roomCreated = true;
-      return Promise.resolve();
-    });
-    vi.mocked(getRooms).mockImplementation(() =>
-      Promise.resolve(roomCreated ? [createMockRoom({ name: "My Room" })] : []),
-    );
+    const pushRooms = mockRoomSubscription();
+    vi.mocked(createRoom).mockImplementation(() => Promise.resolve());
+    mockRoomPage([]);
 
     const router = createMemoryRouter(TEST_ROUTES);
     render(
@@ -94,6 +170,9 @@ describe("RoomListView", () => {
     expect(createRoom).toHaveBeenCalledWith("My Room", {
       cardSetName: "Set 1",
     });
+    expect(getRooms).toHaveBeenCalledTimes(1);
+
+    pushRooms([createMockRoom({ name: "My Room" })]);
     expect(screen.getByText("My Room")).toBeInTheDocument();
   });
 
@@ -102,7 +181,7 @@ describe("RoomListView", () => {
     const contextState = createMockContextState({ cardSets: [cardSet] });
     const room = createMockRoom({ name: "My Room" });
 
-    vi.mocked(getRooms).mockResolvedValue([room]);
+    mockRoomPage([room]);
 
     const router = createMemoryRouter(TEST_ROUTES);
     render(
@@ -130,7 +209,7 @@ describe("RoomListView", () => {
       cardSetName: cardSet1.name,
     });
 
-    vi.mocked(getRooms).mockResolvedValue([room]);
+    mockRoomPage([room]);
     vi.mocked(editRoom).mockImplementation(() => Promise.resolve());
 
     const router = createMemoryRouter(TEST_ROUTES);
@@ -155,7 +234,7 @@ describe("RoomListView", () => {
   it("opens deletion modal", async () => {
     const room = createMockRoom({ name: "My Room" });
 
-    vi.mocked(getRooms).mockResolvedValue([room]);
+    mockRoomPage([room]);
 
     const router = createMemoryRouter(TEST_ROUTES);
     render(<RouterProvider router={router} />);
@@ -171,14 +250,9 @@ describe("RoomListView", () => {
   it("handles room deletion", async () => {
     const room = createMockRoom({ name: "My Room" });
 
-    let roomDeleted = false;
-    vi.mocked(deleteRoom).mockImplementation(() => {
-      roomDeleted = true;
-      return Promise.resolve();
-    });
-    vi.mocked(getRooms).mockImplementation(() =>
-      Promise.resolve(roomDeleted ? [] : [room]),
-    );
+    const pushRooms = mockRoomSubscription();
+    vi.mocked(deleteRoom).mockImplementation(() => Promise.resolve());
+    mockRoomPage([room]);
 
     const router = createMemoryRouter(TEST_ROUTES);
     render(<RouterProvider router={router} />);
@@ -192,13 +266,16 @@ describe("RoomListView", () => {
 
     expect(screen.queryByText("Delete Room 'My Room'")).not.toBeInTheDocument();
     expect(deleteRoom).toHaveBeenCalledWith("My Room");
+    expect(getRooms).toHaveBeenCalledTimes(1);
+
+    pushRooms([]);
     expect(screen.queryByText("My Room")).not.toBeInTheDocument();
   });
 
   it("joins room", async () => {
     const room = createMockRoom({ name: "My Room 😁" });
 
-    vi.mocked(getRooms).mockResolvedValue([room]);
+    mockRoomPage([room]);
 
     const MockRoomView: FC = () => {
       const { roomName } = useParams();
@@ -1,19 +1,30 @@
 import { faEdit, faPlus, faTrash } from "@fortawesome/free-solid-svg-icons";
 import { FontAwesomeIcon } from "@fortawesome/react-fontawesome";
 import type { FC } from "react";
-import { useState } from "react";
+import { useCallback, useState } from "react";
 import { Link, useLoaderData } from "react-router-dom";
-import { createRoom, deleteRoom, editRoom, getRooms } from "../api.ts";
+import {
+  createRoom,
+  deleteRoom,
+  editRoom,
+  getRooms,
+  subscribeRooms,
+} from "../api.ts";
 import { ErrorPanel } from "../components/ErrorPanel.tsx";
 import { CreateRoomModal } from "../components/modal/CreateRoomModal.tsx";
 import { DeleteRoomModal } from "../components/modal/DeleteRoomModal.tsx";
 import { EditRoomModal } from "../components/modal/EditRoomModal.tsx";
-import { useBooleanState, useErrorHandler, useInterval } from "../hooks.ts";
-import { Room, RoomCreationOptions, RoomEditOptions } from "../model.ts";
+import { useBooleanState, useErrorHandler, useSubscription } from "../hooks.ts";
+import {
+  Room,
+  RoomCreationOptions,
+  RoomEditOptions,
+  RoomListItem,
+} from "../model.ts";
 import { RoomListLoaderResult } from "./RoomListView.loader.ts";
 
 const RoomItem: FC<{
-  room: Room;
+  room: RoomListItem;
   onEdit: (changes: Partial<Room>) => void;
   onDelete: () => void;
 }> = ({ room, onEdit, onDelete }) => {
@@ -76,17 +87,47 @@ export const RoomListView: FC = () => {
   const [error, handleError, resetError] = useErrorHandler();
 
   const loaderData = useLoaderData() as RoomListLoaderResult;
-  const [rooms, setRooms] = useState<Room[]>(loaderData.rooms);
+  const [rooms, setRooms] = useState<RoomListItem[]>(
+    loaderData.firstPage.rooms,
+  );
+  const [nextPageUrl, setNextPageUrl] = useState<string | null>(
+    loaderData.firstPage.nextPageUrl,
+  );
 
   const [creationModalVisible, showCreationModal, hideCreationModal] =
     useBooleanState(false);
 
-  useInterval(() => {
-    updateRooms().catch(handleError);
-  }, 3000); // Poll for deletions/creations
-
-  async function updateRooms() {
-    setRooms(await getRooms());
+  const subscribeToRooms = useCallback(
+    (listener: (rooms: RoomListItem[]) => void) =>
+      subscribeRooms(listener, handleError),
+    [handleError],
+  );
+  const handleRoomsChanged = useCallback((allRooms: RoomListItem[]) => {
+    // The subscription always knows all rooms, so no more pages have to be loaded.
+    setRooms(allRooms);
+    setNextPageUrl(null);
+  }, []);
+  // Listen for deletions/creations
+  useSubscription(subscribeToRooms, handleRoomsChanged);
+
+  function handleLoadMore() {
+    if (nextPageUrl == null) {
+      return;
+    }
+    getRooms(nextPageUrl)
+      .then((page) => {
+        // The subscription may have received all rooms in the meantime.
+        setRooms((loadedRooms) => [
+          ...loadedRooms,
+          ...page.rooms.filter(
+            (room) => !loadedRooms.some(({ name }) => name == room.name),
+          ),
+        ]);
+        setNextPageUrl((currentUrl) =>
+          currentUrl == null ? null : page.nextPageUrl,
+        );
+      })
+      .catch(handleError);
   }
 
   function handleCreationSubmit(
@@ -94,18 +135,18 @@ export const RoomListView: FC = () => {
     newRoomOptions: RoomCreationOptions,
   ) {
     hideCreationModal();
-    createRoom(newRoomName, newRoomOptions)
-      .then(updateRooms)
-      .catch(handleError);
+    // The created room is received using the subscription.
+    createRoom(newRoomName, newRoomOptions).catch(handleError);
   }
 
-  function handleEdit(room: Room, roomChanges: RoomEditOptions) {
+  function handleEdit(room: RoomListItem, roomChanges: RoomEditOptions) {
     // No displayed data changes, so we do not need to re-fetch rooms.
     editRoom(room.name, roomChanges).catch(handleError);
   }
 
-  function handleDelete(room: Room) {
-    deleteRoom(room.name).then(updateRooms).catch(handleError);
+  function handleDelete(room: RoomListItem) {
+    // The deletion is received using the subscription.
+    deleteRoom(room.name).catch(handleError);
   }
 
   return (
@@ -143,6 +184,15 @@ export const RoomListView: FC = () => {
             </li>
           ))}
         </ul>
+        {nextPageUrl != null && (
+          <button
+            type="button"
+            className="btn btn-secondary btn-sm mt-3"
+            onClick={handleLoadMore}
+          >
+            Load More
+          </button>
+        )}
       </nav>
     </>
   );
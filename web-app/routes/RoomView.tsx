@@ -1,7 +1,7 @@
 import { faEdit, faRotate } from "@fortawesome/free-solid-svg-icons";
 import { FontAwesomeIcon } from "@fortawesome/react-fontawesome";
 import type { FC } from "react";
-import { useContext, useState } from "react";
+import { useCallback, useContext, useState } from "react";
 import { Link, useLoaderData } from "react-router-dom";
 import {
   clearVotes,
@@ -11,6 +11,7 @@ import {
   getRoom,
   getSummary,
   leaveRoom,
+  subscribeRoom,
 } from "../api.ts";
 import { AppContext } from "../AppContext.ts";
 import { ErrorPanel } from "../components/ErrorPanel.tsx";
@@ -22,7 +23,7 @@ import {
   useBooleanState,
   useDocumentTitle,
   useErrorHandler,
-  useInterval,
+  useSubscription,
 } from "../hooks.ts";
 import {
   Card,
@@ -133,12 +134,20 @@ export const RoomView: FC = () => {
     editRoom(room.name, changes).then(updateRoom).catch(handleError);
   }
 
-  useInterval(() => {
-    updateRoom().catch(handleError);
-  }, 1500); // Poll for other votes
+  const subscribeToRoom = useCallback(
+    (listener: (room: Room) => void) =>
+      subscribeRoom(room.name, listener, handleError),
+    [room.name, handleError],
+  );
+  useSubscription(subscribeToRoom, (changedRoom: Room) => {
+    applyRoom(changedRoom).catch(handleError);
+  }); // Listen for other votes
 
   async function updateRoom() {
-    const loadedRoom = await getRoom(room.name);
+    await applyRoom(await getRoom(room.name));
+  }
+
+  async function applyRoom(loadedRoom: Room) {
     setRoom(loadedRoom);
     setActiveCard(findMemberForUser(loadedRoom, user).vote);
 